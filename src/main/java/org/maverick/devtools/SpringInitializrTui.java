@@ -2,11 +2,28 @@ package org.maverick.devtools;
 
 import org.maverick.devtools.api.InitializrClient;
 import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataCache;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.batch.BatchGenerator;
+import org.maverick.devtools.batch.BatchManifest;
+import org.maverick.devtools.daemon.DaemonClient;
+import org.maverick.devtools.daemon.DaemonServer;
+import org.maverick.devtools.diagnostics.FlightRecording;
+import org.maverick.devtools.diagnostics.FrameStats;
+import org.maverick.devtools.diagnostics.RenderFrameEvent;
+import org.maverick.devtools.diagnostics.SmokeTest;
+import org.maverick.devtools.diagnostics.StartupProfiler;
+import org.maverick.devtools.model.BuildFileType;
+import org.maverick.devtools.model.Preset;
 import org.maverick.devtools.model.ProjectConfig;
+import org.maverick.devtools.offline.OfflineGenerator;
 import org.maverick.devtools.ui.*;
 import org.maverick.devtools.util.AppColors;
 import org.maverick.devtools.util.ConfigStore;
+import org.maverick.devtools.util.DependencyUsage;
 import org.maverick.devtools.util.IdeLauncher;
+import org.maverick.devtools.util.LineDiff;
+import org.maverick.devtools.util.ProjectArchive;
 import dev.tamboui.style.Color;
 import dev.tamboui.tui.event.KeyCode;
 import dev.tamboui.tui.event.KeyEvent;
@@ -14,14 +31,14 @@ import dev.tamboui.toolkit.app.ToolkitApp;
 import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.toolkit.event.EventResult;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
-import java.util.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 import static dev.tamboui.toolkit.Toolkit.*;
 
@@ -41,13 +58,41 @@ public class SpringInitializrTui extends ToolkitApp {
     private Screen previousScreen = Screen.MAIN;
     private final InitializrClient client = new InitializrClient();
     private final ConfigStore configStore = new ConfigStore();
+    private final MetadataCache metadataCache = new MetadataCache();
+    private OfflineGenerator offlineGenerator;
+    // Filled in by the startup thread before it publishes mainScreen, then owned
+    // by the UI thread; background work is given a copy
     private final ProjectConfig config = new ProjectConfig();
     private final GenerateScreen generateScreen = new GenerateScreen();
     private final HelpScreen helpScreen = new HelpScreen();
+    private final FrameStats frameStats = new FrameStats();
+    private final DebugOverlay debugOverlay = new DebugOverlay(frameStats, false);
+
+    // Fixed heights around the file on the explore screen; the file fills the
+    // rows left over
+    private static final int HEADER_ROWS = 3;
+    private static final int SUMMARY_ROWS = 1;
+    private static final int FOOTER_ROWS = 1;
+
+    // Cached metadata younger than this is used at startup without waiting for
+    // the network
+    static final Duration METADATA_MAX_AGE = Duration.ofHours(24);
+
+    // Held-down navigation keys are batched and applied once per frame, and
+    // every frame is capped to --max-fps (see render())
+    static final int DEFAULT_MAX_FPS = 30;
+    private final InputCoalescer inputCoalescer = new InputCoalescer();
+    private long frameIntervalNanos = 1_000_000_000L / DEFAULT_MAX_FPS;
+    private long lastFrameNanos;
+    private Element lastFrame;
 
     private volatile InitializrMetadata.Metadata metadata;
+    // Started from cached metadata because start.spring.io was unreachable
+    private volatile boolean offline;
     private volatile MainScreen mainScreen;
     private volatile ExploreScreen exploreScreen;
+    // Configuration of the last explore, the baseline for the build file diff
+    private volatile ProjectConfig lastExplored;
 
     private volatile double splashProgress = 0.0;
     private volatile String splashMessage = "Connecting to start.spring.io...";
@@ -56,21 +101,61 @@ public class SpringInitializrTui extends ToolkitApp {
     private volatile String pendingHookCommand;
     private volatile Path pendingHookDir;
 
+    // Set by main() just before run() so onStart() can time the toolkit init
+    private long runStartNanos;
+    // --exit-after-first-frame: quit once the main screen has been drawn, for
+    // AppCDS training runs and cold-start measurements
+    private boolean exitAfterFirstFrame;
+    // --no-daemon: ignore a running daemon
+    private boolean useDaemon = true;
+    // Set once a preset was applied: its ZIP is prefetched so generating it
+    // needs no download
+    private volatile boolean presetApplied;
+
     @Override
     protected void onStart() {
+        var profiler = StartupProfiler.get();
+        if (runStartNanos > 0) {
+            profiler.record("ToolkitApp.run init", runStartNanos);
+        }
         CompletableFuture.runAsync(() -> {
             try {
                 splashProgress = 0.3;
                 splashMessage = "Fetching metadata...";
 
-                metadata = client.fetchMetadata();
+                // A running daemon keeps current metadata in memory
+                long start = System.nanoTime();
+                metadata = useDaemon ? metadataFromDaemon() : null;
+                boolean fromDaemon = metadata != null;
+                if (fromDaemon)
+                    profiler.record("Daemon metadata", start);
+
+                // A recent snapshot is used as is and refreshed in the background
+                if (metadata == null)
+                    metadata = metadataCache.loadFresh(METADATA_MAX_AGE);
+                boolean fromSnapshot = !fromDaemon && metadata != null;
+                if (metadata == null) {
+                    try {
+                        metadata = client.fetchMetadata();
+                    } catch (IOException e) {
+                        metadata = InitializrClient.isUnreachable(e) ? metadataCache.load() : null;
+                        if (metadata == null)
+                            throw e;
+                        offline = true;
+                    }
+                }
 
                 splashProgress = 0.7;
                 splashMessage = "Loading dependencies...";
 
-                config.applyDefaults(metadata);
+                start = System.nanoTime();
+                var index = MetadataIndex.of(metadata);
+                config.applyDefaults(metadata, index);
+                profiler.record("Apply metadata defaults", start);
 
+                start = System.nanoTime();
                 var prefs = configStore.load();
+                profiler.record("ConfigStore.load()", start);
                 config.setProjectType(prefs.getLastProjectType());
                 config.setLanguage(prefs.getLastLanguage());
                 config.setJavaVersion(prefs.getLastJavaVersion());
@@ -78,12 +163,27 @@ public class SpringInitializrTui extends ToolkitApp {
                 config.setPackaging(prefs.getLastPackaging());
                 config.setApplicationFormat(prefs.getLastApplicationFormat());
 
-                mainScreen = new MainScreen(metadata, config, prefs.recentDependencies());
+                start = System.nanoTime();
+                mainScreen = new MainScreen(metadata, index, config, prefs.getDependencyUsage());
+                mainScreen.setPreview(new BuildFilePreview(client, config));
+                mainScreen.setPresets(prefs.getPresets());
+                profiler.record("MainScreen construction", start);
+
+                if (fromSnapshot) {
+                    // For the next start; this session keeps the metadata it started with
+                    CompletableFuture.runAsync(this::refreshMetadataCache);
+                } else if (!offline && !fromDaemon) {
+                    metadataCache.save(metadata);
+                }
 
                 splashProgress = 1.0;
-                splashMessage = "";
+                splashMessage = offline ? "Offline \u2014 using cached metadata" : "";
 
-                Thread.sleep(1000);
+                if (!fromSnapshot && !fromDaemon) {
+                    start = System.nanoTime();
+                    Thread.sleep(1000);
+                    profiler.record("Splash hold", start);
+                }
 
                 currentScreen = Screen.MAIN;
             } catch (Exception e) {
@@ -92,9 +192,40 @@ public class SpringInitializrTui extends ToolkitApp {
         });
     }
 
+    private static InitializrMetadata.Metadata metadataFromDaemon() {
+        var daemon = DaemonClient.find();
+        if (daemon == null)
+            return null;
+        try {
+            return daemon.metadata();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void refreshMetadataCache() {
+        try {
+            metadataCache.save(client.fetchMetadata());
+        } catch (Exception e) {
+            // Keep the existing cache; it is refreshed again on the next start
+        }
+    }
+
     @Override
     protected Element render() {
-        Element content = switch (currentScreen) {
+        long frameStart = System.nanoTime();
+        // Too soon after the last frame, whatever asked for this one; navigation
+        // keys keep batching until the next
+        if (lastFrame != null && frameStart - lastFrameNanos < frameIntervalNanos) {
+            return lastFrame;
+        }
+        applyNavigation(inputCoalescer.drain());
+
+        var frameEvent = new RenderFrameEvent();
+        frameEvent.begin();
+        frameStats.frameStarted();
+        Screen screen = currentScreen;
+        Element content = switch (screen) {
             case SPLASH -> new SplashScreen(splashProgress, splashMessage).render();
             case MAIN -> mainScreen != null ? mainScreen.render() : text("Loading...").fg(AppColors.BRAND_PRIMARY);
             case EXPLORE ->
@@ -103,27 +234,98 @@ public class SpringInitializrTui extends ToolkitApp {
             case HELP -> helpScreen.render();
         };
 
-        return column(content)
+        frameStats.frameFinished();
+        frameEvent.end();
+        if (frameEvent.shouldCommit()) {
+            frameEvent.screen = screen.name();
+            frameEvent.commit();
+        }
+        if (screen == Screen.MAIN && mainScreen != null) {
+            StartupProfiler.get().firstFrame(frameStart);
+            if (exitAfterFirstFrame)
+                quit();
+        }
+
+        var root = debugOverlay.isVisible() ? column(content, debugOverlay.render()) : column(content);
+        lastFrameNanos = frameStart;
+        lastFrame = root
                 .id("root")
                 .focusable()
                 .onKeyEvent(this::handleKeyEvent);
+        return lastFrame;
     }
 
     private EventResult handleKeyEvent(KeyEvent event) {
+        frameStats.keyReceived();
         if (event.isQuit()) {
             quit();
             return EventResult.HANDLED;
         }
 
+        // Alt+D — Toggle the frame-time debug overlay
+        if (event.hasAlt() && event.isCharIgnoreCase('d')) {
+            debugOverlay.toggle();
+            return EventResult.HANDLED;
+        }
+
+        // Scrolling a list is batched until the next frame
+        var navigation = navigationFor(event);
+        if (navigation != null) {
+            applyNavigation(inputCoalescer.add(navigation));
+            return EventResult.HANDLED;
+        }
+        // Anything else sees the state after all earlier key presses
+        applyNavigation(inputCoalescer.drain());
+
         return switch (currentScreen) {
             case SPLASH -> EventResult.UNHANDLED;
-            case MAIN -> handleMainScreenKey(event);
+            case MAIN -> {
+                boolean editing = isTextFieldFocused();
+                var result = handleMainScreenKey(event);
+                // The artifact and name are typed after picking a preset
+                if (editing && !isTextFieldFocused())
+                    prefetchPresetZip();
+                yield result;
+            }
             case EXPLORE -> handleExploreScreenKey(event);
             case GENERATE -> handleGenerateScreenKey(event);
             case HELP -> handleHelpScreenKey(event);
         };
     }
 
+    /**
+     * Map list navigation keys on the explore screen and the dependency list to
+     * coalescable steps; returns null for everything else.
+     */
+    private InputCoalescer.Navigation navigationFor(KeyEvent event) {
+        boolean listFocused = switch (currentScreen) {
+            case EXPLORE -> exploreScreen != null;
+            case MAIN -> mainScreen != null && mainScreen.getFocusArea() == MainScreen.FocusArea.DEPENDENCIES;
+            default -> false;
+        };
+        if (!listFocused)
+            return null;
+        if (event.isUp())
+            return InputCoalescer.Navigation.UP;
+        if (event.isDown())
+            return InputCoalescer.Navigation.DOWN;
+        if (currentScreen == Screen.EXPLORE && event.isPageUp())
+            return InputCoalescer.Navigation.PAGE_UP;
+        if (currentScreen == Screen.EXPLORE && event.isPageDown())
+            return InputCoalescer.Navigation.PAGE_DOWN;
+        return null;
+    }
+
+    private void applyNavigation(InputCoalescer.Batch batch) {
+        if (batch == null)
+            return;
+        if (currentScreen == Screen.EXPLORE && exploreScreen != null) {
+            exploreScreen.navigate(batch);
+        } else if (currentScreen == Screen.MAIN && mainScreen != null) {
+            mainScreen.navigate(batch);
+        }
+    }
+
     private EventResult handleMainScreenKey(KeyEvent event) {
         if (mainScreen == null)
             return EventResult.UNHANDLED;
@@ -142,23 +344,53 @@ public class SpringInitializrTui extends ToolkitApp {
                 mainScreen.toggleDependency();
                 return EventResult.HANDLED;
             }
-            if (event.isUp()) {
-                mainScreen.getDependencyPicker().moveUp();
+            // Any printable character goes into search
+            char c = event.character();
+            if (c >= 32 && c < 127) {
+                mainScreen.appendSearchChar(c);
                 return EventResult.HANDLED;
             }
-            if (event.isDown()) {
-                mainScreen.getDependencyPicker().moveDown();
+            return EventResult.UNHANDLED;
+        }
+
+        // Preset name prompt handling
+        if (mainScreen.isPresetNameMode()) {
+            if (event.code() == KeyCode.ESCAPE) {
+                mainScreen.exitPresetNameMode();
+                return EventResult.HANDLED;
+            }
+            if (event.isDeleteBackward()) {
+                mainScreen.deletePresetNameChar();
+                return EventResult.HANDLED;
+            }
+            if (event.isConfirm()) {
+                savePreset(mainScreen.getPresetName());
+                mainScreen.exitPresetNameMode();
                 return EventResult.HANDLED;
             }
-            // Any printable character goes into search
             char c = event.character();
             if (c >= 32 && c < 127) {
-                mainScreen.appendSearchChar(c);
+                mainScreen.appendPresetNameChar(c);
                 return EventResult.HANDLED;
             }
             return EventResult.UNHANDLED;
         }
 
+        // 1-9 — Apply a saved preset (when not in a text field)
+        if (!isTextFieldFocused() && event.character() >= '1' && event.character() <= '9') {
+            if (mainScreen.applyPreset(event.character() - '1') != null) {
+                presetApplied = true;
+                prefetchPresetZip();
+            }
+            return EventResult.HANDLED;
+        }
+
+        // s — Save the current settings as a preset (when not in a text field)
+        if (event.isChar('s') && !isTextFieldFocused()) {
+            mainScreen.enterPresetNameMode();
+            return EventResult.HANDLED;
+        }
+
         // ? — Show help
         if (event.isChar('?') && !isTextFieldFocused()) {
             previousScreen = currentScreen;
@@ -192,6 +424,12 @@ public class SpringInitializrTui extends ToolkitApp {
             return EventResult.HANDLED;
         }
 
+        // p — Toggle the build file preview pane (when not in a text field)
+        if (event.isChar('p') && !isTextFieldFocused()) {
+            mainScreen.getPreview().toggle();
+            return EventResult.HANDLED;
+        }
+
         // / — Enter search mode
         if (event.isChar('/')) {
             mainScreen.enterSearchMode();
@@ -212,25 +450,14 @@ public class SpringInitializrTui extends ToolkitApp {
             return EventResult.HANDLED;
         }
 
-        // Arrow keys — Up/Down also navigate between fields
+        // Arrow keys — Up/Down navigate between fields; in the dependency list
+        // they go through navigationFor()
         if (event.isUp()) {
-            if (mainScreen.getFocusArea() == MainScreen.FocusArea.DEPENDENCIES) {
-                if (mainScreen.getDependencyPicker().isAtTop()) {
-                    mainScreen.focusPrevious();
-                } else {
-                    mainScreen.getDependencyPicker().moveUp();
-                }
-            } else {
-                mainScreen.focusPrevious();
-            }
+            mainScreen.focusPrevious();
             return EventResult.HANDLED;
         }
         if (event.isDown()) {
-            if (mainScreen.getFocusArea() == MainScreen.FocusArea.DEPENDENCIES) {
-                mainScreen.getDependencyPicker().moveDown();
-            } else {
-                mainScreen.focusNext();
-            }
+            mainScreen.focusNext();
             return EventResult.HANDLED;
         }
         if (event.isLeft()) {
@@ -292,20 +519,9 @@ public class SpringInitializrTui extends ToolkitApp {
             exploreScreen.nextFile();
             return EventResult.HANDLED;
         }
-        if (event.isUp()) {
-            exploreScreen.scrollUp();
-            return EventResult.HANDLED;
-        }
-        if (event.isDown()) {
-            exploreScreen.scrollDown();
-            return EventResult.HANDLED;
-        }
-        if (event.isPageUp()) {
-            exploreScreen.pageUp();
-            return EventResult.HANDLED;
-        }
-        if (event.isPageDown()) {
-            exploreScreen.pageDown();
+        // Scrolling goes through navigationFor()
+        if (event.isChar('d')) {
+            exploreScreen.toggleDiff();
             return EventResult.HANDLED;
         }
         if (event.isConfirm()) {
@@ -356,6 +572,30 @@ public class SpringInitializrTui extends ToolkitApp {
         return EventResult.UNHANDLED;
     }
 
+    private void savePreset(String name) {
+        if (name.isEmpty())
+            return;
+        var prefs = configStore.load();
+        int slot = prefs.putPreset(Preset.of(name, config));
+        if (slot < 0) {
+            mainScreen.setPresetStatus("All " + ConfigStore.UserPreferences.MAX_PRESETS
+                    + " preset slots are taken; reuse a name to replace one");
+            return;
+        }
+        configStore.save(prefs);
+        mainScreen.setPresets(prefs.getPresets());
+        mainScreen.setPresetStatus("Saved preset " + name + " as " + (slot + 1));
+    }
+
+    /**
+     * Start downloading the ZIP for the current configuration once a preset is
+     * in use, so that generating it is a local extract.
+     */
+    private void prefetchPresetZip() {
+        if (presetApplied && !offline)
+            client.prefetchProjectZip(config.copy());
+    }
+
     private boolean isTextFieldFocused() {
         return mainScreen != null && switch (mainScreen.getFocusArea()) {
             case GROUP, ARTIFACT, NAME, DESCRIPTION -> true;
@@ -363,18 +603,43 @@ public class SpringInitializrTui extends ToolkitApp {
         };
     }
 
-    private static final Set<String> SKIP_EXTENSIONS = Set.of(
-            ".jar", ".class", ".png", ".jpg", ".jpeg", ".gif", ".ico", ".exe", ".bin");
-
-    private static final Set<String> SKIP_FILES = Set.of(
-            "mvnw", "mvnw.cmd", "gradlew", "gradlew.bat");
+    private synchronized OfflineGenerator offlineGenerator() {
+        if (offlineGenerator == null)
+            offlineGenerator = new OfflineGenerator();
+        return offlineGenerator;
+    }
 
     private void startExplore() {
+        var snapshot = config.copy();
+        var previous = lastExplored;
         CompletableFuture.runAsync(() -> {
             try {
-                byte[] zipBytes = client.fetchProjectZip(config);
-                var files = extractZipToMap(zipBytes, config.getProjectType());
-                exploreScreen = new ExploreScreen(files);
+                // Both build files are fetched while the ZIP downloads
+                var diff = offline || previous == null
+                        ? CompletableFuture.<List<LineDiff.Line>>completedFuture(null)
+                        : buildFileDiff(previous, snapshot);
+                LinkedHashMap<String, String> files = null;
+                if (!offline) {
+                    try {
+                        byte[] zipBytes = client.fetchProjectZip(snapshot);
+                        files = ProjectArchive.extractToMap(zipBytes, snapshot.getProjectType(),
+                                snapshot.getApplicationFormat());
+                    } catch (IOException e) {
+                        if (!InitializrClient.isUnreachable(e))
+                            throw e;
+                    }
+                }
+                if (files == null) {
+                    files = offlineGenerator().render(snapshot);
+                }
+                var screen = new ExploreScreen(files);
+                var diffLines = diff.join();
+                if (diffLines != null) {
+                    screen.setDiff(BuildFileType.fromProjectType(snapshot.getProjectType()).getFileName(),
+                            describeChanges(previous, snapshot, diffLines), diffLines);
+                }
+                exploreScreen = screen;
+                lastExplored = snapshot;
                 currentScreen = Screen.EXPLORE;
             } catch (Exception e) {
                 splashMessage = "Explore failed: " + e.getMessage();
@@ -382,114 +647,88 @@ public class SpringInitializrTui extends ToolkitApp {
         });
     }
 
-    private LinkedHashMap<String, String> extractZipToMap(byte[] zipBytes, String projectType) throws IOException {
-        // Determine the build file name to put first
-        String buildFileName = switch (projectType) {
-            case "gradle-project" -> "build.gradle";
-            case "gradle-project-kotlin" -> "build.gradle.kts";
-            default -> "pom.xml";
-        };
-
-        var allFiles = new TreeMap<String, String>();
-        String buildFileContent = null;
-        String buildFileKey = null;
-
-        try (var zis = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
-            ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                if (entry.isDirectory())
-                    continue;
-
-                String name = entry.getName();
-                // Strip leading directory (e.g., "demo/pom.xml" -> "pom.xml")
-                int slash = name.indexOf('/');
-                String relativeName = slash >= 0 ? name.substring(slash + 1) : name;
-                if (relativeName.isEmpty())
-                    continue;
-
-                // Skip binary files and wrapper scripts
-                String simpleName = relativeName.contains("/")
-                        ? relativeName.substring(relativeName.lastIndexOf('/') + 1)
-                        : relativeName;
-                if (SKIP_FILES.contains(simpleName))
-                    continue;
-                boolean skip = false;
-                for (String ext : SKIP_EXTENSIONS) {
-                    if (simpleName.toLowerCase().endsWith(ext)) {
-                        skip = true;
-                        break;
-                    }
-                }
-                if (skip)
-                    continue;
-
-                String content = new String(zis.readAllBytes(), StandardCharsets.UTF_8);
-
-                if (simpleName.equals(buildFileName)) {
-                    buildFileKey = relativeName;
-                    buildFileContent = content;
-                } else {
-                    allFiles.put(relativeName, content);
-                }
-            }
-        }
-
-        // Convert application.properties to application.yml if YAML format selected
-        if ("yaml".equals(config.getApplicationFormat())) {
-            var converted = new TreeMap<String, String>();
-            for (var entry2 : allFiles.entrySet()) {
-                String key = entry2.getKey();
-                if (key.endsWith("application.properties")) {
-                    String ymlKey = key.replace("application.properties", "application.yml");
-                    converted.put(ymlKey, propertiesToYaml(entry2.getValue()));
-                } else {
-                    converted.put(key, entry2.getValue());
-                }
-            }
-            allFiles = converted;
-        }
+    /**
+     * Fetch the build files of two configurations concurrently, in the current
+     * project type so the formats match, and diff them. Completes with null when
+     * either fetch fails; previews already seen come from the client's cache.
+     */
+    private CompletableFuture<List<LineDiff.Line>> buildFileDiff(ProjectConfig before, ProjectConfig after) {
+        String projectType = after.getProjectType();
+        var oldFile = client.previewBuildFileAsync(client.buildFileUri(before, projectType));
+        var newFile = client.previewBuildFileAsync(client.buildFileUri(after, projectType));
+        return oldFile.thenCombine(newFile, (a, b) -> LineDiff.diff(a.lines().toList(), b.lines().toList()))
+                .exceptionally(e -> null);
+    }
 
-        // Build file first, then remaining sorted alphabetically
-        var result = new LinkedHashMap<String, String>();
-        if (buildFileKey != null) {
-            result.put(buildFileKey, buildFileContent);
-        }
-        result.putAll(allFiles);
-        return result;
+    private static String describeChanges(ProjectConfig before, ProjectConfig after, List<LineDiff.Line> diff) {
+        int added = 0;
+        int removed = 0;
+        for (var line : diff) {
+            if (line.kind() == LineDiff.Kind.ADDED)
+                added++;
+            else if (line.kind() == LineDiff.Kind.REMOVED)
+                removed++;
+        }
+        var summary = new StringBuilder("previous explore  +" + added + " -" + removed);
+        String oldBoot = ProjectConfig.cleanBootVersion(before.getBootVersion());
+        String newBoot = ProjectConfig.cleanBootVersion(after.getBootVersion());
+        if (!oldBoot.equals(newBoot))
+            summary.append("  Boot ").append(oldBoot).append(" \u2192 ").append(newBoot);
+        if (!before.getJavaVersion().equals(after.getJavaVersion()))
+            summary.append("  Java ").append(before.getJavaVersion()).append(" \u2192 ").append(after.getJavaVersion());
+        return summary.toString();
     }
 
     private void startGeneration() {
         currentScreen = Screen.GENERATE;
         generateScreen.setGenerating(0.1, "Generating project...");
 
+        // The live configuration stays on the UI thread
+        var snapshot = config.copy();
         CompletableFuture.runAsync(() -> {
             try {
-                generateScreen.setGenerating(0.3, "Downloading project...");
-
                 Path outputDir = Path.of("").toAbsolutePath();
-                Path zipPath = client.generateProject(config, outputDir);
-
-                generateScreen.setGenerating(0.6, "Extracting project...");
-
-                Path projectDir = outputDir.resolve(config.getArtifactId());
-                extractZip(zipPath, projectDir);
-                Files.deleteIfExists(zipPath);
+                Path projectDir = outputDir.resolve(snapshot.getArtifactId());
+                boolean generated = false;
+                String note = "";
+                if (!offline) {
+                    try {
+                        generateScreen.setGenerating(0.3, "Downloading project...");
+                        // Served from memory when the configuration was prefetched
+                        try (var zip = client.openProjectZip(snapshot)) {
+                            generateScreen.setGenerating(0.6, "Extracting project...");
+                            ProjectArchive.extract(zip, projectDir, snapshot.getApplicationFormat());
+                        }
+                        generated = true;
+                    } catch (IOException e) {
+                        if (!InitializrClient.isUnreachable(e))
+                            throw e;
+                    }
+                }
+                if (!generated) {
+                    generateScreen.setGenerating(0.6, "Generating from bundled templates...");
+                    long start = System.nanoTime();
+                    offlineGenerator().generate(snapshot, projectDir);
+                    note = String.format("Generated offline from bundled templates in %.1f ms",
+                            (System.nanoTime() - start) / 1e6);
+                }
 
                 generateScreen.setGenerating(0.8, "Detecting IDEs...");
 
                 var ides = IdeLauncher.detectIdes();
 
                 var prefs = configStore.load();
-                prefs.setLastProjectType(config.getProjectType());
-                prefs.setLastLanguage(config.getLanguage());
-                prefs.setLastJavaVersion(config.getJavaVersion());
-                prefs.setLastGroupId(config.getGroupId());
-                prefs.setLastPackaging(config.getPackaging());
-                prefs.setLastApplicationFormat(config.getApplicationFormat());
-                configStore.addRecentDependencies(prefs, config.getSelectedDependencies());
+                prefs.setLastProjectType(snapshot.getProjectType());
+                prefs.setLastLanguage(snapshot.getLanguage());
+                prefs.setLastJavaVersion(snapshot.getJavaVersion());
+                prefs.setLastGroupId(snapshot.getGroupId());
+                prefs.setLastPackaging(snapshot.getPackaging());
+                prefs.setLastApplicationFormat(snapshot.getApplicationFormat());
+                prefs.getDependencyUsage().record(snapshot.getSelectedDependencies(), Instant.now());
                 configStore.save(prefs);
 
                 generateScreen.setPostGenerateCommand(prefs.getPostGenerateCommand());
+                generateScreen.setNote(note);
                 generateScreen.setSuccess(projectDir, ides);
             } catch (Exception e) {
                 generateScreen.setError("Generation failed: " + e.getMessage());
@@ -519,84 +758,6 @@ public class SpringInitializrTui extends ToolkitApp {
         }
     }
 
-    private void extractZip(Path zipPath, Path destDir) throws IOException {
-        Files.createDirectories(destDir);
-        try (var zis = new ZipInputStream(Files.newInputStream(zipPath))) {
-            ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                Path entryPath = destDir.resolve(entry.getName()).normalize();
-                if (!entryPath.startsWith(destDir)) {
-                    throw new IOException("Bad zip entry: " + entry.getName());
-                }
-                if (entry.isDirectory()) {
-                    Files.createDirectories(entryPath);
-                } else {
-                    Files.createDirectories(entryPath.getParent());
-                    Files.copy(zis, entryPath, StandardCopyOption.REPLACE_EXISTING);
-                }
-            }
-        }
-
-        if ("yaml".equals(config.getApplicationFormat())) {
-            convertPropertiesToYaml(destDir);
-        }
-    }
-
-    private void convertPropertiesToYaml(Path projectDir) throws IOException {
-        try (var stream = Files.walk(projectDir)) {
-            var propsFiles = stream
-                    .filter(p -> p.getFileName().toString().equals("application.properties"))
-                    .toList();
-            for (Path propsFile : propsFiles) {
-                String content = Files.readString(propsFile);
-                String yaml = propertiesToYaml(content);
-                Path yamlFile = propsFile.resolveSibling("application.yml");
-                Files.writeString(yamlFile, yaml);
-                Files.delete(propsFile);
-            }
-        }
-    }
-
-    static String propertiesToYaml(String properties) {
-        var lines = properties.lines().toList();
-        var sb = new StringBuilder();
-        String[] prevParts = new String[0];
-
-        for (String line : lines) {
-            String trimmed = line.trim();
-            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
-                sb.append(trimmed).append('\n');
-                continue;
-            }
-            int eq = trimmed.indexOf('=');
-            if (eq < 0) {
-                sb.append(trimmed).append('\n');
-                continue;
-            }
-            String key = trimmed.substring(0, eq).trim();
-            String value = trimmed.substring(eq + 1).trim();
-            String[] parts = key.split("\\.");
-
-            // Find common prefix with previous key
-            int common = 0;
-            for (int i = 0; i < Math.min(parts.length - 1, prevParts.length - 1); i++) {
-                if (parts[i].equals(prevParts[i]))
-                    common++;
-                else
-                    break;
-            }
-
-            // Write each new nesting level
-            for (int i = common; i < parts.length - 1; i++) {
-                sb.append("  ".repeat(i)).append(parts[i]).append(":\n");
-            }
-            int indent = parts.length - 1;
-            sb.append("  ".repeat(indent)).append(parts[parts.length - 1]).append(": ").append(value).append('\n');
-            prevParts = parts;
-        }
-        return sb.toString();
-    }
-
     private Element renderExploreScreen() {
         String summary = String.format(
                 " Group: %s  Artifact: %s  Boot: %s  Java: %s  Dependencies: %d",
@@ -610,21 +771,183 @@ public class SpringInitializrTui extends ToolkitApp {
                                 text("  MAVERICK DEVTOOLS").fg(AppColors.BRAND_PRIMARY).bold(),
                                 spacer(),
                                 text("Explore  ").fg(AppColors.BRAND_SECONDARY)))
-                        .rounded().borderColor(AppColors.BRAND_PRIMARY).length(3),
-                row(text(summary).fg(AppColors.BRAND_SECONDARY)).length(1),
-                exploreScreen.render(26),
+                        .rounded().borderColor(AppColors.BRAND_PRIMARY).length(HEADER_ROWS),
+                row(text(summary).fg(AppColors.BRAND_SECONDARY)).length(SUMMARY_ROWS),
+                exploreScreen.render(),
                 row(
                         text("  "),
                         text("\u2190\u2192").fg(Color.WHITE), text(":files  ").fg(Color.DARK_GRAY),
                         text("\u2191\u2193").fg(Color.WHITE), text(":scroll  ").fg(Color.DARK_GRAY),
+                        exploreScreen.hasDiff() ? text("d").fg(Color.WHITE) : text(""),
+                        exploreScreen.hasDiff()
+                                ? text(exploreScreen.isDiffMode() ? ":files  " : ":diff  ").fg(Color.DARK_GRAY)
+                                : text(""),
                         text("Enter").fg(Color.WHITE), text(":generate  ").fg(Color.DARK_GRAY),
                         text("Esc").fg(Color.WHITE), text(":back  ").fg(Color.DARK_GRAY),
-                        spacer()).length(1));
+                        spacer()).length(FOOTER_ROWS));
+    }
+
+    /**
+     * Start a JFR recording for {@code --jfr} (default file under
+     * ~/.spring-initializr/recordings) or {@code --jfr=<file>}.
+     */
+    private static FlightRecording startRecording(String[] args) throws IOException {
+        for (String arg : args) {
+            if (arg.equals("--jfr")) {
+                return FlightRecording.start(
+                        FlightRecording.defaultDestination(ConfigStore.DEFAULT_CONFIG_DIR.resolve("recordings")));
+            }
+            if (arg.startsWith("--jfr=")) {
+                return FlightRecording.start(Path.of(arg.substring("--jfr=".length())));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Headless mode for {@code --batch=<manifest>}: generate every project in the
+     * manifest into {@code --output=<dir>} (default: working directory) with up to
+     * {@code --parallel=N} concurrent downloads. Returns the process exit code.
+     */
+    private static int runBatch(String[] args) throws IOException, InterruptedException {
+        Path manifestFile = null;
+        Path outputDir = Path.of("").toAbsolutePath();
+        int parallelism = BatchGenerator.DEFAULT_PARALLELISM;
+        for (String arg : args) {
+            if (arg.startsWith("--batch="))
+                manifestFile = Path.of(arg.substring("--batch=".length()));
+            else if (arg.startsWith("--output="))
+                outputDir = Path.of(arg.substring("--output=".length())).toAbsolutePath();
+            else if (arg.startsWith("--parallel="))
+                parallelism = Integer.parseInt(arg.substring("--parallel=".length()));
+        }
+
+        var daemon = Arrays.asList(args).contains("--no-daemon") ? null : DaemonClient.find();
+        if (daemon != null)
+            return daemon.batch(manifestFile, outputDir, parallelism, System.out);
+
+        var manifest = BatchManifest.load(manifestFile);
+        var generator = new BatchGenerator(new InitializrClient(), outputDir, parallelism);
+        long start = System.nanoTime();
+        var results = generator.run(manifest);
+        System.out.print(BatchGenerator.summary(results, System.nanoTime() - start, parallelism));
+        return results.stream().allMatch(BatchGenerator.Result::succeeded) ? 0 : 1;
+    }
+
+    /**
+     * --search=<query>: print the ids of matching dependencies, best first.
+     */
+    private static int runSearch(String query, boolean useDaemon) throws IOException, InterruptedException {
+        var daemon = useDaemon ? DaemonClient.find() : null;
+        List<String> ids;
+        if (daemon != null) {
+            ids = daemon.search(query);
+        } else {
+            var metadata = new InitializrClient().fetchMetadata();
+            var picker = new DependencyPicker(MetadataIndex.of(metadata), new ProjectConfig(),
+                    new DependencyUsage());
+            picker.setSearchQuery(query);
+            ids = picker.getListedDependencies().stream().map(InitializrMetadata.Dependency::id).toList();
+        }
+        ids.forEach(System.out::println);
+        return ids.isEmpty() ? 1 : 0;
+    }
+
+    /**
+     * --daemon. Only --batch and --search run inside the daemon; the interactive
+     * TUI is not a thin client and still starts its own JVM, taking just the
+     * metadata from the daemon.
+     */
+    private static int runDaemon() throws IOException, InterruptedException {
+        try (var server = DaemonServer.start(DaemonServer.DEFAULT_SOCKET, new InitializrClient(),
+                new MetadataCache())) {
+            System.out.println("Daemon listening on " + server.getSocket() + " (pid "
+                    + ProcessHandle.current().pid() + ")");
+            System.out.println("Runs --batch and --search. The interactive TUI still starts in its own process and"
+                    + " only takes its metadata from here; launch it with the native binary or the AppCDS launcher.");
+            server.serve();
+        }
+        return 0;
+    }
+
+    /**
+     * --daemon-status and --daemon-stop.
+     */
+    private static int controlDaemon(boolean stop) throws IOException {
+        var daemon = DaemonClient.find();
+        if (daemon == null) {
+            System.out.println("No daemon running");
+            return stop ? 0 : 1;
+        }
+        long pid = daemon.ping();
+        if (stop) {
+            daemon.stop();
+            System.out.println("Stopped daemon (pid " + pid + ")");
+        } else {
+            System.out.println("Daemon running on " + DaemonServer.DEFAULT_SOCKET + " (pid " + pid + ")");
+        }
+        return 0;
     }
 
     public static void main(String[] args) throws Exception {
+        var argList = Arrays.asList(args);
+        if (argList.contains("--daemon")) {
+            System.exit(runDaemon());
+        }
+        if (argList.contains("--daemon-status") || argList.contains("--daemon-stop")) {
+            System.exit(controlDaemon(argList.contains("--daemon-stop")));
+        }
+        for (String arg : args) {
+            if (arg.startsWith("--search="))
+                System.exit(runSearch(arg.substring("--search=".length()), !argList.contains("--no-daemon")));
+        }
+        if (Arrays.asList(args).contains("--smoke-test")) {
+            System.exit(SmokeTest.run(System.out));
+        }
+        if (Arrays.stream(args).anyMatch(arg -> arg.startsWith("--batch="))) {
+            System.exit(runBatch(args));
+        }
+
+        var profiler = StartupProfiler.get();
+        profiler.markMain();
+        boolean startupReport = Arrays.asList(args).contains("--startup-report");
+        FlightRecording recording = startRecording(args);
+
         var app = new SpringInitializrTui();
-        app.run();
+        if (Arrays.asList(args).contains("--debug-overlay")) {
+            app.debugOverlay.toggle();
+        }
+        app.exitAfterFirstFrame = Arrays.asList(args).contains("--exit-after-first-frame");
+        app.useDaemon = !Arrays.asList(args).contains("--no-daemon");
+        for (String arg : args) {
+            if (arg.startsWith("--max-fps=")) {
+                int fps = Integer.parseInt(arg.substring("--max-fps=".length()));
+                app.frameIntervalNanos = 1_000_000_000L / Math.max(1, fps);
+            }
+        }
+        // Connect to the service while the terminal is being set up; the metadata
+        // request in onStart() then reuses the open connection
+        app.client.warmUp();
+        app.runStartNanos = System.nanoTime();
+        try {
+            app.run();
+        } finally {
+            app.configStore.flush();
+            if (recording != null) {
+                recording.close();
+                System.out.println("JFR recording written to " + recording.destination());
+            }
+        }
+
+        if (startupReport) {
+            System.out.print(profiler.report());
+            profiler.appendToLog(ConfigStore.DEFAULT_CONFIG_DIR.resolve("startup.log"));
+            System.out.println("Requests (time to headers / total):");
+            for (var timing : app.client.recentTimings()) {
+                System.out.printf("  %-28s %-8s %9.1f ms %9.1f ms%n", timing.endpoint(), timing.version(),
+                        timing.headersNanos() / 1e6, timing.totalNanos() / 1e6);
+            }
+        }
 
         // Execute post-generate hook after TUI has fully exited and terminal is
         // restored
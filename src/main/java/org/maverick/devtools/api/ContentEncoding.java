@@ -0,0 +1,134 @@
+package org.maverick.devtools.api;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpHeaders;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * gzip/deflate response decoding. {@link java.net.http.HttpClient} neither
+ * negotiates nor decodes compressed bodies, so requests send
+ * {@link #ACCEPT_ENCODING} and responses are inflated here, as a stream, while
+ * the consumer reads them.
+ */
+final class ContentEncoding {
+
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * The response's content encoding, lower case; "identity" when absent.
+     */
+    static String of(HttpHeaders headers) {
+        return headers.firstValue("Content-Encoding")
+                .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                .filter(value -> !value.isEmpty())
+                .orElse("identity");
+    }
+
+    /**
+     * Wrap a response body so reading it yields the decoded content. Closing the
+     * result reads the body to its end first: neither the decoders nor Jackson
+     * necessarily consume the last bytes, and a response stream closed early
+     * takes its connection down with it instead of returning it to the pool.
+     */
+    static InputStream decode(InputStream body, String encoding) throws IOException {
+        InputStream decoded = switch (encoding) {
+            case "identity" -> body;
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, BUFFER_SIZE);
+            case "deflate" -> inflate(body);
+            default -> {
+                body.close();
+                throw new IOException("Unsupported Content-Encoding: " + encoding);
+            }
+        };
+        return new FilterInputStream(decoded) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed)
+                    return;
+                closed = true;
+                try {
+                    body.transferTo(OutputStream.nullOutputStream());
+                } finally {
+                    super.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * "deflate" is meant to be zlib-wrapped, but some servers send a raw deflate
+     * stream; tell them apart by the zlib header.
+     */
+    private static InputStream inflate(InputStream body) throws IOException {
+        var in = new BufferedInputStream(body, BUFFER_SIZE);
+        in.mark(2);
+        int cmf = in.read();
+        int flg = in.read();
+        in.reset();
+        boolean zlib = cmf >= 0 && flg >= 0 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+        var inflater = new Inflater(!zlib);
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                // An Inflater passed in is not ended by InflaterInputStream itself
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Input stream that counts the bytes read through it.
+     */
+    static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0)
+                count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0)
+                count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -1,50 +1,194 @@
 package org.maverick.devtools.api;
 
+import org.maverick.devtools.diagnostics.HttpRequestEvent;
+import org.maverick.devtools.diagnostics.MetadataParseEvent;
+import org.maverick.devtools.diagnostics.StartupProfiler;
 import org.maverick.devtools.model.ProjectConfig;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.maverick.devtools.util.LruCache;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
 import java.net.URI;
-import java.net.URLEncoder;
+import java.net.UnknownHostException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.StringJoiner;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * HTTP client for the Spring Initializr API at start.spring.io.
+ * The base URL can be overridden with the {@code initializr.url} system property
+ * or the {@code SPRING_INITIALIZR_URL} environment variable, e.g. to point at a
+ * self-hosted Initializr or a local stand-in server.
+ * <p>
+ * All requests share one {@link HttpClient} preferring HTTP/2, so metadata,
+ * preview and ZIP requests reuse the connection opened by {@link #warmUp()}.
  */
 public class InitializrClient {
 
-    private static final String BASE_URL = "https://start.spring.io";
+    public static final String DEFAULT_BASE_URL = "https://start.spring.io";
+    public static final String BASE_URL_PROPERTY = "initializr.url";
+    public static final String BASE_URL_ENV = "SPRING_INITIALIZR_URL";
+    static final int PREVIEW_CACHE_SIZE = 64;
+    static final int ZIP_CACHE_SIZE = 4;
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    static final int TIMING_HISTORY = 32;
+
+    /**
+     * Timing of one request: HTTP version, time until the response headers
+     * arrived and until the body was received. A request on a reused connection
+     * has no DNS, TCP or TLS setup in its time to headers.
+     */
+    public record RequestTiming(String endpoint, HttpClient.Version version, long headersNanos, long totalNanos) {
+    }
+
+    private final String baseUrl;
     private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final LruCache<String, String> previewCache = new LruCache<>(PREVIEW_CACHE_SIZE);
+    // Prefetched project ZIPs by query string, complete or still downloading
+    private final LruCache<String, CompletableFuture<byte[]>> zipCache = new LruCache<>(ZIP_CACHE_SIZE);
+    private final Deque<RequestTiming> timings = new ArrayDeque<>();
+    private volatile CompletableFuture<Void> warmUp = CompletableFuture.completedFuture(null);
 
     public InitializrClient() {
+        this(resolveBaseUrl());
+    }
+
+    public InitializrClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        long start = System.nanoTime();
         this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT)
                 .followRedirects(HttpClient.Redirect.NORMAL)
                 .build();
-        this.objectMapper = new ObjectMapper();
+        StartupProfiler.get().record("HttpClient creation", start);
+    }
+
+    /**
+     * Resolve the base URL from the system property, then the environment, then
+     * the public start.spring.io instance.
+     */
+    static String resolveBaseUrl() {
+        String url = System.getProperty(BASE_URL_PROPERTY);
+        if (url == null || url.isBlank())
+            url = System.getenv(BASE_URL_ENV);
+        return url == null || url.isBlank() ? DEFAULT_BASE_URL : url.trim();
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Open the connection to the service in the background with a HEAD request,
+     * so DNS, TCP and TLS setup overlap with application startup. Blocking
+     * requests sent while the warm-up is in flight wait for it and reuse its
+     * connection instead of opening a second one. Failures are ignored here;
+     * the next real request reports them. The metadata reader is prepared on
+     * another thread at the same time.
+     */
+    public CompletableFuture<Void> warmUp() {
+        CompletableFuture.runAsync(MetadataJson::prewarm);
+        var request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/"))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        long start = System.nanoTime();
+        long[] headersAt = new long[1];
+        var future = httpClient.sendAsync(request, timed(HttpResponse.BodyHandlers.discarding(), headersAt))
+                .thenAccept(response -> {
+                    recordTiming("warm-up", response.version(), start, headersAt[0]);
+                    StartupProfiler.get().record("HTTP warm-up (connect + TLS)", start);
+                })
+                .exceptionally(e -> null);
+        warmUp = future.completeOnTimeout(null, CONNECT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        return warmUp;
+    }
+
+    /**
+     * The most recent request timings, oldest first.
+     */
+    public List<RequestTiming> recentTimings() {
+        synchronized (timings) {
+            return List.copyOf(timings);
+        }
+    }
+
+    /**
+     * Whether a failure means the service could not be reached at all (no
+     * network, DNS failure, refused connection, timeout) rather than an error
+     * response from it.
+     */
+    public static boolean isUnreachable(IOException e) {
+        return e instanceof SocketException || e instanceof UnknownHostException || e instanceof HttpTimeoutException;
     }
 
     /**
      * Fetch metadata (boot versions, dependencies, languages, etc.) from the API.
+     * The response may be gzip or deflate compressed; it is inflated while Jackson
+     * parses it, without buffering the document.
      */
     public InitializrMetadata.Metadata fetchMetadata() throws IOException, InterruptedException {
         var request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL))
+                .uri(URI.create(baseUrl))
                 .header("Accept", "application/json")
+                .header("Accept-Encoding", ContentEncoding.ACCEPT_ENCODING)
                 .GET()
                 .build();
 
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        long start = System.nanoTime();
+        var response = send(request, HttpResponse.BodyHandlers.ofInputStream(), "/");
+        StartupProfiler.get().record("Metadata HTTP round trip", start);
         if (response.statusCode() != 200) {
+            response.body().close();
             throw new IOException("Failed to fetch metadata: HTTP " + response.statusCode());
         }
-        return objectMapper.readValue(response.body(), InitializrMetadata.Metadata.class);
+        start = System.nanoTime();
+        var parseEvent = new MetadataParseEvent();
+        parseEvent.begin();
+        String encoding = ContentEncoding.of(response.headers());
+        var transferred = new ContentEncoding.CountingInputStream(response.body());
+        InitializrMetadata.Metadata metadata = null;
+        long documentBytes = 0;
+        String failure = null;
+        try (var document = new ContentEncoding.CountingInputStream(ContentEncoding.decode(transferred, encoding))) {
+            try {
+                metadata = MetadataJson.read(document);
+            } finally {
+                documentBytes = document.count();
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e.toString();
+            throw e;
+        } finally {
+            // Committed for a failed parse too, with what was read before it failed
+            parseEvent.end();
+            if (parseEvent.shouldCommit()) {
+                parseEvent.bytes = documentBytes;
+                parseEvent.transferredBytes = transferred.count();
+                parseEvent.encoding = encoding;
+                parseEvent.dependencies = metadata != null ? countDependencies(metadata) : 0;
+                parseEvent.failure = failure;
+                parseEvent.commit();
+            }
+        }
+        StartupProfiler.get().record("Metadata download + JSON parse", start);
+        return metadata;
     }
 
     /**
@@ -57,44 +201,196 @@ public class InitializrClient {
 
     /**
      * Preview a specific build file format regardless of the project's configured
-     * type.
+     * type. Answered from the preview cache when the same query was fetched
+     * before.
      */
     public String previewBuildFile(ProjectConfig config, String projectType) throws IOException, InterruptedException {
+        var uri = buildFileUri(config, projectType);
+        String cached = previewCache.get(uri.toString());
+        if (cached != null)
+            return cached;
+
+        var request = previewRequest(uri);
+        var response = send(request, HttpResponse.BodyHandlers.ofInputStream(), uri.getPath());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Failed to preview build file: HTTP " + response.statusCode());
+        }
+        String body;
+        try (var in = ContentEncoding.decode(response.body(), ContentEncoding.of(response.headers()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        previewCache.put(uri.toString(), body);
+        return body;
+    }
+
+    /**
+     * Asynchronous variant of {@link #previewBuildFile(ProjectConfig, String)} for
+     * a URI from {@link #buildFileUri}. Cancelling the returned future aborts the
+     * request.
+     */
+    public CompletableFuture<String> previewBuildFileAsync(URI uri) {
+        String cached = previewCache.get(uri.toString());
+        if (cached != null)
+            return CompletableFuture.completedFuture(cached);
+
+        var request = previewRequest(uri);
+        var event = new HttpRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long[] headersAt = new long[1];
+        var exchange = httpClient.sendAsync(request, timed(HttpResponse.BodyHandlers.ofByteArray(), headersAt));
+        var preview = exchange.thenApply(response -> {
+            event.end();
+            recordTiming(uri.getPath(), response.version(), start, headersAt[0]);
+            if (event.shouldCommit()) {
+                event.endpoint = uri.getPath();
+                event.status = response.statusCode();
+                event.bytes = response.body().length;
+                event.version = response.version().name();
+                event.timeToHeaders = headersAt[0] - start;
+                event.commit();
+            }
+            if (response.statusCode() != 200) {
+                throw new CompletionException(
+                        new IOException("Failed to preview build file: HTTP " + response.statusCode()));
+            }
+            String body;
+            try (var in = ContentEncoding.decode(new ByteArrayInputStream(response.body()),
+                    ContentEncoding.of(response.headers()))) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            previewCache.put(uri.toString(), body);
+            return body;
+        });
+        // Cancelling a dependent stage does not reach the exchange on its own
+        preview.whenComplete((body, error) -> {
+            if (error instanceof CancellationException)
+                exchange.cancel(true);
+        });
+        return preview;
+    }
+
+    private static HttpRequest previewRequest(URI uri) {
+        return HttpRequest.newBuilder()
+                .uri(uri)
+                .header("Accept-Encoding", ContentEncoding.ACCEPT_ENCODING)
+                .GET()
+                .build();
+    }
+
+    /**
+     * A previously fetched preview for this URI, or null.
+     */
+    public String cachedPreview(URI uri) {
+        return previewCache.get(uri.toString());
+    }
+
+    /**
+     * The build file endpoint and query for a configuration; also the key of the
+     * preview cache. The query is the configuration's canonical snapshot query,
+     * so dependency order does not cause cache misses.
+     */
+    public URI buildFileUri(ProjectConfig config, String projectType) {
         String endpoint = switch (projectType) {
             case "maven-project" -> "/pom.xml";
             case "gradle-project" -> "/build.gradle";
             case "gradle-project-kotlin" -> "/build.gradle.kts";
             default -> "/pom.xml";
         };
-        return fetchBuildFile(endpoint, config);
+        return URI.create(baseUrl + endpoint + "?" + buildQueryString(config));
     }
 
-    private String fetchBuildFile(String endpoint, ProjectConfig config) throws IOException, InterruptedException {
-        var uri = URI.create(BASE_URL + endpoint + "?" + buildQueryString(config));
+    /**
+     * Fetch the project ZIP into memory as a byte array. Answered from a
+     * {@linkplain #prefetchProjectZip prefetch} of the same configuration when
+     * there is one.
+     */
+    public byte[] fetchProjectZip(ProjectConfig config) throws IOException, InterruptedException {
+        String query = buildQueryString(config);
+        byte[] prefetched = prefetched(query);
+        return prefetched != null ? prefetched : fetchZip(query);
+    }
+
+    /**
+     * Start downloading the project ZIP for the configuration as it is now, so
+     * that fetching or opening it later is answered from memory, or waits for
+     * this download instead of starting a second one. A configuration already
+     * prefetched is not downloaded again.
+     */
+    public CompletableFuture<byte[]> prefetchProjectZip(ProjectConfig config) {
+        String query = buildQueryString(config);
+        synchronized (zipCache) {
+            var zip = zipCache.get(query);
+            if (zip == null || zip.isCompletedExceptionally()) {
+                zip = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return fetchZip(query);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CompletionException(e);
+                    }
+                });
+                zipCache.put(query, zip);
+            }
+            return zip;
+        }
+    }
+
+    /**
+     * The prefetched ZIP for a query, waiting for it if it is still downloading;
+     * null when there is none or the prefetch failed, whose cause the caller's
+     * own download will report.
+     */
+    private byte[] prefetched(String query) throws InterruptedException {
+        var zip = zipCache.get(query);
+        if (zip == null)
+            return null;
+        try {
+            return zip.get();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private byte[] fetchZip(String query) throws IOException, InterruptedException {
+        var uri = URI.create(baseUrl + "/starter.zip?" + query);
         var request = HttpRequest.newBuilder()
                 .uri(uri)
                 .GET()
                 .build();
 
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        var response = send(request, HttpResponse.BodyHandlers.ofByteArray(), "/starter.zip");
         if (response.statusCode() != 200) {
-            throw new IOException("Failed to preview build file: HTTP " + response.statusCode());
+            throw new IOException("Failed to fetch project ZIP: HTTP " + response.statusCode());
         }
         return response.body();
     }
 
     /**
-     * Fetch the project ZIP into memory as a byte array.
+     * Open the project ZIP as a stream so it can be extracted while it downloads,
+     * or over the prefetched bytes when the configuration was prefetched.
+     * The caller must close the returned stream.
      */
-    public byte[] fetchProjectZip(ProjectConfig config) throws IOException, InterruptedException {
-        var uri = URI.create(BASE_URL + "/starter.zip?" + buildQueryString(config));
+    public InputStream openProjectZip(ProjectConfig config) throws IOException, InterruptedException {
+        String query = buildQueryString(config);
+        byte[] prefetched = prefetched(query);
+        if (prefetched != null)
+            return new ByteArrayInputStream(prefetched);
+
+        var uri = URI.create(baseUrl + "/starter.zip?" + query);
         var request = HttpRequest.newBuilder()
                 .uri(uri)
                 .GET()
                 .build();
 
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        var response = send(request, HttpResponse.BodyHandlers.ofInputStream(), "/starter.zip");
         if (response.statusCode() != 200) {
+            response.body().close();
             throw new IOException("Failed to fetch project ZIP: HTTP " + response.statusCode());
         }
         return response.body();
@@ -105,14 +401,14 @@ public class InitializrClient {
      * Returns the path to the downloaded ZIP.
      */
     public Path generateProject(ProjectConfig config, Path outputDir) throws IOException, InterruptedException {
-        var uri = URI.create(BASE_URL + "/starter.zip?" + buildQueryString(config));
+        var uri = URI.create(baseUrl + "/starter.zip?" + buildQueryString(config));
         var request = HttpRequest.newBuilder()
                 .uri(uri)
                 .GET()
                 .build();
 
         var zipPath = outputDir.resolve(config.getArtifactId() + ".zip");
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofFile(zipPath));
+        var response = send(request, HttpResponse.BodyHandlers.ofFile(zipPath), "/starter.zip");
         if (response.statusCode() != 200) {
             Files.deleteIfExists(zipPath);
             throw new IOException("Failed to generate project: HTTP " + response.statusCode());
@@ -120,31 +416,89 @@ public class InitializrClient {
         return response.body();
     }
 
-    private String buildQueryString(ProjectConfig config) {
-        var params = new StringJoiner("&");
-        params.add("type=" + encode(config.getProjectType()));
-        params.add("language=" + encode(config.getLanguage()));
-        params.add("bootVersion=" + encode(ProjectConfig.cleanBootVersion(config.getBootVersion())));
-        params.add("groupId=" + encode(config.getGroupId()));
-        params.add("artifactId=" + encode(config.getArtifactId()));
-        params.add("name=" + encode(config.getName()));
-        params.add("description=" + encode(config.getDescription()));
-        params.add("packageName=" + encode(config.getPackageName()));
-        params.add("packaging=" + encode(config.getPackaging()));
-        params.add("javaVersion=" + encode(config.getJavaVersion()));
-        params.add("applicationFormat=" + encode(config.getApplicationFormat()));
-
-        if (!config.getSelectedDependencies().isEmpty()) {
-            params.add("dependencies=" + encode(String.join(",", config.getSelectedDependencies())));
+    /**
+     * Send a request, emitting an {@link HttpRequestEvent} when JFR is recording
+     * and recording its {@link RequestTiming}. Waits for a pending warm-up first
+     * so the request reuses its connection.
+     */
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler, String endpoint)
+            throws IOException, InterruptedException {
+        warmUp.join();
+        var event = new HttpRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long[] headersAt = new long[1];
+        HttpResponse<T> response = null;
+        try {
+            response = httpClient.send(request, timed(handler, headersAt));
+            recordTiming(endpoint, response.version(), start, headersAt[0]);
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                if (response != null) {
+                    event.status = response.statusCode();
+                    event.bytes = bodySize(response);
+                    event.version = response.version().name();
+                    event.timeToHeaders = headersAt[0] - start;
+                }
+                event.commit();
+            }
         }
-        return params.toString();
     }
 
-    private static String encode(String value) {
-        try {
-            return URLEncoder.encode(value, StandardCharsets.UTF_8.toString());
-        } catch (Exception e) {
-            return value;
+    /**
+     * Wrap a body handler to note when the response headers arrived.
+     */
+    private static <T> HttpResponse.BodyHandler<T> timed(HttpResponse.BodyHandler<T> handler, long[] headersAt) {
+        return info -> {
+            headersAt[0] = System.nanoTime();
+            return handler.apply(info);
+        };
+    }
+
+    private void recordTiming(String endpoint, HttpClient.Version version, long startNanos, long headersNanos) {
+        long now = System.nanoTime();
+        var timing = new RequestTiming(endpoint, version, headersNanos - startNanos, now - startNanos);
+        synchronized (timings) {
+            if (timings.size() == TIMING_HISTORY)
+                timings.removeFirst();
+            timings.addLast(timing);
+        }
+    }
+
+    /**
+     * Bytes of the response body as received, -1 when unknown. A streamed body is
+     * not read yet, so its Content-Length is used unless it is content-encoded,
+     * where that header counts the compressed bytes.
+     */
+    private static long bodySize(HttpResponse<?> response) {
+        if (response.body() instanceof byte[] bytes)
+            return bytes.length;
+        if (response.body() instanceof Path path) {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return -1;
+            }
         }
+        if (response.headers().firstValue("Content-Encoding").isPresent())
+            return -1;
+        return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+    }
+
+    private static int countDependencies(InitializrMetadata.Metadata metadata) {
+        if (metadata.dependencies() == null || metadata.dependencies().values() == null)
+            return 0;
+        int count = 0;
+        for (var category : metadata.dependencies().values()) {
+            count += category.values() != null ? category.values().size() : 0;
+        }
+        return count;
+    }
+
+    private static String buildQueryString(ProjectConfig config) {
+        return config.snapshot().queryString();
     }
 }
@@ -37,7 +37,9 @@ public final class InitializrMetadata {
                         @JsonProperty("default") String defaultValue,
                         @JsonProperty("values") List<SelectOption> values) {
                 public String defaultOrFirst() {
-                        return values.isEmpty() ? null : values.get(0).id();
+                        if (defaultValue != null && !defaultValue.isEmpty())
+                                return defaultValue;
+                        return values == null || values.isEmpty() ? "" : values.get(0).id();
                 }
         }
 
@@ -0,0 +1,120 @@
+package org.maverick.devtools.api;
+
+import org.maverick.devtools.diagnostics.StartupProfiler;
+import org.maverick.devtools.util.ConfigStore;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps the last successfully fetched metadata in
+ * ~/.spring-initializr/metadata.json so the TUI can start, and generate
+ * offline, without network access. A binary {@link MetadataSnapshot} is kept
+ * next to it as metadata.bin and read in preference to the JSON.
+ */
+public class MetadataCache {
+
+    private final Path file;
+    private final Path snapshotFile;
+
+    public MetadataCache() {
+        this(ConfigStore.DEFAULT_CONFIG_DIR.resolve("metadata.json"));
+    }
+
+    public MetadataCache(Path file) {
+        this.file = file;
+        String name = file.getFileName().toString();
+        this.snapshotFile = file.resolveSibling(
+                (name.endsWith(".json") ? name.substring(0, name.length() - 5) : name) + ".bin");
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Replace the cached metadata. Each file is written to a temporary file of
+     * its own first, so a crash never leaves a truncated cache behind and the
+     * daemon and a TUI saving at the same time never write into one file.
+     */
+    public void save(InitializrMetadata.Metadata metadata) {
+        Path tmp = null;
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, "metadata", ".json.tmp");
+            MetadataJson.write(tmp.toFile(), metadata);
+            replace(tmp, file);
+
+            tmp = Files.createTempFile(dir, "metadata", ".bin.tmp");
+            MetadataSnapshot.write(tmp, metadata);
+            replace(tmp, snapshotFile);
+        } catch (Exception e) {
+            // Silently fail — the cache is only a fallback
+            try {
+                if (tmp != null)
+                    Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // A stray temporary file is harmless
+            }
+        }
+    }
+
+    private static void replace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The cached metadata, or null when there is none or it cannot be read.
+     * The binary snapshot is tried first; a missing, stale-format or corrupt
+     * snapshot falls back to the JSON copy.
+     */
+    public InitializrMetadata.Metadata load() {
+        if (Files.exists(snapshotFile)) {
+            long start = System.nanoTime();
+            try {
+                var metadata = MetadataSnapshot.read(snapshotFile);
+                StartupProfiler.get().record("Metadata snapshot read", start);
+                return metadata;
+            } catch (Exception e) {
+                // Fall back to JSON
+            }
+        }
+        if (!Files.exists(file))
+            return null;
+        try {
+            return MetadataJson.read(file.toFile());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * The cached metadata if it was saved less than {@code maxAge} ago, otherwise
+     * null.
+     */
+    public InitializrMetadata.Metadata loadFresh(Duration maxAge) {
+        try {
+            Path newest = Files.exists(snapshotFile) ? snapshotFile : file;
+            var saved = Files.getLastModifiedTime(newest).toInstant();
+            if (saved.plus(maxAge).isBefore(Instant.now()))
+                return null;
+        } catch (Exception e) {
+            return null;
+        }
+        return load();
+    }
+}
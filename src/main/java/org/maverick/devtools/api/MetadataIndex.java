@@ -0,0 +1,123 @@
+package org.maverick.devtools.api;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup tables over the dependencies of one metadata load. Every
+ * dependency gets a dense ordinal in listing order, and the id, dependency and
+ * category of an ordinal are array reads; ids are canonicalized, so the
+ * strings handed out are the index's own.
+ * <p>
+ * Build one per metadata load and hand it to the screens and project
+ * configurations working on that metadata; an ordinal is only valid in the
+ * index that issued it.
+ */
+public final class MetadataIndex {
+
+    public static final MetadataIndex EMPTY = new MetadataIndex(List.of());
+
+    private final List<InitializrMetadata.DependencyCategory> categories;
+    private final String[] ids;
+    private final InitializrMetadata.Dependency[] dependencies;
+    private final int[] categoryOf;
+    private final Map<String, Integer> ordinals;
+
+    private MetadataIndex(List<InitializrMetadata.DependencyCategory> categories) {
+        this.categories = categories;
+        int count = 0;
+        for (var category : categories)
+            count += category.values() != null ? category.values().size() : 0;
+        var ids = new String[count];
+        var dependencies = new InitializrMetadata.Dependency[count];
+        var categoryOf = new int[count];
+        this.ordinals = new HashMap<>(count * 2);
+        int size = 0;
+        for (int c = 0; c < categories.size(); c++) {
+            var values = categories.get(c).values();
+            if (values == null)
+                continue;
+            for (var dependency : values) {
+                // Ids are unique in practice; a repeat keeps its first listing
+                if (dependency.id() == null || ordinals.putIfAbsent(dependency.id(), size) != null)
+                    continue;
+                ids[size] = dependency.id();
+                dependencies[size] = dependency;
+                categoryOf[size] = c;
+                size++;
+            }
+        }
+        this.ids = size == count ? ids : Arrays.copyOf(ids, size);
+        this.dependencies = size == count ? dependencies : Arrays.copyOf(dependencies, size);
+        this.categoryOf = size == count ? categoryOf : Arrays.copyOf(categoryOf, size);
+    }
+
+    /**
+     * Index the metadata's dependencies.
+     */
+    public static MetadataIndex of(InitializrMetadata.Metadata metadata) {
+        return metadata.dependencies() != null && metadata.dependencies().values() != null
+                ? of(metadata.dependencies().values())
+                : EMPTY;
+    }
+
+    /**
+     * Index a dependency listing.
+     */
+    public static MetadataIndex of(List<InitializrMetadata.DependencyCategory> categories) {
+        return categories.isEmpty() ? EMPTY : new MetadataIndex(categories);
+    }
+
+    public List<InitializrMetadata.DependencyCategory> categories() {
+        return categories;
+    }
+
+    /**
+     * Number of dependencies; ordinals run from 0 to {@code size() - 1}.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Ordinal of a dependency id, or -1 when the metadata does not list it.
+     */
+    public int ordinal(String id) {
+        Integer ordinal = id != null ? ordinals.get(id) : null;
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public String id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    public InitializrMetadata.Dependency dependency(int ordinal) {
+        return dependencies[ordinal];
+    }
+
+    /**
+     * The dependency with this id, or null when the metadata does not list it.
+     */
+    public InitializrMetadata.Dependency dependency(String id) {
+        int ordinal = ordinal(id);
+        return ordinal >= 0 ? dependencies[ordinal] : null;
+    }
+
+    /**
+     * Position in {@link #categories()} of the category listing a dependency.
+     */
+    public int categoryIndex(int ordinal) {
+        return categoryOf[ordinal];
+    }
+
+    /**
+     * Display name of a dependency id: its name when the metadata lists it,
+     * otherwise the id itself.
+     */
+    public String displayName(String id) {
+        var dependency = dependency(id);
+        return dependency != null && dependency.name() != null ? dependency.name() : id;
+    }
+}
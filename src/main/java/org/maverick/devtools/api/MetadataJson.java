@@ -0,0 +1,64 @@
+package org.maverick.devtools.api;
+
+import org.maverick.devtools.diagnostics.StartupProfiler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Shared Jackson reader and writer for the metadata document. Creating the
+ * reader resolves the deserializers of every {@link InitializrMetadata} record
+ * up front, so the first parse does not pay for record introspection; call
+ * {@link #prewarm()} early to do that work off the critical path.
+ */
+final class MetadataJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // One of each record type, including the dependency links map
+    private static final String PREWARM_DOCUMENT = """
+            {"type": {"type": "action", "default": "maven-project", "values": [{"id": "maven-project", "name": "Maven"}]},
+             "groupId": {"type": "text", "default": "com.example"},
+             "dependencies": {"type": "hierarchical-multi-select", "values": [{"name": "Web", "values": [
+                {"id": "web", "name": "Spring Web", "versionRange": "[3.0.0,4.0.0)", "_links": {"guide": {"href": "x"}}}]}]}}
+            """;
+    private static final ObjectReader READER;
+    private static final ObjectWriter WRITER;
+
+    static {
+        long start = System.nanoTime();
+        READER = MAPPER.readerFor(InitializrMetadata.Metadata.class);
+        WRITER = MAPPER.writerFor(InitializrMetadata.Metadata.class);
+        StartupProfiler.get().record("Metadata reader init", start);
+    }
+
+    private MetadataJson() {
+    }
+
+    /**
+     * Load this class and run the parser once over a small document, so classes
+     * used only while parsing are loaded as well.
+     */
+    static void prewarm() {
+        try {
+            READER.readValue(PREWARM_DOCUMENT);
+        } catch (IOException e) {
+            // Only a warm-up; real parse errors surface on the real document
+        }
+    }
+
+    static InitializrMetadata.Metadata read(InputStream in) throws IOException {
+        return READER.readValue(in);
+    }
+
+    static InitializrMetadata.Metadata read(File file) throws IOException {
+        return READER.readValue(file);
+    }
+
+    static void write(File file, InitializrMetadata.Metadata metadata) throws IOException {
+        WRITER.writeValue(file, metadata);
+    }
+}
@@ -0,0 +1,414 @@
+package org.maverick.devtools.api;
+
+import org.maverick.devtools.api.InitializrMetadata.Dependency;
+import org.maverick.devtools.api.InitializrMetadata.DependencyCategory;
+import org.maverick.devtools.api.InitializrMetadata.DependencyGroup;
+import org.maverick.devtools.api.InitializrMetadata.Metadata;
+import org.maverick.devtools.api.InitializrMetadata.SelectField;
+import org.maverick.devtools.api.InitializrMetadata.SelectOption;
+import org.maverick.devtools.api.InitializrMetadata.TextField;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of {@link Metadata}, read at startup instead of parsing
+ * JSON through Jackson, and the form in which a daemon hands metadata to its
+ * clients.
+ * <p>
+ * Layout: magic {@code MDTS}, a format version byte, the CRC32 and length of the
+ * payload (big-endian ints), then the payload. The payload is a string table
+ * (count, then length-prefixed UTF-8 strings) followed by the records in
+ * component order. Integers are unsigned LEB128 varints; strings are table
+ * indexes plus one (0 is null); optional records and lists are prefixed with 0
+ * for null, otherwise 1 or the size plus one. The free-form dependency links are
+ * encoded as tagged values.
+ */
+public final class MetadataSnapshot {
+
+    static final int VERSION = 1;
+    private static final byte[] MAGIC = { 'M', 'D', 'T', 'S' };
+    private static final int HEADER_SIZE = MAGIC.length + 1 + 4 + 4;
+
+    // Tags of link values
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int TRUE = 2;
+    private static final int FALSE = 3;
+    private static final int INT = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int LIST = 7;
+    private static final int MAP = 8;
+
+    private MetadataSnapshot() {
+    }
+
+    static void write(Path file, Metadata metadata) throws IOException {
+        Files.write(file, encode(metadata));
+    }
+
+    /**
+     * Read a snapshot file, memory-mapped except on Windows, where a live
+     * mapping would keep the file from being replaced by the next save.
+     */
+    static Metadata read(Path file) throws IOException {
+        if (System.getProperty("os.name", "").toLowerCase().startsWith("win"))
+            return decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static byte[] encode(Metadata metadata) {
+        var writer = new Writer();
+        writer.metadata(metadata);
+        byte[] payload = writer.payload();
+
+        var crc = new CRC32();
+        crc.update(payload);
+        var out = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        out.put(MAGIC).put((byte) VERSION).putInt((int) crc.getValue()).putInt(payload.length).put(payload);
+        return out.array();
+    }
+
+    /**
+     * Decode a snapshot; any mismatch in magic, version, length or checksum is an
+     * IOException so callers can fall back to JSON.
+     */
+    public static Metadata decode(ByteBuffer buffer) throws IOException {
+        try {
+            for (byte b : MAGIC) {
+                if (buffer.get() != b)
+                    throw new IOException("Not a metadata snapshot");
+            }
+            int version = buffer.get();
+            if (version != VERSION)
+                throw new IOException("Unsupported metadata snapshot version " + version);
+            long expectedCrc = buffer.getInt() & 0xFFFFFFFFL;
+            int length = buffer.getInt();
+            if (length != buffer.remaining())
+                throw new IOException("Truncated metadata snapshot");
+
+            var payload = buffer.slice();
+            var crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != expectedCrc)
+                throw new IOException("Metadata snapshot checksum mismatch");
+            return new Reader(payload).metadata();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt metadata snapshot", e);
+        }
+    }
+
+    private static final class Writer {
+
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(16 * 1024);
+
+        byte[] payload() {
+            var table = new ByteArrayOutputStream(32 * 1024);
+            varint(table, strings.size());
+            for (String s : strings.keySet()) {
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                varint(table, utf8.length);
+                table.writeBytes(utf8);
+            }
+            table.writeBytes(body.toByteArray());
+            return table.toByteArray();
+        }
+
+        void metadata(Metadata m) {
+            selectField(m.type());
+            selectField(m.packaging());
+            selectField(m.javaVersion());
+            selectField(m.language());
+            selectField(m.bootVersion());
+            textField(m.groupId());
+            textField(m.artifactId());
+            textField(m.version());
+            textField(m.name());
+            textField(m.description());
+            textField(m.packageName());
+            selectField(m.applicationFormat());
+            dependencyGroup(m.dependencies());
+        }
+
+        private void selectField(SelectField field) {
+            if (present(field)) {
+                string(field.type());
+                string(field.defaultValue());
+                if (size(field.values())) {
+                    for (var option : field.values()) {
+                        if (present(option)) {
+                            string(option.id());
+                            string(option.name());
+                        }
+                    }
+                }
+            }
+        }
+
+        private void textField(TextField field) {
+            if (present(field)) {
+                string(field.type());
+                string(field.defaultValue());
+            }
+        }
+
+        private void dependencyGroup(DependencyGroup group) {
+            if (present(group)) {
+                string(group.type());
+                if (size(group.values())) {
+                    for (var category : group.values()) {
+                        if (present(category)) {
+                            string(category.name());
+                            if (size(category.values())) {
+                                for (var dependency : category.values())
+                                    dependency(dependency);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private void dependency(Dependency dependency) {
+            if (present(dependency)) {
+                string(dependency.id());
+                string(dependency.name());
+                string(dependency.description());
+                string(dependency.versionRange());
+                value(dependency.links());
+            }
+        }
+
+        private void value(Object value) {
+            if (value == null) {
+                body.write(NULL);
+            } else if (value instanceof String s) {
+                body.write(STRING);
+                string(s);
+            } else if (value instanceof Boolean b) {
+                body.write(b ? TRUE : FALSE);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                body.write(INT);
+                varint(body, zigZag(((Number) value).longValue()));
+            } else if (value instanceof Long l) {
+                body.write(LONG);
+                varint(body, zigZag(l));
+            } else if (value instanceof Double || value instanceof Float) {
+                body.write(DOUBLE);
+                long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+                for (int shift = 56; shift >= 0; shift -= 8)
+                    body.write((int) (bits >>> shift));
+            } else if (value instanceof List<?> list) {
+                body.write(LIST);
+                varint(body, list.size());
+                for (var element : list)
+                    value(element);
+            } else if (value instanceof Map<?, ?> map) {
+                body.write(MAP);
+                varint(body, map.size());
+                for (var entry : map.entrySet()) {
+                    string(String.valueOf(entry.getKey()));
+                    value(entry.getValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported metadata value " + value.getClass().getName());
+            }
+        }
+
+        private boolean present(Object record) {
+            body.write(record != null ? 1 : 0);
+            return record != null;
+        }
+
+        private boolean size(List<?> list) {
+            varint(body, list != null ? list.size() + 1L : 0);
+            return list != null;
+        }
+
+        private void string(String s) {
+            if (s == null) {
+                body.write(0);
+                return;
+            }
+            Integer index = strings.get(s);
+            if (index == null) {
+                index = strings.size();
+                strings.put(s, index);
+            }
+            varint(body, index + 1L);
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        private static void varint(ByteArrayOutputStream out, long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+
+    private static final class Reader {
+
+        private final ByteBuffer in;
+        private final String[] strings;
+
+        Reader(ByteBuffer in) {
+            this.in = in;
+            int count = (int) varint();
+            int[] starts = new int[count];
+            int[] lengths = new int[count];
+            int tableStart = in.position();
+            for (int i = 0; i < count; i++) {
+                lengths[i] = (int) varint();
+                starts[i] = in.position() - tableStart;
+                in.position(in.position() + lengths[i]);
+            }
+            // Copy the string table out in one go; decoding from a byte[] is much
+            // cheaper than from a mapped buffer
+            byte[] table = new byte[in.position() - tableStart];
+            in.get(tableStart, table);
+            strings = new String[count];
+            for (int i = 0; i < count; i++)
+                strings[i] = new String(table, starts[i], lengths[i], StandardCharsets.UTF_8);
+        }
+
+        Metadata metadata() {
+            return new Metadata(selectField(), selectField(), selectField(), selectField(), selectField(),
+                    textField(), textField(), textField(), textField(), textField(), textField(),
+                    selectField(), dependencyGroup());
+        }
+
+        private SelectField selectField() {
+            if (!present())
+                return null;
+            String type = string();
+            String defaultValue = string();
+            int size = size();
+            List<SelectOption> values = null;
+            if (size >= 0) {
+                values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    values.add(present() ? new SelectOption(string(), string()) : null);
+            }
+            return new SelectField(type, defaultValue, values);
+        }
+
+        private TextField textField() {
+            return present() ? new TextField(string(), string()) : null;
+        }
+
+        private DependencyGroup dependencyGroup() {
+            if (!present())
+                return null;
+            String type = string();
+            int size = size();
+            List<DependencyCategory> values = null;
+            if (size >= 0) {
+                values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    values.add(dependencyCategory());
+            }
+            return new DependencyGroup(type, values);
+        }
+
+        private DependencyCategory dependencyCategory() {
+            if (!present())
+                return null;
+            String name = string();
+            int size = size();
+            List<Dependency> values = null;
+            if (size >= 0) {
+                values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    values.add(dependency());
+            }
+            return new DependencyCategory(name, values);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Dependency dependency() {
+            if (!present())
+                return null;
+            return new Dependency(string(), string(), string(), string(), (Map<String, Object>) value());
+        }
+
+        private Object value() {
+            int tag = in.get();
+            return switch (tag) {
+                case NULL -> null;
+                case STRING -> string();
+                case TRUE -> Boolean.TRUE;
+                case FALSE -> Boolean.FALSE;
+                case INT -> (int) unZigZag(varint());
+                case LONG -> unZigZag(varint());
+                case DOUBLE -> Double.longBitsToDouble(in.getLong());
+                case LIST -> {
+                    int size = (int) varint();
+                    var list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++)
+                        list.add(value());
+                    yield list;
+                }
+                case MAP -> {
+                    int size = (int) varint();
+                    var map = new LinkedHashMap<String, Object>(Math.max(4, size * 2));
+                    for (int i = 0; i < size; i++)
+                        map.put(string(), value());
+                    yield map;
+                }
+                default -> throw new IllegalArgumentException("Unknown value tag " + tag);
+            };
+        }
+
+        private boolean present() {
+            return in.get() != 0;
+        }
+
+        /**
+         * List size, or -1 for null.
+         */
+        private int size() {
+            return (int) varint() - 1;
+        }
+
+        private String string() {
+            int ref = (int) varint();
+            return ref == 0 ? null : strings[ref - 1];
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = in.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.maverick.devtools.batch;
+
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.model.ProjectConfig;
+import org.maverick.devtools.util.ProjectArchive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates every project in a {@link BatchManifest} without the TUI.
+ * Metadata is fetched once; projects are downloaded concurrently with at most
+ * {@code parallelism} {@code /starter.zip} requests in flight, and each ZIP is
+ * extracted straight from the response stream.
+ */
+public class BatchGenerator {
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private final InitializrClient client;
+    private final Path outputDir;
+    private final int parallelism;
+
+    public BatchGenerator(InitializrClient client, Path outputDir, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        this.client = client;
+        this.outputDir = outputDir;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Outcome of one project; {@code error} is null on success.
+     */
+    public record Result(String artifactId, Path projectDir, long nanos, Exception error) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Generate all projects and return their results in manifest order. Individual
+     * failures are reported in the results; only a metadata or manifest problem
+     * aborts the whole batch.
+     */
+    public List<Result> run(BatchManifest manifest) throws IOException, InterruptedException {
+        var metadata = client.fetchMetadata();
+        var index = MetadataIndex.of(metadata);
+
+        var configs = new ArrayList<ProjectConfig>();
+        var artifactIds = new HashSet<String>();
+        for (var project : manifest.projects()) {
+            var config = new ProjectConfig();
+            config.applyDefaults(metadata, index);
+            if (manifest.defaults() != null)
+                manifest.defaults().applyTo(config);
+            project.applyTo(config);
+            if (!artifactIds.add(config.getArtifactId()))
+                throw new IOException("Duplicate artifactId in manifest: " + config.getArtifactId());
+            configs.add(config);
+        }
+
+        Files.createDirectories(outputDir);
+        var executor = Executors.newFixedThreadPool(parallelism, r -> {
+            var thread = new Thread(r, "batch-generate");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var futures = new ArrayList<Future<Result>>();
+            for (var config : configs) {
+                futures.add(executor.submit(() -> generate(config, index)));
+            }
+            var results = new ArrayList<Result>();
+            for (var future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IOException("Batch generation failed", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Result generate(ProjectConfig config, MetadataIndex index) {
+        long start = System.nanoTime();
+        Path projectDir = outputDir.resolve(config.getArtifactId());
+        try {
+            for (String dep : config.getSelectedDependencies()) {
+                if (index.ordinal(dep) < 0)
+                    throw new IOException("Unknown dependency: " + dep);
+            }
+            if (Files.exists(projectDir))
+                throw new IOException(projectDir + " already exists");
+            // The ZIP's top-level directory is the artifactId
+            try (var zip = client.openProjectZip(config)) {
+                ProjectArchive.extract(zip, outputDir, config.getApplicationFormat());
+            }
+            return new Result(config.getArtifactId(), projectDir, System.nanoTime() - start, null);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException)
+                Thread.currentThread().interrupt();
+            return new Result(config.getArtifactId(), projectDir, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Per-project timing table followed by a one-line total.
+     */
+    public static String summary(List<Result> results, long wallNanos, int parallelism) {
+        int width = 12;
+        for (var result : results)
+            width = Math.max(width, result.artifactId().length());
+
+        var sb = new StringBuilder();
+        long serialNanos = 0;
+        int succeeded = 0;
+        for (var result : results) {
+            serialNanos += result.nanos();
+            String outcome;
+            if (result.succeeded()) {
+                succeeded++;
+                outcome = result.projectDir().toString();
+            } else {
+                String message = result.error().getMessage();
+                outcome = "FAILED " + (message != null ? message : result.error().getClass().getSimpleName());
+            }
+            sb.append(String.format("  %-" + width + "s %8.0fms  %s%n", result.artifactId(), result.nanos() / 1e6,
+                    outcome));
+        }
+        sb.append(String.format("Generated %d/%d projects in %.1fs (parallel %d, %.1fs of request time)%n",
+                succeeded, results.size(), wallNanos / 1e9, parallelism, serialNanos / 1e9));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package org.maverick.devtools.batch;
+
+import org.maverick.devtools.model.ProjectConfig;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A list of projects to generate without the TUI, read from JSON or YAML.
+ * <p>
+ * Values in {@code defaults} apply to every project; each entry in
+ * {@code projects} overrides them. Anything left unset falls back to the
+ * Initializr metadata defaults.
+ *
+ * <pre>
+ * defaults:
+ *   type: maven-project
+ *   groupId: com.acme
+ * projects:
+ *   - artifactId: orders
+ *     dependencies: [web, data-jpa]
+ *   - artifactId: billing
+ *     bootVersion: 3.5.7
+ * </pre>
+ */
+public record BatchManifest(
+        @JsonProperty("defaults") Project defaults,
+        @JsonProperty("projects") List<Project> projects) {
+
+    public BatchManifest {
+        projects = projects != null ? List.copyOf(projects) : List.of();
+    }
+
+    /**
+     * Read a manifest; files ending in {@code .yml} or {@code .yaml} are parsed as
+     * YAML, everything else as JSON.
+     */
+    public static BatchManifest load(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        ObjectMapper mapper = name.endsWith(".yml") || name.endsWith(".yaml") ? new YAMLMapper() : new ObjectMapper();
+        return mapper.readValue(file.toFile(), BatchManifest.class);
+    }
+
+    /**
+     * One project entry. Unset fields are null and leave the current value alone.
+     */
+    public record Project(
+            @JsonProperty("type") String type,
+            @JsonProperty("language") String language,
+            @JsonProperty("bootVersion") String bootVersion,
+            @JsonProperty("groupId") String groupId,
+            @JsonProperty("artifactId") String artifactId,
+            @JsonProperty("name") String name,
+            @JsonProperty("description") String description,
+            @JsonProperty("packageName") String packageName,
+            @JsonProperty("packaging") String packaging,
+            @JsonProperty("javaVersion") String javaVersion,
+            @JsonProperty("applicationFormat") String applicationFormat,
+            @JsonProperty("dependencies") List<String> dependencies) {
+
+        /**
+         * Copy the fields that are set onto the configuration. Group and artifact
+         * go first because they reset the derived name and package name.
+         */
+        public void applyTo(ProjectConfig config) {
+            if (groupId != null)
+                config.setGroupId(groupId);
+            if (artifactId != null)
+                config.setArtifactId(artifactId);
+            if (type != null)
+                config.setProjectType(type);
+            if (language != null)
+                config.setLanguage(language);
+            if (bootVersion != null)
+                config.setBootVersion(bootVersion);
+            if (name != null)
+                config.setName(name);
+            if (description != null)
+                config.setDescription(description);
+            if (packageName != null)
+                config.setPackageName(packageName);
+            if (packaging != null)
+                config.setPackaging(packaging);
+            if (javaVersion != null)
+                config.setJavaVersion(javaVersion);
+            if (applicationFormat != null)
+                config.setApplicationFormat(applicationFormat);
+            if (dependencies != null) {
+                config.clearDependencies();
+                for (String dep : dependencies) {
+                    if (!config.isDependencySelected(dep))
+                        config.toggleDependency(dep);
+                }
+            }
+        }
+    }
+}
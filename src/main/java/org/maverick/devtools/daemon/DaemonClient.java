@@ -0,0 +1,156 @@
+package org.maverick.devtools.daemon;
+
+import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataSnapshot;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thin client of a {@link DaemonServer}; every call is one short-lived
+ * connection. Used by the TUI to start from the daemon's metadata and by
+ * {@code --batch}, {@code --search} and {@code --daemon-*} to hand their work to
+ * the daemon.
+ */
+public final class DaemonClient {
+
+    private final Path socket;
+
+    public DaemonClient(Path socket) {
+        this.socket = socket;
+    }
+
+    /**
+     * A client for the daemon on the default socket, or null when none is
+     * running.
+     */
+    public static DaemonClient find() {
+        return find(DaemonServer.DEFAULT_SOCKET);
+    }
+
+    /**
+     * A client for the daemon on {@code socket}, or null when there is no socket
+     * file or nothing answers on it.
+     */
+    public static DaemonClient find(Path socket) {
+        if (!Files.exists(socket))
+            return null;
+        var client = new DaemonClient(socket);
+        try {
+            client.ping();
+            return client;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The daemon's process id.
+     */
+    public long ping() throws IOException {
+        try (var response = request("PING")) {
+            return Long.parseLong(response.status());
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected daemon response", e);
+        }
+    }
+
+    public InitializrMetadata.Metadata metadata() throws IOException {
+        try (var response = request("METADATA")) {
+            return MetadataSnapshot.decode(ByteBuffer.wrap(response.body().readAllBytes()));
+        }
+    }
+
+    /**
+     * Ids of the dependencies matching {@code query}, best match first.
+     */
+    public List<String> search(String query) throws IOException {
+        var ids = new ArrayList<String>();
+        try (var response = request("SEARCH", query)) {
+            String line;
+            while ((line = readLine(response.body())) != null)
+                ids.add(line.substring(0, line.indexOf('\t')));
+        }
+        return ids;
+    }
+
+    /**
+     * Run a batch manifest in the daemon, copying its summary to {@code out},
+     * and return the batch's exit code. Paths are resolved here, since the
+     * daemon has its own working directory.
+     */
+    public int batch(Path manifest, Path outputDir, int parallelism, PrintStream out) throws IOException {
+        try (var response = request("BATCH", manifest.toAbsolutePath().toString(),
+                outputDir.toAbsolutePath().toString(), Integer.toString(parallelism))) {
+            String line;
+            while ((line = readLine(response.body())) != null) {
+                if (line.startsWith("EXIT "))
+                    return Integer.parseInt(line.substring("EXIT ".length()));
+                out.println(line);
+            }
+        }
+        throw new IOException("Daemon closed the connection before the batch finished");
+    }
+
+    public void stop() throws IOException {
+        request("STOP").close();
+    }
+
+    private record Response(SocketChannel channel, String status, InputStream body) implements AutoCloseable {
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private Response request(String command, String... args) throws IOException {
+        var channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            var line = new StringBuilder(command);
+            for (String arg : args)
+                line.append('\t').append(arg.replace('\t', ' ').replace('\n', ' '));
+            line.append('\n');
+            Channels.newOutputStream(channel).write(line.toString().getBytes(StandardCharsets.UTF_8));
+
+            var body = new BufferedInputStream(Channels.newInputStream(channel));
+            String status = readLine(body);
+            if (status == null)
+                throw new IOException("No response from daemon");
+            if (status.startsWith("ERR"))
+                throw new IOException("Daemon: " + status.substring(3).trim());
+            if (!status.startsWith("OK"))
+                throw new IOException("Unexpected daemon response: " + status);
+            return new Response(channel, status.substring(2).trim(), body);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read one {@code \n}-terminated UTF-8 line; null at end of stream.
+     */
+    static String readLine(InputStream in) throws IOException {
+        var line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != -1 && b != '\n')
+            line.write(b);
+        if (b == -1 && line.size() == 0)
+            return null;
+        return line.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,264 @@
+package org.maverick.devtools.daemon;
+
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataCache;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.api.MetadataSnapshot;
+import org.maverick.devtools.batch.BatchGenerator;
+import org.maverick.devtools.batch.BatchManifest;
+import org.maverick.devtools.model.ProjectConfig;
+import org.maverick.devtools.ui.DependencyPicker;
+import org.maverick.devtools.util.ConfigStore;
+import org.maverick.devtools.util.DependencyUsage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in resident process for {@code --daemon}. It keeps the metadata, its
+ * binary snapshot, a JIT-warmed {@link DependencyPicker} and the HTTP client's
+ * open connections alive between invocations, and serves them over a Unix
+ * domain socket in the configuration directory. {@link DaemonClient} is the
+ * other end.
+ * <p>
+ * One request per connection: the client writes a single UTF-8 line, a command
+ * followed by tab-separated arguments, and the daemon answers with a status
+ * line, {@code OK} or {@code ERR <message>}, then the payload up to end of
+ * stream.
+ * <ul>
+ * <li>{@code PING}: {@code OK <pid>}, no payload</li>
+ * <li>{@code METADATA}: the metadata as a {@link MetadataSnapshot}</li>
+ * <li>{@code SEARCH <query>}: matching dependencies, best first, as
+ * {@code id<TAB>name} lines</li>
+ * <li>{@code BATCH <manifest> <output dir> <parallelism>}: the batch summary,
+ * then {@code EXIT <code>}</li>
+ * <li>{@code STOP}: shuts the daemon down</li>
+ * </ul>
+ */
+public final class DaemonServer implements AutoCloseable {
+
+    public static final Path DEFAULT_SOCKET = ConfigStore.DEFAULT_CONFIG_DIR.resolve("daemon.sock");
+    static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
+
+    /**
+     * Metadata and everything derived from it; replaced as a whole when a
+     * refresh brings new metadata.
+     */
+    private record Warm(InitializrMetadata.Metadata metadata, byte[] snapshot, DependencyPicker picker) {
+    }
+
+    private final Path socket;
+    private final InitializrClient client;
+    private final MetadataCache metadataCache;
+    private final ServerSocketChannel server;
+    private final ExecutorService workers = Executors.newCachedThreadPool(r -> daemonThread(r, "daemon-request"));
+    private final ScheduledExecutorService refresher = Executors
+            .newSingleThreadScheduledExecutor(r -> daemonThread(r, "daemon-refresh"));
+    private volatile Warm warm;
+
+    private DaemonServer(Path socket, InitializrClient client, MetadataCache metadataCache, ServerSocketChannel server,
+            InitializrMetadata.Metadata metadata) {
+        this.socket = socket;
+        this.client = client;
+        this.metadataCache = metadataCache;
+        this.server = server;
+        this.warm = warm(metadata);
+    }
+
+    /**
+     * Load metadata, from the service or, when it is unreachable, the cache,
+     * and bind {@code socket}. A socket file left behind by a daemon that died
+     * is replaced; one that still answers is an error. Call {@link #serve()} to
+     * start answering requests.
+     */
+    public static DaemonServer start(Path socket, InitializrClient client, MetadataCache metadataCache)
+            throws IOException, InterruptedException {
+        if (DaemonClient.find(socket) != null)
+            throw new IOException("A daemon is already running on " + socket);
+
+        InitializrMetadata.Metadata metadata;
+        try {
+            metadata = client.fetchMetadata();
+            metadataCache.save(metadata);
+        } catch (IOException e) {
+            metadata = InitializrClient.isUnreachable(e) ? metadataCache.load() : null;
+            if (metadata == null)
+                throw e;
+        }
+
+        Files.createDirectories(socket.getParent());
+        Files.deleteIfExists(socket);
+        var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            server.bind(UnixDomainSocketAddress.of(socket));
+            if (socket.getFileSystem().supportedFileAttributeViews().contains("posix"))
+                Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-------"));
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        return new DaemonServer(socket, client, metadataCache, server, metadata);
+    }
+
+    public Path getSocket() {
+        return socket;
+    }
+
+    /**
+     * Answer requests on the calling thread until {@code STOP} or
+     * {@link #close()}.
+     */
+    public void serve() throws IOException {
+        refresher.scheduleWithFixedDelay(this::refresh, REFRESH_INTERVAL.toMillis(), REFRESH_INTERVAL.toMillis(),
+                TimeUnit.MILLISECONDS);
+        workers.execute(() -> warmUpSearch(warm.picker()));
+        try {
+            while (true) {
+                SocketChannel channel = server.accept();
+                workers.execute(() -> handle(channel));
+            }
+        } catch (ClosedChannelException e) {
+            // Stopped
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        refresher.shutdownNow();
+        workers.shutdown();
+        server.close();
+        Files.deleteIfExists(socket);
+    }
+
+    private void handle(SocketChannel channel) {
+        try (channel; var out = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+            String request = DaemonClient.readLine(Channels.newInputStream(channel));
+            String[] parts = request != null ? request.split("\t", -1) : new String[] { "" };
+            try {
+                switch (parts[0]) {
+                    case "PING" -> writeLine(out, "OK " + ProcessHandle.current().pid());
+                    case "METADATA" -> {
+                        writeLine(out, "OK");
+                        out.write(warm.snapshot());
+                    }
+                    case "SEARCH" -> {
+                        var matches = search(parts.length > 1 ? parts[1] : "");
+                        writeLine(out, "OK");
+                        for (var dependency : matches)
+                            writeLine(out, dependency.id() + "\t" + dependency.name());
+                    }
+                    case "BATCH" -> {
+                        writeLine(out, "OK");
+                        out.flush();
+                        batch(parts, out);
+                    }
+                    case "STOP" -> {
+                        writeLine(out, "OK");
+                        out.flush();
+                        server.close();
+                    }
+                    default -> writeLine(out, "ERR Unknown command: " + parts[0]);
+                }
+            } catch (RuntimeException e) {
+                writeLine(out, "ERR " + e);
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private List<InitializrMetadata.Dependency> search(String query) {
+        var picker = warm.picker();
+        synchronized (picker) {
+            picker.setSearchQuery(query);
+            return picker.getListedDependencies();
+        }
+    }
+
+    private void batch(String[] parts, OutputStream out) {
+        var printer = new PrintStream(out, true, StandardCharsets.UTF_8);
+        int exitCode;
+        try {
+            if (parts.length < 4)
+                throw new IOException("BATCH needs a manifest, an output directory and a parallelism");
+            int parallelism = Integer.parseInt(parts[3]);
+            var manifest = BatchManifest.load(Path.of(parts[1]));
+            long start = System.nanoTime();
+            var results = new BatchGenerator(client, Path.of(parts[2]), parallelism).run(manifest);
+            printer.print(BatchGenerator.summary(results, System.nanoTime() - start, parallelism));
+            exitCode = results.stream().allMatch(BatchGenerator.Result::succeeded) ? 0 : 1;
+        } catch (Exception e) {
+            printer.println("Batch failed: " + e.getMessage());
+            exitCode = 1;
+        }
+        printer.println("EXIT " + exitCode);
+    }
+
+    private void refresh() {
+        try {
+            var metadata = client.fetchMetadata();
+            if (!metadata.equals(warm.metadata())) {
+                var fresh = warm(metadata);
+                warmUpSearch(fresh.picker());
+                warm = fresh;
+                metadataCache.save(metadata);
+            }
+        } catch (Exception e) {
+            // Keep serving what we have; tried again on the next interval
+        }
+    }
+
+    private static Warm warm(InitializrMetadata.Metadata metadata) {
+        var index = MetadataIndex.of(metadata);
+        var config = new ProjectConfig();
+        config.applyDefaults(metadata, index);
+        var picker = new DependencyPicker(index, config, new DependencyUsage());
+        return new Warm(metadata, MetadataSnapshot.encode(metadata), picker);
+    }
+
+    /**
+     * Search for every one- to four-character prefix of every dependency id so
+     * the scoring code is compiled before the first real query.
+     */
+    private static void warmUpSearch(DependencyPicker picker) {
+        synchronized (picker) {
+            var ids = picker.getListedDependencies().stream().map(InitializrMetadata.Dependency::id).toList();
+            for (String id : ids) {
+                for (int length = 1; length <= Math.min(4, id.length()); length++)
+                    picker.setSearchQuery(id.substring(0, length));
+            }
+            picker.setSearchQuery("");
+        }
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write((line.replace('\n', ' ') + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Thread daemonThread(Runnable r, String name) {
+        var thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,69 @@
+package org.maverick.devtools.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts a JFR recording to a file for the lifetime of the session, using the
+ * JDK's "default" settings plus the application events in this package.
+ */
+public final class FlightRecording implements AutoCloseable {
+
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Recording recording;
+    private final Path destination;
+
+    private FlightRecording(Recording recording, Path destination) {
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    /**
+     * Default recording file under the given directory, named by start time.
+     */
+    public static Path defaultDestination(Path dir) {
+        return dir.resolve("session-" + LocalDateTime.now().format(FILE_STAMP) + ".jfr");
+    }
+
+    public static FlightRecording start(Path destination) throws IOException {
+        Files.createDirectories(destination.toAbsolutePath().getParent());
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            recording = new Recording();
+        }
+        recording.setName("maverick-devtools");
+        recording.enable(HttpRequestEvent.class);
+        recording.enable(MetadataParseEvent.class);
+        recording.enable(ZipExtractEvent.class);
+        recording.enable(IdeDetectionEvent.class);
+        recording.enable(RenderFrameEvent.class);
+        recording.setToDisk(true);
+        recording.setDumpOnExit(true);
+        recording.setDestination(destination);
+        recording.start();
+        return new FlightRecording(recording, destination);
+    }
+
+    public Path destination() {
+        return destination;
+    }
+
+    /**
+     * Stop the recording, which writes it to the destination file.
+     */
+    @Override
+    public void close() {
+        recording.stop();
+        recording.close();
+    }
+}
@@ -0,0 +1,100 @@
+package org.maverick.devtools.diagnostics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Rolling statistics about element tree builds: build time, bytes allocated
+ * on the render thread and key-event-to-frame latency.
+ * Only touched from the render thread.
+ */
+public final class FrameStats {
+
+    static final int WINDOW = 120;
+
+    private final long[] buildNanos = new long[WINDOW];
+    private int samples = 0;
+    private int next = 0;
+
+    private final com.sun.management.ThreadMXBean threadBean = allocationBean();
+    private long frameStartNanos;
+    private long frameStartAllocated;
+
+    private long lastBuildNanos = 0;
+    private long lastAllocatedBytes = -1;
+    private long pendingKeyNanos = 0;
+    private long lastKeyToFrameNanos = -1;
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        } catch (UnsupportedOperationException | LinkageError e) {
+            // Not available (e.g. some native images); allocation stays unknown
+        }
+        return null;
+    }
+
+    public void frameStarted() {
+        frameStartNanos = System.nanoTime();
+        frameStartAllocated = threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Finish the frame started by {@link #frameStarted()}.
+     */
+    public void frameFinished() {
+        long now = System.nanoTime();
+        lastAllocatedBytes = frameStartAllocated >= 0
+                ? threadBean.getCurrentThreadAllocatedBytes() - frameStartAllocated
+                : -1;
+        recordBuild(now - frameStartNanos);
+
+        if (pendingKeyNanos != 0) {
+            lastKeyToFrameNanos = now - pendingKeyNanos;
+            pendingKeyNanos = 0;
+        }
+    }
+
+    /**
+     * Add a frame build time to the rolling window of the last {@link #WINDOW}.
+     */
+    void recordBuild(long nanos) {
+        lastBuildNanos = nanos;
+        buildNanos[next] = nanos;
+        next = (next + 1) % WINDOW;
+        samples = Math.min(samples + 1, WINDOW);
+    }
+
+    /**
+     * Note a key event; the next finished frame closes the latency measurement.
+     */
+    public void keyReceived() {
+        if (pendingKeyNanos == 0) {
+            pendingKeyNanos = System.nanoTime();
+        }
+    }
+
+    public long lastBuildNanos() {
+        return lastBuildNanos;
+    }
+
+    public long p95BuildNanos() {
+        if (samples == 0)
+            return 0;
+        long[] sorted = Arrays.copyOf(buildNanos, samples);
+        Arrays.sort(sorted);
+        return sorted[Math.max(0, (int) Math.ceil(samples * 0.95) - 1)];
+    }
+
+    public long lastAllocatedBytes() {
+        return lastAllocatedBytes;
+    }
+
+    public long lastKeyToFrameNanos() {
+        return lastKeyToFrameNanos;
+    }
+}
@@ -0,0 +1,38 @@
+package org.maverick.devtools.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One HTTP exchange with the Initializr API.
+ */
+@Name("org.maverick.devtools.HttpRequest")
+@Label("Initializr HTTP Request")
+@Category({ "Maverick DevTools", "Network" })
+@Description("Request sent by InitializrClient, from send to body received")
+public class HttpRequestEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Body Size")
+    @Description("Bytes of the response body; -1 when unknown, e.g. a compressed body read as a stream")
+    @DataAmount
+    public long bytes;
+
+    @Label("HTTP Version")
+    public String version;
+
+    @Label("Time to Headers")
+    @Description("From send until the response headers arrived; includes connection setup unless the connection was reused")
+    @Timespan(Timespan.NANOSECONDS)
+    public long timeToHeaders;
+}
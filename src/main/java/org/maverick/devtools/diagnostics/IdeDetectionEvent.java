@@ -0,0 +1,23 @@
+package org.maverick.devtools.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Scan for installed IDEs after generation.
+ */
+@Name("org.maverick.devtools.IdeDetection")
+@Label("IDE Detection")
+@Category({ "Maverick DevTools", "IDE" })
+@Description("Platform-specific scan for installed IDEs")
+public class IdeDetectionEvent extends Event {
+
+    @Label("Locator")
+    public String locator;
+
+    @Label("IDEs Found")
+    public int found;
+}
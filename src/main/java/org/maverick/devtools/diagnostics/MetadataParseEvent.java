@@ -0,0 +1,37 @@
+package org.maverick.devtools.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Deserialization of the Initializr metadata document.
+ */
+@Name("org.maverick.devtools.MetadataParse")
+@Label("Metadata Parse")
+@Category({ "Maverick DevTools", "Parsing" })
+@Description("Download and Jackson deserialization of the Initializr metadata document")
+public class MetadataParseEvent extends Event {
+
+    @Label("Document Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Transferred Size")
+    @Description("Bytes received on the wire, before decompression")
+    @DataAmount
+    public long transferredBytes;
+
+    @Label("Content Encoding")
+    public String encoding;
+
+    @Label("Dependencies")
+    public int dependencies;
+
+    @Label("Failure")
+    @Description("The exception that ended the parse; null when the document parsed")
+    public String failure;
+}
@@ -0,0 +1,21 @@
+package org.maverick.devtools.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call to the application's render(), building the element tree for the
+ * active screen.
+ */
+@Name("org.maverick.devtools.RenderFrame")
+@Label("Render Frame")
+@Category({ "Maverick DevTools", "UI" })
+@Description("Element tree build for one frame")
+public class RenderFrameEvent extends Event {
+
+    @Label("Screen")
+    public String screen;
+}
@@ -0,0 +1,173 @@
+package org.maverick.devtools.diagnostics;
+
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataCache;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.batch.BatchManifest;
+import org.maverick.devtools.model.ProjectConfig;
+import org.maverick.devtools.offline.OfflineGenerator;
+import org.maverick.devtools.ui.MainScreen;
+import org.maverick.devtools.util.ConfigStore;
+import org.maverick.devtools.util.DependencyUsage;
+import org.maverick.devtools.util.ProjectArchive;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Headless check for {@code --smoke-test}: runs every code path that depends on
+ * reflection or bundled resources once, without a terminal, so a native image
+ * built with stale reachability metadata fails at build time instead of in
+ * front of a user. Covers Jackson binding of the metadata, preferences and
+ * batch manifests, the metadata cache, previews, ZIP download and extraction,
+ * offline templates and building the main screen.
+ */
+public final class SmokeTest {
+
+    private interface Check {
+        String run() throws Exception;
+    }
+
+    private final PrintStream out;
+    private final Path workDir;
+    private final InitializrClient client = new InitializrClient();
+    private InitializrMetadata.Metadata metadata;
+    private MetadataIndex index;
+    private ProjectConfig config;
+    private int failures;
+
+    private SmokeTest(PrintStream out, Path workDir) {
+        this.out = out;
+        this.workDir = workDir;
+    }
+
+    /**
+     * Run all checks against the configured Initializr and return the process
+     * exit code: 0 when every check passed.
+     */
+    public static int run(PrintStream out) throws IOException {
+        Path workDir = Files.createTempDirectory("initializr-smoke");
+        try {
+            return new SmokeTest(out, workDir).runChecks();
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    private int runChecks() {
+        out.println("Smoke test against " + client.getBaseUrl());
+        check("Metadata fetch", () -> {
+            metadata = client.fetchMetadata();
+            index = MetadataIndex.of(metadata);
+            config = new ProjectConfig();
+            config.applyDefaults(metadata, index);
+            return metadata.dependencies().values().size() + " dependency categories";
+        });
+        if (metadata == null) {
+            out.println("Skipped remaining checks");
+            return 1;
+        }
+        check("Metadata cache", this::metadataCache);
+        check("Preferences", this::preferences);
+        check("Batch manifest", this::batchManifest);
+        check("Build file preview", () -> {
+            String pom = client.previewBuildFile(config, "maven-project");
+            require(pom.contains("<artifactId>"), "pom.xml without artifacts");
+            return pom.length() + " chars";
+        });
+        check("Project download", () -> {
+            Path dest = Files.createDirectories(workDir.resolve("download"));
+            try (var zip = client.openProjectZip(config)) {
+                ProjectArchive.extract(zip, dest, config.getApplicationFormat());
+            }
+            return count(dest) + " files";
+        });
+        check("Offline generation", () -> {
+            Path projectDir = new OfflineGenerator().generate(config, workDir.resolve("offline"));
+            return count(projectDir) + " files";
+        });
+        check("Main screen", () -> {
+            var usage = new DependencyUsage();
+            usage.record(List.of("web"), Instant.now());
+            var screen = new MainScreen(metadata, index, config, usage);
+            require(screen.render() != null, "no element");
+            return screen.getDependencyPicker().getListedDependencies().size() + " dependencies listed";
+        });
+        out.println(failures == 0 ? "Smoke test passed" : "Smoke test failed: " + failures + " check(s)");
+        return failures == 0 ? 0 : 1;
+    }
+
+    private String metadataCache() throws IOException {
+        var cache = new MetadataCache(workDir.resolve("cache/metadata.json"));
+        cache.save(metadata);
+        require(metadata.equals(cache.load()), "snapshot round trip");
+        Files.delete(cache.getSnapshotFile());
+        require(metadata.equals(cache.load()), "JSON round trip");
+        return "snapshot and JSON";
+    }
+
+    private String preferences() {
+        var store = new ConfigStore(workDir.resolve("config"));
+        var prefs = store.load();
+        prefs.setLastProjectType("maven-project");
+        prefs.getDependencyUsage().record(List.of("web", "actuator"), Instant.now());
+        store.save(prefs);
+        store.flush();
+        var loaded = new ConfigStore(workDir.resolve("config")).load();
+        require("maven-project".equals(loaded.getLastProjectType()), "project type not saved");
+        require(loaded.getDependencyUsage().countTogether("web", "actuator") == 1, "dependency usage not saved");
+        return "saved and reloaded";
+    }
+
+    private String batchManifest() throws IOException {
+        Path yaml = workDir.resolve("manifest.yaml");
+        Files.writeString(yaml, """
+                defaults:
+                  groupId: com.acme
+                projects:
+                  - artifactId: orders
+                    dependencies: [web]
+                """);
+        var manifest = BatchManifest.load(yaml);
+        require(manifest.projects().size() == 1 && "com.acme".equals(manifest.defaults().groupId()),
+                "YAML not bound");
+        return manifest.projects().size() + " project";
+    }
+
+    private void check(String name, Check check) {
+        long start = System.nanoTime();
+        try {
+            String detail = check.run();
+            out.printf("  ok    %-20s %8.1f ms  %s%n", name, (System.nanoTime() - start) / 1e6, detail);
+        } catch (Exception | LinkageError e) {
+            failures++;
+            out.printf("  FAIL  %-20s %s%n", name, e);
+            e.printStackTrace(out);
+        }
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition)
+            throw new IllegalStateException(message);
+    }
+
+    private static long count(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.maverick.devtools.diagnostics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records phase-level startup timings from JVM launch to the first rendered
+ * frame of the main screen. Phases recorded after the first frame are ignored,
+ * so code shared with later flows can report unconditionally.
+ */
+public final class StartupProfiler {
+
+    private static final StartupProfiler INSTANCE = new StartupProfiler();
+    static final long MAX_LOG_BYTES = 256 * 1024;
+
+    public record Phase(String name, long nanos) {
+    }
+
+    private final List<Phase> phases = new ArrayList<>();
+    private long mainNanos;
+    private long jvmToMainMillis = -1;
+    private long mainToFirstFrameNanos = -1;
+    private volatile boolean complete = false;
+
+    StartupProfiler() {
+    }
+
+    public static StartupProfiler get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Mark entry into {@code main}; the JVM start time comes from the process
+     * start instant.
+     */
+    public void markMain() {
+        mainNanos = System.nanoTime();
+        jvmToMainMillis = ProcessHandle.current().info().startInstant()
+                .map(start -> System.currentTimeMillis() - start.toEpochMilli())
+                .orElse(-1L);
+    }
+
+    /**
+     * Record a phase that started at {@code startNanos} and ends now.
+     */
+    public void record(String name, long startNanos) {
+        if (complete)
+            return;
+        long elapsed = System.nanoTime() - startNanos;
+        synchronized (phases) {
+            phases.add(new Phase(name, elapsed));
+        }
+    }
+
+    /**
+     * Record the first main screen frame and close the report.
+     */
+    public void firstFrame(long buildStartNanos) {
+        if (complete)
+            return;
+        record("First frame (MainScreen.render)", buildStartNanos);
+        if (mainNanos > 0)
+            mainToFirstFrameNanos = System.nanoTime() - mainNanos;
+        complete = true;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public List<Phase> phases() {
+        synchronized (phases) {
+            return List.copyOf(phases);
+        }
+    }
+
+    public String report() {
+        var sb = new StringBuilder();
+        sb.append("Startup report ").append(Instant.now())
+                .append(" (JDK ").append(Runtime.version())
+                .append(", ").append(System.getProperty("os.name")).append(")\n");
+        if (jvmToMainMillis >= 0) {
+            sb.append(String.format("  %-36s %9.1f ms%n", "JVM start -> main", (double) jvmToMainMillis));
+        }
+        for (var phase : phases()) {
+            sb.append(String.format("  %-36s %9.1f ms%n", phase.name(), phase.nanos() / 1e6));
+        }
+        if (mainToFirstFrameNanos >= 0) {
+            sb.append(String.format("  %-36s %9.1f ms%n", "Total: main -> first frame", mainToFirstFrameNanos / 1e6));
+        } else if (!complete) {
+            sb.append("  (main screen was never shown)\n");
+        }
+        long peakRss = peakRssKilobytes();
+        if (peakRss >= 0) {
+            sb.append(String.format("  %-36s %9.1f MB%n", "Peak RSS", peakRss / 1024.0));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Peak resident set size of this process so far, or -1 where the platform
+     * does not expose it (only Linux's /proc/self/status is read).
+     */
+    public static long peakRssKilobytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:"))
+                    return Long.parseLong(line.substring("VmHWM:".length()).replace("kB", "").trim());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux
+        }
+        return -1;
+    }
+
+    /**
+     * Append the report to a rolling log, keeping one previous generation once
+     * the log exceeds {@link #MAX_LOG_BYTES}.
+     */
+    public void appendToLog(Path logFile) {
+        try {
+            Files.createDirectories(logFile.getParent());
+            if (Files.exists(logFile) && Files.size(logFile) > MAX_LOG_BYTES) {
+                Files.move(logFile, logFile.resolveSibling(logFile.getFileName() + ".1"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(logFile, report() + "\n", StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // Diagnostics must never break the app
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.maverick.devtools.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Extraction of a project ZIP into memory or onto disk.
+ */
+@Name("org.maverick.devtools.ZipExtract")
+@Label("Project ZIP Extraction")
+@Category({ "Maverick DevTools", "Archive" })
+@Description("Extraction of a generated project ZIP")
+public class ZipExtractEvent extends Event {
+
+    @Label("Target")
+    @Description("memory for explore, disk for generate")
+    public String target;
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Uncompressed Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,34 @@
+package org.maverick.devtools.model;
+
+/**
+ * The build file of each Initializr project type.
+ */
+public enum BuildFileType {
+    MAVEN("pom.xml", "maven-project"),
+    GRADLE("build.gradle", "gradle-project"),
+    GRADLE_KTS("build.gradle.kts", "gradle-project-kotlin");
+
+    private final String fileName;
+    private final String projectType;
+
+    BuildFileType(String fileName, String projectType) {
+        this.fileName = fileName;
+        this.projectType = projectType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getProjectType() {
+        return projectType;
+    }
+
+    public static BuildFileType fromProjectType(String projectType) {
+        for (var type : values()) {
+            if (type.projectType.equals(projectType))
+                return type;
+        }
+        return MAVEN;
+    }
+}
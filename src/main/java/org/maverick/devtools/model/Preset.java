@@ -0,0 +1,38 @@
+package org.maverick.devtools.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * A named set of project settings and dependencies, saved with the user
+ * preferences and applied with {@link ProjectConfig#applyPreset}. The fields
+ * that name one project, artifact, name, description and package, are not
+ * part of a preset. Null fields leave the current value alone.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Preset(
+        @JsonProperty("name") String name,
+        @JsonProperty("type") String type,
+        @JsonProperty("language") String language,
+        @JsonProperty("bootVersion") String bootVersion,
+        @JsonProperty("groupId") String groupId,
+        @JsonProperty("packaging") String packaging,
+        @JsonProperty("javaVersion") String javaVersion,
+        @JsonProperty("applicationFormat") String applicationFormat,
+        @JsonProperty("dependencies") List<String> dependencies) {
+
+    public Preset {
+        dependencies = dependencies != null ? List.copyOf(dependencies) : List.of();
+    }
+
+    /**
+     * The current settings and dependencies of {@code config}, named {@code name}.
+     */
+    public static Preset of(String name, ProjectConfig config) {
+        return new Preset(name, config.getProjectType(), config.getLanguage(), config.getBootVersion(),
+                config.getGroupId(), config.getPackaging(), config.getJavaVersion(), config.getApplicationFormat(),
+                config.getSelectedDependencies());
+    }
+}
@@ -1,14 +1,22 @@
 package org.maverick.devtools.model;
 
 import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataIndex;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
+import java.util.StringJoiner;
 
 /**
  * Mutable state holding the current project configuration.
+ * <p>
+ * Not thread-safe: a configuration belongs to the thread that edits it, the UI
+ * thread for the live one. Work handed to other threads gets a {@link #copy()}
+ * taken on the owning thread.
  */
 public class ProjectConfig {
 
@@ -24,12 +32,51 @@ public class ProjectConfig {
     private String javaVersion = "25";
     private String applicationFormat = "properties";
 
-    private final Set<String> selectedDependencies = new LinkedHashSet<>();
+    // Selected dependencies as ordinals in the metadata index: a bit per
+    // dependency for membership and the ordinals in selection order. Ids the
+    // index does not list are numbered on from its end, in unknownIds.
+    private MetadataIndex index = MetadataIndex.EMPTY;
+    private final BitSet selected = new BitSet();
+    private int[] selectionOrder = new int[16];
+    private int selectionSize = 0;
+    private final List<String> unknownIds = new ArrayList<>();
+
+    // Bumped on every mutation so renderers can tell when cached output is stale
+    private long revision = 0;
+    // Memoized snapshot(); stale once its revision differs from the current one
+    private Snapshot snapshot;
+
+    /**
+     * Immutable view of a configuration at one revision, with dependencies sorted
+     * and the Initializr query string precomputed. Parameters appear in key order
+     * and dependencies in id order, so configurations that differ only in the
+     * order dependencies were picked produce the same query string. Two snapshots
+     * are equal when their query strings are; the revision is ignored, which makes
+     * snapshots usable as cache keys across configurations.
+     */
+    public record Snapshot(long revision, String projectType, String language, String bootVersion,
+            String groupId, String artifactId, String name, String description, String packageName,
+            String packaging, String javaVersion, String applicationFormat, List<String> dependencies,
+            String queryString) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Snapshot other && queryString.equals(other.queryString);
+        }
+
+        @Override
+        public int hashCode() {
+            // String caches its hash, so this is computed once per snapshot
+            return queryString.hashCode();
+        }
+    }
 
     /**
-     * Initialize defaults from API metadata.
+     * Initialize defaults from API metadata, numbering the selection by
+     * {@code index}, the index of that metadata.
      */
-    public void applyDefaults(InitializrMetadata.Metadata metadata) {
+    public void applyDefaults(InitializrMetadata.Metadata metadata, MetadataIndex index) {
+        reindex(index);
         if (metadata.type() != null)
             this.projectType = metadata.type().defaultOrFirst();
         if (metadata.language() != null)
@@ -52,6 +99,109 @@ public class ProjectConfig {
             this.javaVersion = metadata.javaVersion().defaultOrFirst();
         if (metadata.applicationFormat() != null)
             this.applicationFormat = metadata.applicationFormat().defaultOrFirst();
+        revision++;
+    }
+
+    /**
+     * The dependency index ordinals refer to; see
+     * {@link #isDependencySelected(int)}.
+     */
+    public MetadataIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Number the selection by {@code index}, keeping the selected ids and their
+     * order. Does nothing when it is already in use.
+     */
+    public void useIndex(MetadataIndex index) {
+        if (reindex(index))
+            revision++;
+    }
+
+    private boolean reindex(MetadataIndex index) {
+        if (index == this.index)
+            return false;
+        var ids = getSelectedDependencies();
+        this.index = index;
+        clearSelection();
+        for (String id : ids)
+            select(ordinalOf(id, true));
+        return true;
+    }
+
+    /**
+     * Monotonic counter incremented on every change to this configuration.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Snapshot of the current state; rebuilt only after the configuration changed.
+     */
+    public Snapshot snapshot() {
+        var current = snapshot;
+        if (current == null || current.revision() != revision) {
+            current = createSnapshot();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot createSnapshot() {
+        var dependencies = getSelectedDependencies();
+        dependencies.sort(null);
+        String cleanBoot = cleanBootVersion(bootVersion);
+
+        var params = new StringJoiner("&");
+        params.add("applicationFormat=" + encode(applicationFormat));
+        params.add("artifactId=" + encode(artifactId));
+        params.add("bootVersion=" + encode(cleanBoot));
+        if (!dependencies.isEmpty())
+            params.add("dependencies=" + encode(String.join(",", dependencies)));
+        params.add("description=" + encode(description));
+        params.add("groupId=" + encode(groupId));
+        params.add("javaVersion=" + encode(javaVersion));
+        params.add("language=" + encode(language));
+        params.add("name=" + encode(name));
+        params.add("packageName=" + encode(packageName));
+        params.add("packaging=" + encode(packaging));
+        params.add("type=" + encode(projectType));
+
+        return new Snapshot(revision, projectType, language, bootVersion, groupId, artifactId, name,
+                description, packageName, packaging, javaVersion, applicationFormat, List.copyOf(dependencies),
+                params.toString());
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Independent copy of the current state, e.g. to compare against later edits.
+     */
+    public ProjectConfig copy() {
+        var copy = new ProjectConfig();
+        copy.projectType = projectType;
+        copy.language = language;
+        copy.bootVersion = bootVersion;
+        copy.groupId = groupId;
+        copy.artifactId = artifactId;
+        copy.name = name;
+        copy.description = description;
+        copy.packageName = packageName;
+        copy.packaging = packaging;
+        copy.javaVersion = javaVersion;
+        copy.applicationFormat = applicationFormat;
+        copy.index = index;
+        copy.selected.or(selected);
+        copy.selectionOrder = Arrays.copyOf(selectionOrder, selectionOrder.length);
+        copy.selectionSize = selectionSize;
+        copy.unknownIds.addAll(unknownIds);
+        copy.revision = revision;
+        copy.snapshot = snapshot;
+        return copy;
     }
 
     /**
@@ -66,30 +216,145 @@ public class ProjectConfig {
                 .replace(".BUILD-SNAPSHOT", "-SNAPSHOT");
     }
 
-    public void toggleDependency(String depId) {
-        if (!selectedDependencies.remove(depId)) {
-            selectedDependencies.add(depId);
+    /**
+     * Apply a preset in a single step, validated against {@code metadata} and
+     * its {@code index}: the revision moves once, so renderers and caches never
+     * see half a preset.
+     * Options the metadata no longer offers keep their current value, and
+     * dependencies that are unknown or outside their version range for the
+     * resulting Boot version are left out. Returns what was skipped, one
+     * description per item.
+     */
+    public List<String> applyPreset(Preset preset, InitializrMetadata.Metadata metadata, MetadataIndex index) {
+        var skipped = new ArrayList<String>();
+        projectType = offered(metadata.type(), preset.type(), projectType, "Project", skipped);
+        language = offered(metadata.language(), preset.language(), language, "Language", skipped);
+        bootVersion = offered(metadata.bootVersion(), preset.bootVersion(), bootVersion, "Boot", skipped);
+        packaging = offered(metadata.packaging(), preset.packaging(), packaging, "Packaging", skipped);
+        javaVersion = offered(metadata.javaVersion(), preset.javaVersion(), javaVersion, "Java", skipped);
+        applicationFormat = offered(metadata.applicationFormat(), preset.applicationFormat(), applicationFormat,
+                "Config", skipped);
+        if (preset.groupId() != null && !preset.groupId().isBlank()) {
+            groupId = preset.groupId();
+            packageName = groupId + "." + artifactId;
+        }
+
+        reindex(index);
+        String boot = cleanBootVersion(bootVersion);
+        clearSelection();
+        for (String id : preset.dependencies()) {
+            var dependency = index.dependency(id);
+            if (dependency == null)
+                skipped.add(id + " (unknown)");
+            else if (!VersionRange.contains(dependency.versionRange(), boot))
+                skipped.add(id + " (not for Boot " + boot + ")");
+            else if (!selected.get(index.ordinal(id)))
+                select(index.ordinal(id));
         }
+        revision++;
+        return skipped;
+    }
+
+    private static String offered(InitializrMetadata.SelectField field, String value, String current, String label,
+            List<String> skipped) {
+        if (value == null || value.isEmpty())
+            return current;
+        if (field == null || field.values() == null || field.values().isEmpty())
+            return value;
+        for (var option : field.values()) {
+            if (option.id().equals(value))
+                return value;
+        }
+        skipped.add(label + " " + value);
+        return current;
+    }
+
+    public void toggleDependency(String depId) {
+        int ordinal = ordinalOf(depId, true);
+        if (selected.get(ordinal))
+            deselect(ordinal);
+        else
+            select(ordinal);
+        revision++;
     }
 
     public boolean isDependencySelected(String depId) {
-        return selectedDependencies.contains(depId);
+        int ordinal = ordinalOf(depId, false);
+        return ordinal >= 0 && selected.get(ordinal);
+    }
+
+    /**
+     * Whether the dependency with this ordinal in {@link #getIndex()} is
+     * selected; a single bit test.
+     */
+    public boolean isDependencySelected(int ordinal) {
+        return selected.get(ordinal);
     }
 
+    /**
+     * Selected dependency ids in the order they were selected.
+     */
     public List<String> getSelectedDependencies() {
-        return new ArrayList<>(selectedDependencies);
+        var ids = new ArrayList<String>(selectionSize);
+        for (int i = 0; i < selectionSize; i++)
+            ids.add(idOf(selectionOrder[i]));
+        return ids;
     }
 
     public int getSelectedCount() {
-        return selectedDependencies.size();
+        return selectionSize;
     }
 
     public void clearDependencies() {
-        selectedDependencies.clear();
+        clearSelection();
+        revision++;
+    }
+
+    private int ordinalOf(String id, boolean assign) {
+        int ordinal = index.ordinal(id);
+        if (ordinal >= 0)
+            return ordinal;
+        int unknown = unknownIds.indexOf(id);
+        if (unknown < 0) {
+            if (!assign)
+                return -1;
+            unknownIds.add(id);
+            unknown = unknownIds.size() - 1;
+        }
+        return index.size() + unknown;
+    }
+
+    private String idOf(int ordinal) {
+        return ordinal < index.size() ? index.id(ordinal) : unknownIds.get(ordinal - index.size());
+    }
+
+    private void select(int ordinal) {
+        selected.set(ordinal);
+        if (selectionSize == selectionOrder.length)
+            selectionOrder = Arrays.copyOf(selectionOrder, selectionSize * 2);
+        selectionOrder[selectionSize++] = ordinal;
+    }
+
+    private void deselect(int ordinal) {
+        selected.clear(ordinal);
+        for (int i = 0; i < selectionSize; i++) {
+            if (selectionOrder[i] == ordinal) {
+                System.arraycopy(selectionOrder, i + 1, selectionOrder, i, selectionSize - i - 1);
+                selectionSize--;
+                return;
+            }
+        }
+    }
+
+    private void clearSelection() {
+        selected.clear();
+        selectionSize = 0;
+        unknownIds.clear();
     }
 
     public void updatePackageName() {
         this.packageName = groupId + "." + artifactId;
+        revision++;
     }
 
     public String getProjectType() {
@@ -98,6 +363,7 @@ public class ProjectConfig {
 
     public void setProjectType(String projectType) {
         this.projectType = projectType;
+        revision++;
     }
 
     public String getLanguage() {
@@ -106,6 +372,7 @@ public class ProjectConfig {
 
     public void setLanguage(String language) {
         this.language = language;
+        revision++;
     }
 
     public String getBootVersion() {
@@ -114,6 +381,7 @@ public class ProjectConfig {
 
     public void setBootVersion(String bootVersion) {
         this.bootVersion = bootVersion;
+        revision++;
     }
 
     public String getGroupId() {
@@ -141,6 +409,7 @@ public class ProjectConfig {
 
     public void setName(String name) {
         this.name = name;
+        revision++;
     }
 
     public String getDescription() {
@@ -149,6 +418,7 @@ public class ProjectConfig {
 
     public void setDescription(String description) {
         this.description = description;
+        revision++;
     }
 
     public String getPackageName() {
@@ -157,6 +427,7 @@ public class ProjectConfig {
 
     public void setPackageName(String packageName) {
         this.packageName = packageName;
+        revision++;
     }
 
     public String getPackaging() {
@@ -165,6 +436,7 @@ public class ProjectConfig {
 
     public void setPackaging(String packaging) {
         this.packaging = packaging;
+        revision++;
     }
 
     public String getJavaVersion() {
@@ -173,6 +445,7 @@ public class ProjectConfig {
 
     public void setJavaVersion(String javaVersion) {
         this.javaVersion = javaVersion;
+        revision++;
     }
 
     public String getApplicationFormat() {
@@ -181,5 +454,6 @@ public class ProjectConfig {
 
     public void setApplicationFormat(String applicationFormat) {
         this.applicationFormat = applicationFormat;
+        revision++;
     }
 }
@@ -0,0 +1,90 @@
+package org.maverick.devtools.model;
+
+import java.util.Arrays;
+
+/**
+ * Spring Boot version ranges as they appear in the Initializr metadata, e.g.
+ * {@code [3.3.0,4.0.0-M1)} or {@code 3.4.0}, which means that version and
+ * anything later.
+ * <p>
+ * Versions compare by major, minor and patch, then by qualifier in release
+ * order: milestones, release candidates, snapshots, the release itself. The
+ * legacy {@code .BUILD-SNAPSHOT} and {@code .RELEASE} spellings rank with
+ * {@code -SNAPSHOT} and a plain version.
+ */
+public final class VersionRange {
+
+    private VersionRange() {
+    }
+
+    /**
+     * Whether {@code version} lies in {@code range}. A missing range allows
+     * every version, and so does anything that does not parse: a dependency is
+     * better offered than wrongly withheld.
+     */
+    public static boolean contains(String range, String version) {
+        if (range == null || range.isBlank() || version == null || version.isBlank())
+            return true;
+        String r = range.trim();
+        char open = r.charAt(0);
+        char close = r.charAt(r.length() - 1);
+        try {
+            if (open != '[' && open != '(')
+                return compare(version, r) >= 0;
+            int comma = r.indexOf(',');
+            if (comma < 0 || (close != ']' && close != ')'))
+                return true;
+            String low = r.substring(1, comma).trim();
+            String high = r.substring(comma + 1, r.length() - 1).trim();
+            int fromLow = compare(version, low);
+            if (fromLow < 0 || fromLow == 0 && open == '(')
+                return false;
+            if (high.isEmpty())
+                return true;
+            int fromHigh = compare(version, high);
+            return fromHigh < 0 || fromHigh == 0 && close == ']';
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Compare two versions; negative when {@code a} comes first.
+     *
+     * @throws NumberFormatException if either is not a version
+     */
+    public static int compare(String a, String b) {
+        return Arrays.compare(parse(a), parse(b));
+    }
+
+    // major, minor, patch, qualifier rank, qualifier number
+    private static long[] parse(String version) {
+        String[] parts = version.trim().split("[.-]", 4);
+        var parsed = new long[5];
+        int numbers = Math.min(3, parts.length);
+        for (int i = 0; i < numbers; i++) {
+            if (!parts[i].isEmpty() && !Character.isDigit(parts[i].charAt(0))) {
+                numbers = i;
+                break;
+            }
+            parsed[i] = Long.parseLong(parts[i]);
+        }
+        if (numbers == 0)
+            throw new NumberFormatException("Not a version: " + version);
+        String qualifier = numbers < parts.length
+                ? String.join("-", Arrays.copyOfRange(parts, numbers, parts.length)).toUpperCase()
+                : "";
+        int digits = qualifier.length();
+        while (digits > 0 && Character.isDigit(qualifier.charAt(digits - 1)))
+            digits--;
+        String kind = qualifier.substring(0, digits);
+        parsed[3] = switch (kind) {
+            case "M" -> 0;
+            case "RC" -> 1;
+            case "SNAPSHOT", "BUILD-SNAPSHOT" -> 2;
+            default -> 3;
+        };
+        parsed[4] = digits < qualifier.length() ? Long.parseLong(qualifier.substring(digits)) : 0;
+        return parsed;
+    }
+}
@@ -0,0 +1,557 @@
+package org.maverick.devtools.offline;
+
+import org.maverick.devtools.model.BuildFileType;
+import org.maverick.devtools.model.ProjectConfig;
+import org.maverick.devtools.model.VersionRange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds a project tree from templates bundled under {@code /offline} instead of
+ * asking start.spring.io for a ZIP. Produces the build file, main application
+ * class, test class and application config for Java, Kotlin and Groovy.
+ * <p>
+ * Dependency ids are mapped to Maven coordinates through
+ * {@code offline/dependencies.properties}. Selected ids must be in the metadata
+ * the configuration is indexed by, offered for its Boot version and listed in
+ * that table; anything else fails rather than guessing an artifact.
+ */
+public class OfflineGenerator {
+
+    private static final String TEMPLATE_DIR = "/offline/";
+    static final String DEPENDENCY_MANAGEMENT_PLUGIN_VERSION = "1.1.7";
+    static final String GMAVENPLUS_VERSION = "4.1.1";
+
+    enum Scope {
+        COMPILE, DEVELOPMENT_ONLY, RUNTIME, COMPILE_ONLY, ANNOTATION_PROCESSOR, TEST;
+
+        static Scope parse(String value) {
+            return switch (value) {
+                case "runtime" -> RUNTIME;
+                case "developmentOnly" -> DEVELOPMENT_ONLY;
+                case "compileOnly" -> COMPILE_ONLY;
+                case "annotationProcessor" -> ANNOTATION_PROCESSOR;
+                case "test" -> TEST;
+                default -> COMPILE;
+            };
+        }
+    }
+
+    record Coordinates(String groupId, String artifactId, Scope scope) {
+    }
+
+    // Spring Cloud release train per Spring Boot minor version
+    private static final Map<String, String> SPRING_CLOUD_VERSIONS = Map.of(
+            "3.2", "2023.0.5",
+            "3.3", "2023.0.5",
+            "3.4", "2024.0.1",
+            "3.5", "2025.0.0",
+            "4.0", "2025.1.0");
+
+    private final Map<String, String> coordinateTable;
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    public OfflineGenerator() {
+        this.coordinateTable = loadCoordinateTable();
+    }
+
+    /**
+     * Render the project into an ordered map of relative path to content, in the
+     * same shape as {@code ProjectArchive.extractToMap}: build file first,
+     * remaining files sorted alphabetically.
+     */
+    public LinkedHashMap<String, String> render(ProjectConfig config) {
+        String bootVersion = ProjectConfig.cleanBootVersion(config.getBootVersion());
+        if (bootVersion == null || bootVersion.isBlank())
+            throw new IllegalArgumentException("A Spring Boot version is required to generate offline");
+
+        checkDependencies(config, bootVersion);
+
+        var buildFile = BuildFileType.fromProjectType(config.getProjectType());
+        String language = config.getLanguage();
+        var dependencies = resolveDependencies(config.getSelectedDependencies(), language);
+        String className = className(config.getName());
+        String packageName = packageName(config.getPackageName());
+        String packagePath = packageName.replace('.', '/');
+        String extension = switch (language) {
+            case "kotlin" -> "kt";
+            case "groovy" -> "groovy";
+            default -> "java";
+        };
+        String sourceDir = switch (language) {
+            case "kotlin" -> "kotlin";
+            case "groovy" -> "groovy";
+            default -> "java";
+        };
+
+        String buildFileContent = switch (buildFile) {
+            case MAVEN -> pom(config, bootVersion, dependencies);
+            case GRADLE -> gradle(config, bootVersion, dependencies, false);
+            case GRADLE_KTS -> gradle(config, bootVersion, dependencies, true);
+        };
+
+        var files = new TreeMap<String, String>();
+        if (buildFile == BuildFileType.GRADLE)
+            files.put("settings.gradle", "rootProject.name = '" + groovyString(config.getArtifactId()) + "'\n");
+        if (buildFile == BuildFileType.GRADLE_KTS)
+            files.put("settings.gradle.kts", "rootProject.name = \"" + kotlinString(config.getArtifactId()) + "\"\n");
+        files.put(".gitignore", template("gitignore.tmpl"));
+
+        var classValues = Map.of("packageName", packageName, "className", className);
+        files.put("src/main/" + sourceDir + "/" + packagePath + "/" + className + "." + extension,
+                fill(template("Application." + extension + ".tmpl"), classValues));
+        files.put("src/test/" + sourceDir + "/" + packagePath + "/" + className + "Tests." + extension,
+                fill(template("ApplicationTests." + extension + ".tmpl"), classValues));
+
+        if ("yaml".equals(config.getApplicationFormat())) {
+            files.put("src/main/resources/application.yml",
+                    "spring:\n  application:\n    name: " + config.getName() + "\n");
+        } else {
+            files.put("src/main/resources/application.properties",
+                    "spring.application.name=" + config.getName() + "\n");
+        }
+
+        var result = new LinkedHashMap<String, String>();
+        result.put(buildFile.getFileName(), buildFileContent);
+        result.putAll(files);
+        return result;
+    }
+
+    /**
+     * Write the project under {@code destDir/<artifactId>}, the same layout a
+     * downloaded ZIP extracts to, and return that directory.
+     */
+    public Path generate(ProjectConfig config, Path destDir) throws IOException {
+        var files = render(config);
+        Path projectDir = destDir.resolve(config.getArtifactId()).normalize();
+        if (!projectDir.startsWith(destDir.normalize()) || projectDir.equals(destDir.normalize())) {
+            throw new IOException("Invalid artifactId: " + config.getArtifactId());
+        }
+        for (var file : files.entrySet()) {
+            Path target = projectDir.resolve(file.getKey());
+            Files.createDirectories(target.getParent());
+            Files.writeString(target, file.getValue());
+        }
+        return projectDir;
+    }
+
+    // --- build files ---
+
+    private String pom(ProjectConfig config, String bootVersion, List<Coordinates> dependencies) {
+        boolean cloud = usesSpringCloud(dependencies);
+        String language = config.getLanguage();
+
+        var deps = new StringBuilder();
+        for (var dep : dependencies) {
+            deps.append(indent("""
+                    <dependency>
+                        <groupId>%s</groupId>
+                        <artifactId>%s</artifactId>
+                    """.formatted(dep.groupId(), dep.artifactId()), 2));
+            switch (dep.scope()) {
+                case RUNTIME -> deps.append(indent("    <scope>runtime</scope>\n", 2));
+                case DEVELOPMENT_ONLY -> deps.append(indent("""
+                            <scope>runtime</scope>
+                            <optional>true</optional>
+                        """, 2));
+                case COMPILE_ONLY, ANNOTATION_PROCESSOR -> deps.append(indent("    <optional>true</optional>\n", 2));
+                case TEST -> deps.append(indent("    <scope>test</scope>\n", 2));
+                case COMPILE -> {
+                }
+            }
+            deps.append(indent("</dependency>\n", 2));
+        }
+
+        var values = new HashMap<String, String>();
+        values.put("bootVersion", bootVersion);
+        values.put("groupId", xml(config.getGroupId()));
+        values.put("artifactId", xml(config.getArtifactId()));
+        values.put("packaging", xml(config.getPackaging()));
+        values.put("name", xml(config.getName()));
+        values.put("description", xml(config.getDescription()));
+        values.put("javaVersion", config.getJavaVersion());
+        values.put("properties", cloud
+                ? indent("<spring-cloud.version>" + springCloudVersion(bootVersion) + "</spring-cloud.version>\n", 2)
+                : "");
+        values.put("dependencies", deps.toString());
+        values.put("dependencyManagement", cloud ? indent("""
+                <dependencyManagement>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework.cloud</groupId>
+                            <artifactId>spring-cloud-dependencies</artifactId>
+                            <version>${spring-cloud.version}</version>
+                            <type>pom</type>
+                            <scope>import</scope>
+                        </dependency>
+                    </dependencies>
+                </dependencyManagement>
+                """, 1) : "");
+        values.put("sourceDirectories", "kotlin".equals(language) ? indent("""
+                <sourceDirectory>${project.basedir}/src/main/kotlin</sourceDirectory>
+                <testSourceDirectory>${project.basedir}/src/test/kotlin</testSourceDirectory>
+                """, 2) : "");
+        values.put("plugins", switch (language) {
+            case "kotlin" -> indent("""
+                    <plugin>
+                        <groupId>org.jetbrains.kotlin</groupId>
+                        <artifactId>kotlin-maven-plugin</artifactId>
+                        <configuration>
+                            <args>
+                                <arg>-Xjsr305=strict</arg>
+                            </args>
+                            <compilerPlugins>
+                                <plugin>spring</plugin>
+                            </compilerPlugins>
+                        </configuration>
+                        <dependencies>
+                            <dependency>
+                                <groupId>org.jetbrains.kotlin</groupId>
+                                <artifactId>kotlin-maven-allopen</artifactId>
+                                <version>${kotlin.version}</version>
+                            </dependency>
+                        </dependencies>
+                    </plugin>
+                    """, 3);
+            case "groovy" -> indent("""
+                    <plugin>
+                        <groupId>org.codehaus.gmavenplus</groupId>
+                        <artifactId>gmavenplus-plugin</artifactId>
+                        <version>%s</version>
+                        <executions>
+                            <execution>
+                                <goals>
+                                    <goal>addSources</goal>
+                                    <goal>addTestSources</goal>
+                                    <goal>generateStubs</goal>
+                                    <goal>compile</goal>
+                                    <goal>generateTestStubs</goal>
+                                    <goal>compileTests</goal>
+                                    <goal>removeStubs</goal>
+                                    <goal>removeTestStubs</goal>
+                                </goals>
+                            </execution>
+                        </executions>
+                    </plugin>
+                    """.formatted(GMAVENPLUS_VERSION), 3);
+            default -> "";
+        });
+        values.put("bootPluginConfiguration", hasDependency(dependencies, "org.projectlombok", "lombok") ? indent("""
+                <configuration>
+                    <excludes>
+                        <exclude>
+                            <groupId>org.projectlombok</groupId>
+                            <artifactId>lombok</artifactId>
+                        </exclude>
+                    </excludes>
+                </configuration>
+                """, 4) : "");
+        return fill(template("pom.xml.tmpl"), values);
+    }
+
+    private String gradle(ProjectConfig config, String bootVersion, List<Coordinates> dependencies, boolean kotlinDsl) {
+        String language = config.getLanguage();
+        String kotlinVersion = kotlinVersion(bootVersion);
+
+        var plugins = new StringBuilder();
+        switch (language) {
+            case "kotlin" -> plugins.append(kotlinDsl
+                    ? "\tkotlin(\"jvm\") version \"" + kotlinVersion + "\"\n\tkotlin(\"plugin.spring\") version \""
+                            + kotlinVersion + "\"\n"
+                    : "\tid 'org.jetbrains.kotlin.jvm' version '" + kotlinVersion
+                            + "'\n\tid 'org.jetbrains.kotlin.plugin.spring' version '" + kotlinVersion + "'\n");
+            case "groovy" -> plugins.append(kotlinDsl ? "\tgroovy\n" : "\tid 'groovy'\n");
+            default -> plugins.append(kotlinDsl ? "\tjava\n" : "\tid 'java'\n");
+        }
+        if ("war".equals(config.getPackaging()))
+            plugins.append(kotlinDsl ? "\twar\n" : "\tid 'war'\n");
+
+        var deps = new StringBuilder();
+        boolean compileOnly = false;
+        for (var dep : dependencies) {
+            String coordinates = dep.groupId() + ":" + dep.artifactId();
+            switch (dep.scope()) {
+                case COMPILE -> deps.append(gradleDependency("implementation", coordinates, kotlinDsl));
+                case DEVELOPMENT_ONLY -> deps.append(gradleDependency("developmentOnly", coordinates, kotlinDsl));
+                case RUNTIME -> deps.append(gradleDependency("runtimeOnly", coordinates, kotlinDsl));
+                case COMPILE_ONLY -> {
+                    compileOnly = true;
+                    deps.append(gradleDependency("compileOnly", coordinates, kotlinDsl));
+                    deps.append(gradleDependency("annotationProcessor", coordinates, kotlinDsl));
+                }
+                case ANNOTATION_PROCESSOR -> deps.append(gradleDependency("annotationProcessor", coordinates, kotlinDsl));
+                case TEST -> deps.append(gradleDependency("testImplementation", coordinates, kotlinDsl));
+            }
+        }
+        deps.append(gradleDependency("testRuntimeOnly", "org.junit.platform:junit-platform-launcher", kotlinDsl));
+
+        String bom = "org.springframework.cloud:spring-cloud-dependencies:" + springCloudVersion(bootVersion);
+        var values = new HashMap<String, String>();
+        values.put("plugins", plugins.toString());
+        values.put("bootVersion", bootVersion);
+        values.put("dependencyManagementPluginVersion", DEPENDENCY_MANAGEMENT_PLUGIN_VERSION);
+        values.put("groupId", kotlinDsl ? kotlinString(config.getGroupId()) : groovyString(config.getGroupId()));
+        values.put("description", kotlinDsl ? kotlinString(config.getDescription())
+                : groovyString(config.getDescription()));
+        values.put("javaVersion", config.getJavaVersion());
+        values.put("configurations", !compileOnly ? "" : indent("""
+                configurations {
+                    compileOnly {
+                        %s
+                    }
+                }
+
+                """.formatted(kotlinDsl
+                ? "extendsFrom(configurations.annotationProcessor.get())"
+                : "extendsFrom annotationProcessor"), 0));
+        values.put("dependencies", deps.toString());
+        values.put("dependencyManagement", !usesSpringCloud(dependencies) ? "" : indent("""
+
+                dependencyManagement {
+                    imports {
+                        %s
+                    }
+                }
+                """.formatted(kotlinDsl ? "mavenBom(\"" + bom + "\")" : "mavenBom '" + bom + "'"), 0));
+        return fill(template(kotlinDsl ? "build.gradle.kts.tmpl" : "build.gradle.tmpl"), values);
+    }
+
+    private static String gradleDependency(String configuration, String coordinates, boolean kotlinDsl) {
+        return kotlinDsl
+                ? "\t" + configuration + "(\"" + coordinates + "\")\n"
+                : "\t" + configuration + " '" + coordinates + "'\n";
+    }
+
+    // --- dependencies ---
+
+    /**
+     * Map the selected ids to coordinates, add the language, packaging and test
+     * dependencies Initializr adds itself, and order them by scope.
+     */
+    List<Coordinates> resolveDependencies(List<String> ids, String language) {
+        var resolved = new ArrayList<Coordinates>();
+        for (String id : ids) {
+            var coordinates = coordinates(id);
+            if (coordinates != null && !resolved.contains(coordinates))
+                resolved.add(coordinates);
+        }
+        boolean hasStarter = resolved.stream()
+                .anyMatch(c -> c.scope() == Scope.COMPILE && c.artifactId().contains("-starter"));
+        if (!hasStarter)
+            resolved.add(0, new Coordinates("org.springframework.boot", "spring-boot-starter", Scope.COMPILE));
+        switch (language) {
+            case "kotlin" -> {
+                resolved.add(new Coordinates("org.jetbrains.kotlin", "kotlin-reflect", Scope.COMPILE));
+                resolved.add(new Coordinates("org.jetbrains.kotlin", "kotlin-stdlib", Scope.COMPILE));
+            }
+            case "groovy" -> resolved.add(new Coordinates("org.apache.groovy", "groovy", Scope.COMPILE));
+            default -> {
+            }
+        }
+        resolved.add(new Coordinates("org.springframework.boot", "spring-boot-starter-test", Scope.TEST));
+        if ("kotlin".equals(language))
+            resolved.add(new Coordinates("org.jetbrains.kotlin", "kotlin-test-junit5", Scope.TEST));
+        resolved.sort(Comparator.comparing(Coordinates::scope));
+        return resolved;
+    }
+
+    /**
+     * Fail unless every selected id is in the metadata the configuration is
+     * indexed by, offered for {@code bootVersion} and has coordinates in the
+     * table; the message names each one that is not.
+     */
+    void checkDependencies(ProjectConfig config, String bootVersion) {
+        var index = config.getIndex();
+        var problems = new ArrayList<String>();
+        for (String id : config.getSelectedDependencies()) {
+            var dependency = index.dependency(id);
+            if (dependency == null)
+                problems.add(id + " is not in the cached metadata");
+            else if (!VersionRange.contains(dependency.versionRange(), bootVersion))
+                problems.add(dependency.name() + " is not available for Spring Boot " + bootVersion);
+            else if (!coordinateTable.containsKey(id))
+                problems.add(dependency.name() + " (" + id + ") has no bundled coordinates");
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Cannot generate offline: " + String.join("; ", problems)
+                    + "; generate the project online");
+        }
+    }
+
+    /**
+     * Coordinates for one dependency id, or null for ids that only affect build
+     * plugins.
+     */
+    Coordinates coordinates(String id) {
+        String value = coordinateTable.get(id);
+        if (value == null)
+            throw new IllegalArgumentException("No offline coordinates for dependency " + id);
+        if (value.equals("none"))
+            return null;
+        String[] parts = value.split(":");
+        return new Coordinates(parts[0], parts[1], parts.length > 2 ? Scope.parse(parts[2]) : Scope.COMPILE);
+    }
+
+    private static boolean usesSpringCloud(List<Coordinates> dependencies) {
+        return dependencies.stream().anyMatch(c -> c.groupId().equals("org.springframework.cloud"));
+    }
+
+    private static boolean hasDependency(List<Coordinates> dependencies, String groupId, String artifactId) {
+        return dependencies.stream().anyMatch(c -> c.groupId().equals(groupId) && c.artifactId().equals(artifactId));
+    }
+
+    // Versions of things the Spring Boot parent does not manage, per Boot generation
+    private static String kotlinVersion(String bootVersion) {
+        return bootVersion.startsWith("3.") ? "1.9.25" : "2.2.21";
+    }
+
+    /**
+     * The Spring Cloud release train start.spring.io pairs with the Boot minor
+     * version; each train only supports the Boot versions it was built for.
+     */
+    static String springCloudVersion(String bootVersion) {
+        String[] parts = bootVersion.split("\\.");
+        String version = parts.length > 1 ? SPRING_CLOUD_VERSIONS.get(parts[0] + "." + parts[1]) : null;
+        if (version == null) {
+            throw new IllegalArgumentException("No Spring Cloud release is known for Spring Boot " + bootVersion
+                    + "; generate the project online");
+        }
+        return version;
+    }
+
+    // --- names ---
+
+    /**
+     * Application class name derived from the project name the way Initializr
+     * does it, e.g. "my-service" becomes "MyServiceApplication".
+     */
+    static String className(String name) {
+        var sb = new StringBuilder();
+        for (String part : (name != null ? name : "").split("[^A-Za-z0-9]+")) {
+            if (part.isEmpty())
+                continue;
+            sb.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+        }
+        if (sb.isEmpty() || !Character.isJavaIdentifierStart(sb.charAt(0)))
+            return "Application";
+        return sb.append("Application").toString();
+    }
+
+    /**
+     * Drop characters that are not valid in a Java package name, e.g. the
+     * hyphen in "com.example.my-service".
+     */
+    static String packageName(String packageName) {
+        var segments = new ArrayList<String>();
+        for (String segment : packageName.split("\\.")) {
+            var sb = new StringBuilder();
+            for (char c : segment.toCharArray()) {
+                if (Character.isJavaIdentifierPart(c))
+                    sb.append(c);
+            }
+            if (sb.isEmpty())
+                continue;
+            if (!Character.isJavaIdentifierStart(sb.charAt(0)))
+                sb.insert(0, '_');
+            segments.add(sb.toString());
+        }
+        return segments.isEmpty() ? "com.example" : String.join(".", segments);
+    }
+
+    // --- templates ---
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, n -> readResource(TEMPLATE_DIR + n));
+    }
+
+    /**
+     * Replace {@code {{key}}} placeholders; a placeholder without a value is a bug
+     * in the template, so it fails loudly.
+     */
+    static String fill(String template, Map<String, String> values) {
+        var sb = new StringBuilder(template.length() + 256);
+        int from = 0;
+        int open;
+        while ((open = template.indexOf("{{", from)) >= 0) {
+            int close = template.indexOf("}}", open);
+            String key = template.substring(open + 2, close);
+            String value = values.get(key);
+            if (value == null)
+                throw new IllegalStateException("No value for template placeholder " + key);
+            sb.append(template, from, open).append(value);
+            from = close + 2;
+        }
+        return sb.append(template, from, template.length()).toString();
+    }
+
+    /**
+     * Re-indent a text block written with four-space steps using tabs, starting
+     * at the given depth, to match the Initializr output.
+     */
+    private static String indent(String block, int depth) {
+        var sb = new StringBuilder(block.length() + 32);
+        for (String line : block.split("\n", -1)) {
+            if (line.isEmpty()) {
+                sb.append('\n');
+                continue;
+            }
+            int spaces = 0;
+            while (spaces < line.length() && line.charAt(spaces) == ' ')
+                spaces++;
+            sb.append("\t".repeat(depth + spaces / 4)).append(line, spaces, line.length()).append('\n');
+        }
+        // split() keeps the empty tail after the final newline; don't double it
+        sb.setLength(sb.length() - 1);
+        return sb.toString();
+    }
+
+    private Map<String, String> loadCoordinateTable() {
+        var properties = new Properties();
+        try (InputStream in = OfflineGenerator.class.getResourceAsStream(TEMPLATE_DIR + "dependencies.properties")) {
+            if (in != null)
+                properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        var table = new HashMap<String, String>();
+        for (String id : properties.stringPropertyNames())
+            table.put(id, properties.getProperty(id).trim());
+        return table;
+    }
+
+    private static String readResource(String name) {
+        try (InputStream in = OfflineGenerator.class.getResourceAsStream(name)) {
+            if (in == null)
+                throw new IllegalStateException("Missing template " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String xml(String value) {
+        return value == null ? "" : value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String groovyString(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+
+    private static String kotlinString(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("$", "\\$");
+    }
+}
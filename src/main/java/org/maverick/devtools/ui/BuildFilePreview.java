@@ -0,0 +1,155 @@
+package org.maverick.devtools.ui;
+
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.model.BuildFileType;
+import org.maverick.devtools.model.ProjectConfig;
+
+import java.net.URI;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State behind the build file preview pane on the main screen.
+ * <p>
+ * Configuration changes are debounced: the request for {@code /pom.xml} or
+ * {@code /build.gradle} only goes out once edits have settled for
+ * {@link #DEBOUNCE_MILLIS}, and a newer change cancels both the pending timer
+ * and any request still in flight. Previews already in the client's LRU cache
+ * are shown immediately.
+ */
+public class BuildFilePreview {
+
+    static final long DEBOUNCE_MILLIS = 300;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "preview-debounce");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final InitializrClient client;
+    private final ProjectConfig config;
+
+    private boolean visible;
+    private long requestedRevision = -1;
+    private URI requestedUri;
+    private ScheduledFuture<?> pendingTimer;
+    private CompletableFuture<String> inFlight;
+
+    private volatile String fileName = "";
+    private volatile String content = "";
+    private volatile String status = "";
+    // Bumped whenever what the pane shows changes, for MainScreen's render cache
+    private volatile long version = 0;
+
+    public BuildFilePreview(InitializrClient client, ProjectConfig config) {
+        this.client = client;
+        this.config = config;
+    }
+
+    public synchronized void toggle() {
+        visible = !visible;
+        if (!visible) {
+            cancelPending();
+            requestedRevision = -1;
+            requestedUri = null;
+        }
+        version++;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * Empty when the content is current, otherwise a short "updating" or error
+     * message.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Called on the render thread; schedules a refresh if the configuration
+     * changed since the last request.
+     */
+    public synchronized void update() {
+        if (!visible || config.getRevision() == requestedRevision)
+            return;
+        requestedRevision = config.getRevision();
+
+        // Not every revision changes the query, e.g. re-selecting the same option
+        URI uri = client.buildFileUri(config, config.getProjectType());
+        if (uri.equals(requestedUri))
+            return;
+        cancelPending();
+        requestedUri = uri;
+        String name = BuildFileType.fromProjectType(config.getProjectType()).getFileName();
+
+        String cached = client.cachedPreview(uri);
+        if (cached != null) {
+            show(name, cached, "");
+            return;
+        }
+        show(fileName, content, "Updating…");
+        pendingTimer = SCHEDULER.schedule(() -> fetch(uri, name), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void fetch(URI uri, String name) {
+        if (!uri.equals(requestedUri))
+            return;
+        pendingTimer = null;
+        inFlight = client.previewBuildFileAsync(uri);
+        inFlight.whenComplete((body, error) -> complete(uri, name, body, error));
+    }
+
+    private synchronized void complete(URI uri, String name, String body, Throwable error) {
+        // A newer configuration has been requested since; drop the stale answer
+        if (!uri.equals(requestedUri))
+            return;
+        inFlight = null;
+        if (error == null) {
+            show(name, body, "");
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException)
+            return;
+        show(fileName, content, "Preview unavailable: " + cause.getMessage());
+    }
+
+    private void cancelPending() {
+        if (pendingTimer != null) {
+            pendingTimer.cancel(false);
+            pendingTimer = null;
+        }
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+
+    private void show(String fileName, String content, String status) {
+        this.fileName = fileName;
+        this.content = content;
+        this.status = status;
+        version++;
+    }
+}
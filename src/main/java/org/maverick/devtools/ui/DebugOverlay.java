@@ -0,0 +1,50 @@
+package org.maverick.devtools.ui;
+
+import org.maverick.devtools.diagnostics.FrameStats;
+import org.maverick.devtools.util.AppColors;
+import dev.tamboui.toolkit.element.Element;
+
+import static dev.tamboui.toolkit.Toolkit.*;
+
+/**
+ * One-line overlay with render cost figures from {@link FrameStats}.
+ * Toggled with Alt+D or enabled at launch with --debug-overlay.
+ */
+public class DebugOverlay {
+
+    private final FrameStats stats;
+    private boolean visible;
+
+    public DebugOverlay(FrameStats stats, boolean visible) {
+        this.stats = stats;
+        this.visible = visible;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void toggle() {
+        visible = !visible;
+    }
+
+    public Element render() {
+        String alloc = stats.lastAllocatedBytes() >= 0 ? formatBytes(stats.lastAllocatedBytes()) : "n/a";
+        String keyLatency = stats.lastKeyToFrameNanos() >= 0
+                ? String.format("%.1fms", stats.lastKeyToFrameNanos() / 1e6)
+                : "n/a";
+        return row(
+                text(String.format(" frame %.2fms  p95 %.2fms  alloc %s  key→frame %s ",
+                        stats.lastBuildNanos() / 1e6, stats.p95BuildNanos() / 1e6, alloc, keyLatency))
+                        .fg(AppColors.BRAND_GOLD),
+                spacer()).length(1).id("debug-overlay");
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024)
+            return bytes + "B";
+        if (bytes < 1024 * 1024)
+            return String.format("%.1fKB", bytes / 1024.0);
+        return String.format("%.1fMB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -1,11 +1,14 @@
 package org.maverick.devtools.ui;
 
 import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataIndex;
 import org.maverick.devtools.model.ProjectConfig;
 import org.maverick.devtools.util.AppColors;
+import org.maverick.devtools.util.DependencyUsage;
 import dev.tamboui.style.Color;
 import dev.tamboui.toolkit.element.Element;
 
+import java.time.Instant;
 import java.util.*;
 
 import static dev.tamboui.toolkit.Toolkit.*;
@@ -22,40 +25,135 @@ public class DependencyPicker {
 
     private final List<InitializrMetadata.DependencyCategory> categories;
     private final ProjectConfig config;
-    private final Map<String, InitializrMetadata.Dependency> depLookup;
-    private final List<List<String>> recentDependencies;
+    // Shared with the config, so list items carry ordinals that select by bit
+    private final MetadataIndex index;
+    // Ordinals of the most frequently used first, and the search boost of every
+    // dependency by ordinal
+    private final int[] frequentOrdinals;
+    private final int[] searchBoosts;
+
+    // Suggestions for the current selection, recomputed when the config
+    // revision moves on
+    private final DependencySuggestions suggestions;
+    private List<String> suggestedIds = List.of();
+    private long syncedRevision = -1;
     private String searchQuery = "";
     private int cursorIndex = 0;
     private final List<FlatItem> flatItems = new ArrayList<>();
+    // The selected summary above the list
+    static final int SUMMARY_ROWS = 1;
+    // Rows of the list that fit on screen, as of the last layout; paging uses
+    // this until the first one
+    static final int DEFAULT_VIEWPORT_ROWS = 20;
+    private int viewportRows = DEFAULT_VIEWPORT_ROWS;
+    private final VirtualList view = new VirtualList(DEFAULT_VIEWPORT_ROWS);
+    private final Viewport viewport = new Viewport(this::render);
+
+    static final String FREQUENTLY_USED = "\u2605 Frequently Used";
+    static final int FREQUENT_LIMIT = 10;
+    static final String SUGGESTED = "\u2726 Suggested";
+    static final int SUGGESTION_LIMIT = 5;
+    // Added to the match score of used dependencies; grows with the usage score
+    // but stays far below the 1000 bonus of a substring match, so it only
+    // reorders comparable matches
+    static final int MAX_SEARCH_BOOST = 60;
 
     // Category filter state
     private int activeCategoryIndex = -1; // -1 = show all
 
+    // Bumped whenever the list, cursor or filter changes; see getVersion()
+    private long version = 0;
+    private final ElementCache renderCache = new ElementCache();
+
+    // Highlighted search result rows, built once per query and reused by later
+    // frames; indexed by ordinal * 4 + row state (cursor, selected)
+    private Element[] highlightedRows;
+    private String highlightedQuery = "";
+    // Highlighted rows built so far, as opposed to reused
+    private int highlightedRowBuilds = 0;
+
+    // Match runs of the query being scored, before they are copied out
+    private int[] runScratch = new int[0];
+
+    /**
+     * One list row: a category header, or a dependency with its ordinal in the
+     * index and, in search results, the runs of its name that matched as
+     * ascending {@code [start, end)} pairs.
+     */
     public record FlatItem(String categoryName, InitializrMetadata.Dependency dependency, boolean isCategory,
-            int[] matchPositions) {
-        public FlatItem(String categoryName, InitializrMetadata.Dependency dependency, boolean isCategory) {
-            this(categoryName, dependency, isCategory, null);
+            int ordinal, int[] matchRuns) {
+        static FlatItem header(String categoryName) {
+            return new FlatItem(categoryName, null, true, -1, null);
         }
     }
 
-    public DependencyPicker(List<InitializrMetadata.DependencyCategory> categories, ProjectConfig config,
-            List<List<String>> recentDependencies) {
-        this.categories = categories;
+    public DependencyPicker(MetadataIndex index, ProjectConfig config, DependencyUsage usage) {
+        this.categories = index.categories();
         this.config = config;
-        this.recentDependencies = recentDependencies != null ? recentDependencies : List.of();
 
-        // Build lookup map for resolving dep IDs
-        this.depLookup = new HashMap<>();
-        for (var category : categories) {
-            for (var dep : category.values()) {
-                depLookup.put(dep.id(), dep);
+        this.index = index;
+        config.useIndex(index);
+
+        this.searchBoosts = new int[index.size()];
+        var frequent = new int[FREQUENT_LIMIT];
+        int frequentCount = 0;
+        if (usage != null) {
+            var now = Instant.now();
+            for (String id : usage.byScore(now)) {
+                int ordinal = index.ordinal(id);
+                if (ordinal < 0)
+                    continue;
+                if (frequentCount < FREQUENT_LIMIT)
+                    frequent[frequentCount++] = ordinal;
+                double score = usage.score(id, now);
+                searchBoosts[ordinal] = (int) Math.round(MAX_SEARCH_BOOST * score / (score + 2));
             }
         }
+        this.frequentOrdinals = Arrays.copyOf(frequent, frequentCount);
+        this.suggestions = new DependencySuggestions(usage);
 
+        syncSuggestions();
         rebuildFlatList();
     }
 
+    /**
+     * Update the suggestions after the selection changed. When they differ, the
+     * list is rebuilt with the cursor kept on the same entry if it is still
+     * listed, otherwise at the same position, so toggling one suggestion after
+     * another works without moving.
+     */
+    private void syncSuggestions() {
+        if (config.getRevision() == syncedRevision)
+            return;
+        syncedRevision = config.getRevision();
+        suggestions.sync(config.getSelectedDependencies());
+        var top = suggestions.top(SUGGESTION_LIMIT, id -> index.ordinal(id) >= 0);
+        if (top.equals(suggestedIds))
+            return;
+        suggestedIds = top;
+        if (!searchQuery.isEmpty() || activeCategoryIndex >= 0 || flatItems.isEmpty())
+            return;
+
+        version++;
+        var current = cursorIndex < flatItems.size() ? flatItems.get(cursorIndex) : null;
+        rebuildFlatList();
+        int position = current != null ? flatItems.indexOf(current) : -1;
+        cursorIndex = position >= 0 ? position : Math.max(0, Math.min(cursorIndex, flatItems.size() - 1));
+        while (cursorIndex < flatItems.size() - 1 && flatItems.get(cursorIndex).isCategory()) {
+            cursorIndex++;
+        }
+    }
+
+    /**
+     * Monotonic counter incremented whenever the visible list or cursor changes.
+     * Selection state lives in {@link ProjectConfig#getRevision()}.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     public void setSearchQuery(String query) {
+        version++;
         this.searchQuery = query.toLowerCase().trim();
         if (!searchQuery.isEmpty()) {
             activeCategoryIndex = -1; // clear category filter when searching
@@ -72,12 +170,33 @@ public class DependencyPicker {
         return searchQuery;
     }
 
+    int getHighlightedRowBuilds() {
+        return highlightedRowBuilds;
+    }
+
+    int getViewportHeight() {
+        return viewportRows;
+    }
+
+    /**
+     * Dependencies currently listed, in display order.
+     */
+    public List<InitializrMetadata.Dependency> getListedDependencies() {
+        var listed = new ArrayList<InitializrMetadata.Dependency>();
+        for (var item : flatItems) {
+            if (!item.isCategory())
+                listed.add(item.dependency());
+        }
+        return listed;
+    }
+
     public boolean isAtTop() {
         return cursorIndex <= 0;
     }
 
     public void moveUp() {
         if (cursorIndex > 0) {
+            version++;
             cursorIndex--;
             while (cursorIndex > 0 && flatItems.get(cursorIndex).isCategory()) {
                 cursorIndex--;
@@ -87,6 +206,7 @@ public class DependencyPicker {
 
     public void moveDown() {
         if (cursorIndex < flatItems.size() - 1) {
+            version++;
             cursorIndex++;
             while (cursorIndex < flatItems.size() - 1 && flatItems.get(cursorIndex).isCategory()) {
                 cursorIndex++;
@@ -94,11 +214,24 @@ public class DependencyPicker {
         }
     }
 
+    /**
+     * Move the cursor by several rows at once; negative steps move up.
+     */
+    public void moveBy(int steps) {
+        for (int i = 0; i < Math.abs(steps); i++) {
+            if (steps < 0)
+                moveUp();
+            else
+                moveDown();
+        }
+    }
+
     public void toggleSelected() {
         if (cursorIndex >= 0 && cursorIndex < flatItems.size()) {
             var item = flatItems.get(cursorIndex);
             if (!item.isCategory() && item.dependency() != null) {
                 config.toggleDependency(item.dependency().id());
+                syncSuggestions();
             }
         }
     }
@@ -106,6 +239,7 @@ public class DependencyPicker {
     public void cycleCategory() {
         if (categories.isEmpty())
             return;
+        version++;
         activeCategoryIndex++;
         if (activeCategoryIndex >= categories.size()) {
             activeCategoryIndex = -1; // back to "All"
@@ -136,106 +270,109 @@ public class DependencyPicker {
             return;
         }
 
-        // When not searching, prepend recent deps if available and no category filter
-        if (activeCategoryIndex < 0 && !recentDependencies.isEmpty()) {
-            var recentDeps = resolveRecentDeps();
-            if (!recentDeps.isEmpty()) {
-                flatItems.add(new FlatItem("\u2605 Recently Used", null, true));
-                for (var dep : recentDeps) {
-                    flatItems.add(new FlatItem("\u2605 Recently Used", dep, false));
-                }
+        // When not searching and no category filter, prepend suggestions for the
+        // current selection, then the most used deps
+        if (activeCategoryIndex < 0 && !suggestedIds.isEmpty()) {
+            flatItems.add(FlatItem.header(SUGGESTED));
+            for (String id : suggestedIds) {
+                int ordinal = index.ordinal(id);
+                flatItems.add(new FlatItem(SUGGESTED, index.dependency(ordinal), false, ordinal, null));
             }
         }
-
-        // Normal category listing (with optional filter)
-        for (int i = 0; i < categories.size(); i++) {
-            if (activeCategoryIndex >= 0 && i != activeCategoryIndex)
-                continue;
-            var category = categories.get(i);
-            if (!category.values().isEmpty()) {
-                flatItems.add(new FlatItem(category.name(), null, true));
-                for (var dep : category.values()) {
-                    flatItems.add(new FlatItem(category.name(), dep, false));
-                }
+        if (activeCategoryIndex < 0 && frequentOrdinals.length > 0) {
+            flatItems.add(FlatItem.header(FREQUENTLY_USED));
+            for (int ordinal : frequentOrdinals) {
+                flatItems.add(new FlatItem(FREQUENTLY_USED, index.dependency(ordinal), false, ordinal, null));
             }
         }
-    }
 
-    private List<InitializrMetadata.Dependency> resolveRecentDeps() {
-        var seen = new LinkedHashSet<String>();
-        var result = new ArrayList<InitializrMetadata.Dependency>();
-        for (var depSet : recentDependencies) {
-            for (var id : depSet) {
-                if (seen.add(id) && depLookup.containsKey(id)) {
-                    result.add(depLookup.get(id));
-                    if (result.size() >= 10)
-                        return result;
-                }
+        // Normal category listing (with optional filter); ordinals run in
+        // listing order, category by category
+        int lastCategory = -1;
+        for (int ordinal = 0; ordinal < index.size(); ordinal++) {
+            int category = index.categoryIndex(ordinal);
+            if (activeCategoryIndex >= 0 && category != activeCategoryIndex)
+                continue;
+            String categoryName = categories.get(category).name();
+            if (category != lastCategory) {
+                flatItems.add(FlatItem.header(categoryName));
+                lastCategory = category;
             }
+            flatItems.add(new FlatItem(categoryName, index.dependency(ordinal), false, ordinal, null));
         }
-        return result;
     }
 
     private void rebuildWithFuzzySearch() {
-        record ScoredDep(InitializrMetadata.Dependency dep, String categoryName, int score, int[] matchPositions) {
+        record ScoredDep(int ordinal, int score, int[] matchRuns) {
         }
 
         var scored = new ArrayList<ScoredDep>();
 
-        for (var category : categories) {
-            if (activeCategoryIndex >= 0 && categories.indexOf(category) != activeCategoryIndex)
+        for (int ordinal = 0; ordinal < index.size(); ordinal++) {
+            if (activeCategoryIndex >= 0 && index.categoryIndex(ordinal) != activeCategoryIndex)
                 continue;
-            for (var dep : category.values()) {
-                String name = dep.name() != null ? dep.name() : "";
-                String id = dep.id() != null ? dep.id() : "";
-                String desc = dep.description() != null ? dep.description() : "";
-
-                var nameResult = fuzzyScore(searchQuery, name);
-                var idResult = fuzzyScore(searchQuery, id);
-                var descResult = fuzzyScore(searchQuery, desc);
-
-                int bestScore = Math.max(nameResult.score(), Math.max(idResult.score(), descResult.score()));
-                if (bestScore > 0) {
-                    // Use name match positions for highlighting, falling back to others
-                    int[] positions = nameResult.score() > 0 ? nameResult.positions() : null;
-                    scored.add(new ScoredDep(dep, category.name(), bestScore, positions));
-                }
+            var dep = index.dependency(ordinal);
+            String name = dep.name() != null ? dep.name() : "";
+            String id = dep.id();
+            String desc = dep.description() != null ? dep.description() : "";
+
+            var nameResult = fuzzyScore(searchQuery, name);
+            var idResult = fuzzyScore(searchQuery, id);
+            var descResult = fuzzyScore(searchQuery, desc);
+
+            int bestScore = Math.max(nameResult.score(), Math.max(idResult.score(), descResult.score()));
+            if (bestScore > 0) {
+                bestScore += searchBoosts[ordinal];
+                // Only a name match is highlighted; the id and description are not shown
+                int[] runs = nameResult.score() > 0 ? nameResult.runs() : null;
+                scored.add(new ScoredDep(ordinal, bestScore, runs));
             }
         }
 
         // Sort by score descending; equal scores keep original order (stable sort)
         scored.sort(Comparator.comparingInt(ScoredDep::score).reversed());
 
-        String lastCategory = null;
+        int lastCategory = -1;
         for (var item : scored) {
-            if (!item.categoryName().equals(lastCategory)) {
-                flatItems.add(new FlatItem(item.categoryName(), null, true));
-                lastCategory = item.categoryName();
+            int category = index.categoryIndex(item.ordinal());
+            String categoryName = categories.get(category).name();
+            if (category != lastCategory) {
+                flatItems.add(FlatItem.header(categoryName));
+                lastCategory = category;
             }
-            flatItems.add(new FlatItem(item.categoryName(), item.dep(), false, item.matchPositions()));
+            flatItems.add(new FlatItem(categoryName, index.dependency(item.ordinal()), false, item.ordinal(),
+                    item.matchRuns()));
         }
     }
 
-    record FuzzyResult(int score, int[] positions) {
+    /**
+     * Score of a match and the runs of matched characters, as ascending
+     * {@code [start, end)} pairs.
+     */
+    record FuzzyResult(int score, int[] runs) {
     }
 
-    private FuzzyResult fuzzyScore(String query, String target) {
+    private static final FuzzyResult NO_MATCH = new FuzzyResult(0, new int[0]);
+
+    FuzzyResult fuzzyScore(String query, String target) {
         if (query.isEmpty() || target.isEmpty())
-            return new FuzzyResult(0, new int[0]);
+            return NO_MATCH;
 
         String lowerTarget = target.toLowerCase();
 
         // Exact substring match gets highest score
         int substringIdx = lowerTarget.indexOf(query);
         if (substringIdx >= 0) {
-            int[] positions = new int[query.length()];
-            for (int i = 0; i < query.length(); i++)
-                positions[i] = substringIdx + i;
-            return new FuzzyResult(1000 + (100 - substringIdx), positions); // bonus for earlier match
+            return new FuzzyResult(1000 + (100 - substringIdx), // bonus for earlier match
+                    new int[] { substringIdx, substringIdx + query.length() });
         }
 
-        // Fuzzy: all chars must appear in order
-        int[] positions = new int[query.length()];
+        // Fuzzy: all chars must appear in order; consecutive matches extend the
+        // current run
+        if (runScratch.length < 2 * query.length())
+            runScratch = new int[2 * query.length()];
+        int[] runs = runScratch;
+        int runEnd = 0;
         int targetIdx = 0;
         int score = 0;
         int prevMatchIdx = -2;
@@ -245,11 +382,13 @@ public class DependencyPicker {
             boolean found = false;
             while (targetIdx < lowerTarget.length()) {
                 if (lowerTarget.charAt(targetIdx) == qc) {
-                    positions[qi] = targetIdx;
-
                     // Consecutive match bonus
                     if (targetIdx == prevMatchIdx + 1) {
                         score += 15;
+                        runs[runEnd - 1] = targetIdx + 1;
+                    } else {
+                        runs[runEnd++] = targetIdx;
+                        runs[runEnd++] = targetIdx + 1;
                     }
 
                     // Word boundary bonus (start of string, after space/hyphen/dot)
@@ -272,57 +411,79 @@ public class DependencyPicker {
                 targetIdx++;
             }
             if (!found)
-                return new FuzzyResult(0, new int[0]); // not all chars matched
+                return NO_MATCH; // not all chars matched
         }
 
         // Density bonus: fewer gaps = better
-        int span = positions[positions.length - 1] - positions[0] + 1;
+        int span = runs[runEnd - 1] - runs[0];
         if (span > 0) {
             score += (int) (50.0 * query.length() / span);
         }
 
-        return new FuzzyResult(score, positions);
+        return new FuzzyResult(score, Arrays.copyOf(runs, runEnd));
     }
 
+    /**
+     * The summary and list, filling the area the layout gives them; only the
+     * rows that fit are built.
+     */
     public Element render() {
+        return viewport;
+    }
+
+    /**
+     * The summary and list for an area {@code height} rows tall.
+     */
+    Element render(int height) {
+        // The selection may also change outside the picker, e.g. when cleared
+        syncSuggestions();
+        viewportRows = Math.max(1, height - SUMMARY_ROWS);
+        return renderCache.get(version, config.getRevision(), viewportRows, this::buildList);
+    }
+
+    private Element buildList() {
         var elements = new ArrayList<Element>();
 
-        // Selected summary
+        // Selected summary, SUMMARY_ROWS
         var selected = config.getSelectedDependencies();
         if (!selected.isEmpty()) {
+            var names = new StringJoiner(", ");
+            for (String id : selected)
+                names.add(index.displayName(id));
             elements.add(
-                    text("  Selected: " + String.join(", ", selected) + "  (" + selected.size() + ")")
+                    text("  Selected: " + names + "  (" + selected.size() + ")")
                             .fg(AppColors.BRAND_PRIMARY).bold());
         } else {
             elements.add(
                     text("  Search or browse to add dependencies").fg(AppColors.BRAND_SECONDARY).italic());
         }
 
-        // Dependency list
-        int visibleStart = Math.max(0, cursorIndex - 10);
-        int visibleEnd = Math.min(flatItems.size(), visibleStart + 20);
+        // Dependency list: only the rows in the viewport
+        view.layout(flatItems.size(), viewportRows, cursorIndex);
+        int visibleStart = view.start();
+        int visibleEnd = view.end(flatItems.size());
 
         boolean inSearchMode = !searchQuery.isEmpty();
 
         for (int i = visibleStart; i < visibleEnd; i++) {
             var item = flatItems.get(i);
             if (item.isCategory()) {
-                boolean isRecent = item.categoryName().startsWith("\u2605");
+                boolean isPersonal = item.categoryName().equals(FREQUENTLY_USED)
+                        || item.categoryName().equals(SUGGESTED);
                 elements.add(
                         text("  > " + item.categoryName())
-                                .fg(isRecent ? AppColors.BRAND_GOLD : AppColors.BRAND_SECONDARY).bold());
+                                .fg(isPersonal ? AppColors.BRAND_GOLD : AppColors.BRAND_SECONDARY).bold());
             } else {
                 var dep = item.dependency();
-                boolean isSelected = config.isDependencySelected(dep.id());
+                boolean isSelected = isSelected(item);
                 boolean isCursor = i == cursorIndex;
                 String checkmark = isSelected ? " \u2713 " : "   ";
                 String prefix = isCursor ? " \u25b8" : "  ";
                 String depName = dep.name();
 
-                if (inSearchMode && item.matchPositions() != null && item.matchPositions().length > 0) {
-                    // Render with highlighted match positions
-                    elements.add(renderHighlightedDep(prefix, checkmark, depName, item.matchPositions(), isCursor,
-                            isSelected));
+                if (inSearchMode && item.matchRuns() != null && item.matchRuns().length > 0) {
+                    // Render with highlighted match runs
+                    elements.add(highlightedDep(item, prefix, checkmark, isCursor, isSelected));
                 } else {
                     String label = prefix + checkmark + depName;
                     var line = text(label);
@@ -345,62 +506,61 @@ public class DependencyPicker {
         return column(elements.toArray(Element[]::new));
     }
 
+    private boolean isSelected(FlatItem item) {
+        // The config normally shares the index; then this is a bit test
+        return config.getIndex() == index
+                ? config.isDependencySelected(item.ordinal())
+                : config.isDependencySelected(item.dependency().id());
+    }
+
+    private Element highlightedDep(FlatItem item, String prefix, String checkmark, boolean isCursor,
+            boolean isSelected) {
+        // The runs only change with the query, so neither does the row
+        if (highlightedRows == null)
+            highlightedRows = new Element[index.size() * 4];
+        if (!searchQuery.equals(highlightedQuery)) {
+            highlightedQuery = searchQuery;
+            Arrays.fill(highlightedRows, null);
+        }
+        int slot = item.ordinal() * 4 + (isCursor ? 2 : 0) + (isSelected ? 1 : 0);
+        var cached = highlightedRows[slot];
+        if (cached == null) {
+            cached = renderHighlightedDep(prefix, checkmark, item.dependency().name(), item.matchRuns(), isCursor,
+                    isSelected);
+            highlightedRows[slot] = cached;
+            highlightedRowBuilds++;
+        }
+        return cached;
+    }
+
     private Element renderHighlightedDep(String prefix, String checkmark, String name,
-            int[] matchPositions, boolean isCursor, boolean isSelected) {
-        // Build the name with highlighted chars using row of text segments
+            int[] matchRuns, boolean isCursor, boolean isSelected) {
+        // Build the name with highlighted runs using row of text segments
         var parts = new ArrayList<Element>();
-        String beforeName = prefix + checkmark;
         Color baseColor = isCursor ? AppColors.WHITE : (isSelected ? AppColors.BRAND_PRIMARY : AppColors.WHITE);
 
-        var prefixEl = text(beforeName).fg(baseColor);
-        if (isCursor)
-            prefixEl = prefixEl.bold();
-        parts.add(prefixEl);
-
-        var matchSet = new HashSet<Integer>();
-        for (int pos : matchPositions)
-            matchSet.add(pos);
-
-        // Group consecutive chars with same highlight state
-        var sb = new StringBuilder();
-        boolean currentHighlight = false;
-
-        for (int i = 0; i < name.length(); i++) {
-            boolean isMatch = matchSet.contains(i);
-            if (i == 0) {
-                currentHighlight = isMatch;
-                sb.append(name.charAt(i));
-            } else if (isMatch == currentHighlight) {
-                sb.append(name.charAt(i));
-            } else {
-                // Flush segment
-                var segment = text(sb.toString());
-                if (currentHighlight) {
-                    segment = segment.fg(AppColors.BRAND_PRIMARY).bold();
-                } else {
-                    segment = segment.fg(baseColor);
-                    if (isCursor)
-                        segment = segment.bold();
-                }
-                parts.add(segment);
-                sb.setLength(0);
-                sb.append(name.charAt(i));
-                currentHighlight = isMatch;
-            }
-        }
-        // Flush last segment
-        if (!sb.isEmpty()) {
-            var segment = text(sb.toString());
-            if (currentHighlight) {
-                segment = segment.fg(AppColors.BRAND_PRIMARY).bold();
-            } else {
-                segment = segment.fg(baseColor);
-                if (isCursor)
-                    segment = segment.bold();
+        parts.add(plainSegment(prefix + checkmark, baseColor, isCursor));
+
+        int pos = 0;
+        for (int r = 0; r < matchRuns.length; r += 2) {
+            // Lower-casing may have changed the length of an unusual name
+            int start = Math.min(Math.max(matchRuns[r], pos), name.length());
+            int end = Math.min(matchRuns[r + 1], name.length());
+            if (start > pos)
+                parts.add(plainSegment(name.substring(pos, start), baseColor, isCursor));
+            if (end > start) {
+                parts.add(text(name.substring(start, end)).fg(AppColors.BRAND_PRIMARY).bold());
+                pos = end;
             }
-            parts.add(segment);
         }
+        if (pos < name.length())
+            parts.add(plainSegment(name.substring(pos), baseColor, isCursor));
 
         return row(parts.toArray(Element[]::new));
     }
+
+    private static Element plainSegment(String label, Color color, boolean bold) {
+        var segment = text(label).fg(color);
+        return bold ? segment.bold() : segment;
+    }
 }
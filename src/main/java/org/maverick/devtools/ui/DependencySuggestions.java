@@ -0,0 +1,90 @@
+package org.maverick.devtools.ui;
+
+import org.maverick.devtools.util.DependencyUsage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Suggests dependencies to go with the current selection, from the
+ * co-occurrence counts in {@link DependencyUsage}. A candidate's weight is the
+ * number of past projects it shared with each selected dependency, summed over
+ * the selection.
+ * <p>
+ * Weights are maintained incrementally: selecting or deselecting a dependency
+ * adds or subtracts its row of the sparse co-occurrence matrix, so neither a
+ * toggle nor asking for the top suggestions rescans the history.
+ */
+final class DependencySuggestions {
+
+    private final DependencyUsage usage;
+    private final Set<String> selected = new HashSet<>();
+    // Candidate -> weight; a one-element array so updates do not box
+    private final Map<String, int[]> weights = new HashMap<>();
+
+    DependencySuggestions(DependencyUsage usage) {
+        this.usage = usage != null ? usage : new DependencyUsage();
+    }
+
+    /**
+     * Bring the weights in line with {@code selection}, touching only the
+     * dependencies that were added or removed since the last call.
+     */
+    void sync(Collection<String> selection) {
+        var current = selection instanceof Set<String> set ? set : new HashSet<>(selection);
+        for (var it = selected.iterator(); it.hasNext();) {
+            String id = it.next();
+            if (!current.contains(id)) {
+                it.remove();
+                adjust(id, -1);
+            }
+        }
+        for (String id : current) {
+            if (selected.add(id))
+                adjust(id, 1);
+        }
+    }
+
+    private void adjust(String id, int sign) {
+        for (var entry : usage.usedWith(id).entrySet()) {
+            int[] weight = weights.computeIfAbsent(entry.getKey(), k -> new int[1]);
+            weight[0] += sign * entry.getValue();
+            if (weight[0] <= 0)
+                weights.remove(entry.getKey());
+        }
+    }
+
+    /**
+     * Up to {@code limit} unselected candidates accepted by {@code eligible},
+     * heaviest first; equal weights are ordered by id.
+     */
+    List<String> top(int limit, Predicate<String> eligible) {
+        var best = new ArrayList<String>(limit + 1);
+        var bestWeights = new int[limit + 1];
+        for (var entry : weights.entrySet()) {
+            String id = entry.getKey();
+            int weight = entry.getValue()[0];
+            if (selected.contains(id) || !eligible.test(id))
+                continue;
+            // Insertion into the short sorted prefix
+            int i = best.size();
+            while (i > 0 && (bestWeights[i - 1] < weight
+                    || bestWeights[i - 1] == weight && best.get(i - 1).compareTo(id) > 0))
+                i--;
+            if (i >= limit)
+                continue;
+            best.add(i, id);
+            System.arraycopy(bestWeights, i, bestWeights, i + 1, best.size() - 1 - i);
+            bestWeights[i] = weight;
+            if (best.size() > limit)
+                best.remove(limit);
+        }
+        return best;
+    }
+}
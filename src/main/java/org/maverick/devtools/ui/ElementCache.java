@@ -0,0 +1,37 @@
+package org.maverick.devtools.ui;
+
+import dev.tamboui.toolkit.element.Element;
+
+import java.util.function.Supplier;
+
+/**
+ * Memoizes one element sub-tree, rebuilding it only when one of the version
+ * keys it was built from changes.
+ */
+final class ElementCache {
+
+    private long keyA = Long.MIN_VALUE;
+    private long keyB = Long.MIN_VALUE;
+    private long keyC = Long.MIN_VALUE;
+    private long keyD = Long.MIN_VALUE;
+    private Element cached;
+
+    Element get(long a, long b, long c, long d, Supplier<Element> builder) {
+        if (cached == null || a != keyA || b != keyB || c != keyC || d != keyD) {
+            cached = builder.get();
+            keyA = a;
+            keyB = b;
+            keyC = c;
+            keyD = d;
+        }
+        return cached;
+    }
+
+    Element get(long a, long b, long c, Supplier<Element> builder) {
+        return get(a, b, c, 0, builder);
+    }
+
+    Element get(Supplier<Element> builder) {
+        return get(0, 0, 0, builder);
+    }
+}
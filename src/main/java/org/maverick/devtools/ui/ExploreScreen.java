@@ -1,6 +1,7 @@
 package org.maverick.devtools.ui;
 
 import org.maverick.devtools.util.AppColors;
+import org.maverick.devtools.util.LineDiff;
 import dev.tamboui.style.Color;
 import dev.tamboui.toolkit.element.Element;
 
@@ -15,7 +16,8 @@ import static dev.tamboui.toolkit.Toolkit.*;
 
 /**
  * Project file explorer with syntax highlighting and scroll position tracking.
- * Supports browsing all files in the generated project ZIP.
+ * Supports browsing all files in the generated project ZIP, and a diff mode
+ * comparing the build file against the previously explored configuration.
  */
 public class ExploreScreen {
 
@@ -24,41 +26,24 @@ public class ExploreScreen {
     // private static final Color YELLOW = Color.YELLOW;
     // private static final Color COMMENT_GRAY = Color.rgb(100, 100, 100);
 
-    public enum BuildFileType {
-        MAVEN("pom.xml", "maven-project"),
-        GRADLE("build.gradle", "gradle-project"),
-        GRADLE_KTS("build.gradle.kts", "gradle-project-kotlin");
-
-        private final String fileName;
-        private final String projectType;
-
-        BuildFileType(String fileName, String projectType) {
-            this.fileName = fileName;
-            this.projectType = projectType;
-        }
-
-        public String getFileName() {
-            return fileName;
-        }
-
-        public String getProjectType() {
-            return projectType;
-        }
-
-        public static BuildFileType fromProjectType(String projectType) {
-            for (var type : values()) {
-                if (type.projectType.equals(projectType))
-                    return type;
-            }
-            return MAVEN;
-        }
-    }
-
     private final List<String> fileNames;
     private final LinkedHashMap<String, String> files;
     private int currentFileIndex = 0;
     private String[] lines;
-    private int scrollOffset = 0;
+    // Rows a page scrolls until the first layout reports the real height
+    static final int DEFAULT_VISIBLE_LINES = 20;
+    // Rows around the visible lines: the file panel border and the scroll gauge
+    private static final int BORDER_ROWS = 2;
+    private static final int GAUGE_ROWS = 1;
+    private final VirtualList view = new VirtualList(DEFAULT_VISIBLE_LINES);
+    private final Viewport viewport = new Viewport(
+            height -> render(Math.max(1, height - BORDER_ROWS - GAUGE_ROWS)));
+
+    // Build file diff against the previous explore; null when there is none
+    private String diffFileName;
+    private String diffSummary;
+    private List<LineDiff.Line> diff;
+    private boolean diffMode = false;
 
     // XML regex patterns
     private static final Pattern XML_TAG = Pattern.compile("(</?[a-zA-Z][a-zA-Z0-9:.-]*)([^>]*?)(/?>)");
@@ -92,10 +77,56 @@ public class ExploreScreen {
     private void loadCurrentFile() {
         String content = files.get(fileNames.get(currentFileIndex));
         this.lines = content.replace("\t", "  ").split("\n");
-        this.scrollOffset = 0;
+        view.scrollTo(0, lines.length);
+        this.diffMode = false;
+    }
+
+    /**
+     * Attach a build file diff; {@code summary} describes what is being compared.
+     */
+    public void setDiff(String fileName, String summary, List<LineDiff.Line> diff) {
+        this.diffFileName = fileName;
+        this.diffSummary = summary;
+        this.diff = diff;
+    }
+
+    public boolean hasDiff() {
+        return diff != null;
+    }
+
+    public boolean isDiffMode() {
+        return diffMode;
+    }
+
+    /**
+     * Switch between the current file and the build file diff.
+     */
+    public void toggleDiff() {
+        if (diffMode) {
+            loadCurrentFile();
+            return;
+        }
+        if (diff == null)
+            return;
+        lines = new String[diff.size()];
+        for (int i = 0; i < lines.length; i++)
+            lines[i] = diff.get(i).text().replace("\t", "  ");
+        view.scrollTo(0, lines.length);
+        diffMode = true;
+        // Start at the first change rather than the top of the file
+        for (int i = 0; i < diff.size(); i++) {
+            if (diff.get(i).kind() != LineDiff.Kind.SAME) {
+                view.scrollTo(i - 3, lines.length);
+                break;
+            }
+        }
     }
 
     public void nextFile() {
+        if (diffMode) {
+            loadCurrentFile();
+            return;
+        }
         if (currentFileIndex < fileNames.size() - 1) {
             currentFileIndex++;
             loadCurrentFile();
@@ -103,6 +134,10 @@ public class ExploreScreen {
     }
 
     public void previousFile() {
+        if (diffMode) {
+            loadCurrentFile();
+            return;
+        }
         if (currentFileIndex > 0) {
             currentFileIndex--;
             loadCurrentFile();
@@ -110,28 +145,49 @@ public class ExploreScreen {
     }
 
     public void scrollUp() {
-        if (scrollOffset > 0)
-            scrollOffset--;
+        view.scrollBy(-1, lines.length);
     }
 
     public void scrollDown() {
-        if (scrollOffset < lines.length - 1)
-            scrollOffset++;
+        view.scrollBy(1, lines.length);
+    }
+
+    /**
+     * Scroll by several lines at once; negative values scroll up.
+     */
+    public void scrollBy(int delta) {
+        view.scrollBy(delta, lines.length);
     }
 
+    /**
+     * Scroll up by the number of lines last shown.
+     */
     public void pageUp() {
-        scrollOffset = Math.max(0, scrollOffset - 20);
+        view.scrollBy(-view.height(), lines.length);
     }
 
     public void pageDown() {
-        scrollOffset = Math.min(Math.max(0, lines.length - 1), scrollOffset + 20);
+        view.scrollBy(view.height(), lines.length);
+    }
+
+    /**
+     * Apply a batch of coalesced scroll keys in one move.
+     */
+    public void navigate(InputCoalescer.Batch batch) {
+        int steps = batch.steps();
+        switch (batch.navigation()) {
+            case UP -> scrollBy(-steps);
+            case DOWN -> scrollBy(steps);
+            case PAGE_UP -> scrollBy(-steps * view.height());
+            case PAGE_DOWN -> scrollBy(steps * view.height());
+        }
     }
 
     public String getScrollInfo(int visibleLines) {
         if (lines.length == 0)
             return "";
-        int start = scrollOffset + 1;
-        int end = Math.min(lines.length, scrollOffset + visibleLines);
+        int start = view.start() + 1;
+        int end = Math.min(lines.length, view.start() + visibleLines);
         return String.format("Lines %d-%d of %d", start, end, lines.length);
     }
 
@@ -141,12 +197,26 @@ public class ExploreScreen {
         int maxOffset = lines.length - visibleLines;
         if (maxOffset <= 0)
             return 100;
-        return Math.min(100, (scrollOffset * 100) / maxOffset);
+        return Math.min(100, (view.start() * 100) / maxOffset);
+    }
+
+    /**
+     * The current file, filling the area the layout gives it; only the lines
+     * that fit are highlighted and turned into elements.
+     */
+    public Element render() {
+        return viewport;
     }
 
-    public Element render(int visibleLines) {
+    /**
+     * Render the current file with {@code visibleLines} rows of content.
+     */
+    Element render(int visibleLines) {
+        view.layout(lines.length, visibleLines, -1);
         String currentFileName = fileNames.get(currentFileIndex);
-        String title = currentFileName + "  (" + (currentFileIndex + 1) + "/" + fileNames.size() + ")";
+        String title = diffMode
+                ? diffFileName + "  diff: " + diffSummary
+                : currentFileName + "  (" + (currentFileIndex + 1) + "/" + fileNames.size() + ")";
 
         Element contentArea = renderHighlightedContent(visibleLines);
 
@@ -162,14 +232,14 @@ public class ExploreScreen {
                         lineGauge((double) percent / 100.0)
                                 .fg(AppColors.BRAND_PRIMARY)
                                 .fill(3),
-                        text("  " + percentStr + "  ").fg(AppColors.BRAND_SECONDARY)).length(1));
+                        text("  " + percentStr + "  ").fg(AppColors.BRAND_SECONDARY)).length(GAUGE_ROWS));
     }
 
-    private enum FileType {
+    enum FileType {
         XML, GRADLE, JAVA, PROPERTIES, PLAIN
     }
 
-    private FileType detectFileType(String fileName) {
+    static FileType detectFileType(String fileName) {
         if (fileName.endsWith(".xml"))
             return FileType.XML;
         if (fileName.endsWith(".gradle") || fileName.endsWith(".gradle.kts"))
@@ -183,28 +253,53 @@ public class ExploreScreen {
 
     private Element renderHighlightedContent(int visibleLines) {
         var contentElements = new ArrayList<Element>();
-        int end = Math.min(lines.length, scrollOffset + visibleLines);
-        String currentFileName = fileNames.get(currentFileIndex);
+        int end = view.end(lines.length);
+        String currentFileName = diffMode ? diffFileName : fileNames.get(currentFileIndex);
         FileType fileType = detectFileType(currentFileName);
 
-        for (int i = scrollOffset; i < end; i++) {
-            String lineNum = String.format("%4d ", i + 1);
+        for (int i = view.start(); i < end; i++) {
             var parts = new ArrayList<Element>();
-            parts.add(text(lineNum).fg(AppColors.BRAND_SECONDARY));
-            switch (fileType) {
-                case XML -> addXmlParts(lines[i], parts);
-                case GRADLE -> addGradleParts(lines[i], parts);
-                case JAVA -> addJavaParts(lines[i], parts);
-                case PROPERTIES -> addPropertiesParts(lines[i], parts);
-                default -> parts.add(text(lines[i]).fg(AppColors.WHITE));
+            if (diffMode) {
+                addDiffGutter(diff.get(i), parts);
+            } else {
+                parts.add(text(String.format("%4d ", i + 1)).fg(AppColors.BRAND_SECONDARY));
             }
+            addHighlightedParts(fileType, lines[i], parts);
             contentElements.add(row(parts.toArray(Element[]::new)));
         }
 
         return column(contentElements.toArray(Element[]::new));
     }
 
-    private void addXmlParts(String line, ArrayList<Element> parts) {
+    /**
+     * Old and new line numbers plus a colored +/- marker for one diff line.
+     */
+    private static void addDiffGutter(LineDiff.Line line, ArrayList<Element> parts) {
+        String oldNum = line.oldLine() > 0 ? String.format("%4d", line.oldLine()) : "    ";
+        String newNum = line.newLine() > 0 ? String.format("%4d", line.newLine()) : "    ";
+        parts.add(text(oldNum + " " + newNum + " ").fg(AppColors.BRAND_SECONDARY));
+        switch (line.kind()) {
+            case ADDED -> parts.add(text("+ ").fg(AppColors.BRAND_SUCCESS).bold());
+            case REMOVED -> parts.add(text("- ").fg(AppColors.RED).bold());
+            default -> parts.add(text("  "));
+        }
+    }
+
+    /**
+     * Append the syntax-highlighted parts of one line; shared with the build file
+     * preview on the main screen.
+     */
+    static void addHighlightedParts(FileType fileType, String line, ArrayList<Element> parts) {
+        switch (fileType) {
+            case XML -> addXmlParts(line, parts);
+            case GRADLE -> addGradleParts(line, parts);
+            case JAVA -> addJavaParts(line, parts);
+            case PROPERTIES -> addPropertiesParts(line, parts);
+            default -> parts.add(text(line).fg(AppColors.WHITE));
+        }
+    }
+
+    private static void addXmlParts(String line, ArrayList<Element> parts) {
         String trimmed = line.stripLeading();
         String indent = line.substring(0, line.length() - trimmed.length());
 
@@ -260,7 +355,7 @@ public class ExploreScreen {
         parts.add(text(line).fg(AppColors.WHITE));
     }
 
-    private void addGradleParts(String line, ArrayList<Element> parts) {
+    private static void addGradleParts(String line, ArrayList<Element> parts) {
         String trimmed = line.stripLeading();
         String indent = line.substring(0, line.length() - trimmed.length());
 
@@ -317,7 +412,7 @@ public class ExploreScreen {
         }
     }
 
-    private void addJavaParts(String line, ArrayList<Element> parts) {
+    private static void addJavaParts(String line, ArrayList<Element> parts) {
         String trimmed = line.stripLeading();
         String indent = line.substring(0, line.length() - trimmed.length());
 
@@ -388,7 +483,7 @@ public class ExploreScreen {
         }
     }
 
-    private void addPropertiesParts(String line, ArrayList<Element> parts) {
+    private static void addPropertiesParts(String line, ArrayList<Element> parts) {
         String trimmed = line.stripLeading();
         String indent = line.substring(0, line.length() - trimmed.length());
 
@@ -32,6 +32,7 @@ public class GenerateScreen {
     private int selectedIdeIndex = 0;
     private String errorMessage;
     private String postGenerateCommand = "";
+    private String note = "";
 
     public void setGenerating(double progress, String message) {
         this.state = State.GENERATING;
@@ -75,6 +76,14 @@ public class GenerateScreen {
         return projectDir;
     }
 
+    /**
+     * Extra line shown under the project location, e.g. that it was generated
+     * offline.
+     */
+    public void setNote(String note) {
+        this.note = note != null ? note : "";
+    }
+
     public void setPostGenerateCommand(String command) {
         this.postGenerateCommand = command != null ? command : "";
     }
@@ -103,6 +112,9 @@ public class GenerateScreen {
         elements.add(text("  \u2713 Project Generated!").fg(AppColors.BRAND_SUCCESS).bold());
         elements.add(text(""));
         elements.add(text("  Extracted to: " + projectDir).fg(AppColors.WHITE));
+        if (!note.isEmpty()) {
+            elements.add(text("  " + note).fg(AppColors.YELLOW));
+        }
         elements.add(text(""));
 
         // IDE selection
@@ -35,13 +35,27 @@ public class HelpScreen {
                                                 row(text("    x                  ").fg(AppColors.WHITE),
                                                                 text("Clear all selected dependencies")
                                                                                 .fg(AppColors.BRAND_SECONDARY)),
+                                                row(text("    p                  ").fg(AppColors.WHITE),
+                                                                text("Toggle live build file preview")
+                                                                                .fg(AppColors.BRAND_SECONDARY)),
+                                                row(text("    1-9                ").fg(AppColors.WHITE),
+                                                                text("Apply a saved preset").fg(AppColors.BRAND_SECONDARY)),
+                                                row(text("    s                  ").fg(AppColors.WHITE),
+                                                                text("Save the current settings as a preset")
+                                                                                .fg(AppColors.BRAND_SECONDARY)),
                                                 row(text("    g                  ").fg(AppColors.WHITE),
                                                                 text("Generate project ZIP").fg(AppColors.BRAND_SECONDARY)),
                                                 row(text("    e                  ").fg(AppColors.WHITE),
                                                                 text("Explore project files before generating")
                                                                                 .fg(AppColors.BRAND_SECONDARY)),
+                                                row(text("    d  (Explore)       ").fg(AppColors.WHITE),
+                                                                text("Diff build file against previous explore")
+                                                                                .fg(AppColors.BRAND_SECONDARY)),
                                                 row(text("    ?                  ").fg(AppColors.WHITE),
                                                                 text("Toggle this help screen").fg(AppColors.BRAND_SECONDARY)),
+                                                row(text("    Alt+D              ").fg(AppColors.WHITE),
+                                                                text("Toggle frame-time debug overlay")
+                                                                                .fg(AppColors.BRAND_SECONDARY)),
                                                 row(text("    q                  ").fg(AppColors.WHITE),
                                                                 text("Quit application").fg(AppColors.BRAND_SECONDARY)),
                                                 spacer(),
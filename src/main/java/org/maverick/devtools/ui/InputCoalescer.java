@@ -0,0 +1,49 @@
+package org.maverick.devtools.ui;
+
+/**
+ * Batches consecutive identical navigation key events received between two
+ * frames, so a held-down arrow key produces one multi-step move per frame
+ * instead of one move and one render per key repeat.
+ */
+public class InputCoalescer {
+
+    public enum Navigation {
+        UP, DOWN, PAGE_UP, PAGE_DOWN
+    }
+
+    private Navigation pending;
+    private int count;
+
+    /**
+     * Queue a navigation step. Returns the batch that must be applied first when
+     * a different direction was pending, otherwise {@code null}.
+     */
+    public Batch add(Navigation navigation) {
+        Batch flushed = null;
+        if (pending != null && pending != navigation) {
+            flushed = drain();
+        }
+        pending = navigation;
+        count++;
+        return flushed;
+    }
+
+    public boolean hasPending() {
+        return pending != null;
+    }
+
+    /**
+     * Remove and return the pending batch, or {@code null} if there is none.
+     */
+    public Batch drain() {
+        if (pending == null)
+            return null;
+        var batch = new Batch(pending, count);
+        pending = null;
+        count = 0;
+        return batch;
+    }
+
+    public record Batch(Navigation navigation, int steps) {
+    }
+}
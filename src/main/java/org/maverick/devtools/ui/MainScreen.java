@@ -1,8 +1,11 @@
 package org.maverick.devtools.ui;
 
 import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.model.Preset;
 import org.maverick.devtools.model.ProjectConfig;
 import org.maverick.devtools.util.AppColors;
+import org.maverick.devtools.util.DependencyUsage;
 import dev.tamboui.style.Color;
 import dev.tamboui.toolkit.element.Element;
 
@@ -26,6 +29,7 @@ public class MainScreen {
     }
 
     private final InitializrMetadata.Metadata metadata;
+    private final MetadataIndex index;
     private final ProjectConfig config;
     private final DependencyPicker dependencyPicker;
     private final InitializrMetadata.SelectField appFormatField;
@@ -33,14 +37,41 @@ public class MainScreen {
     private boolean searchMode = false;
     private StringBuilder searchBuffer = new StringBuilder();
 
-    public MainScreen(InitializrMetadata.Metadata metadata, ProjectConfig config,
-            List<List<String>> recentDependencies) {
+    // Saved presets in slot order, the name being typed for a new one and the
+    // outcome of the last preset action
+    private List<Preset> presets = List.of();
+    private boolean presetNameMode = false;
+    private final StringBuilder presetNameBuffer = new StringBuilder();
+    private String presetStatus = "";
+
+    // Bumped on focus and search changes; together with the config revision and
+    // picker version it decides which cached sub-trees are stale
+    private long stateVersion = 0;
+    private final ElementCache rootCache = new ElementCache();
+    private final ElementCache headerCache = new ElementCache();
+    private final ElementCache configFormCache = new ElementCache();
+    private final ElementCache dependencyPanelCache = new ElementCache();
+    private final ElementCache actionBarCache = new ElementCache();
+    private final ElementCache footerCache = new ElementCache();
+    private final ElementCache previewCache = new ElementCache();
+
+    // Fixed heights in the layout: the header panel, the border of a rounded
+    // panel and the one-row action bar and footer. The dependency list fills
+    // the rows left over.
+    static final int HEADER_ROWS = 3;
+    static final int BORDER_ROWS = 2;
+    static final int BAR_ROWS = 1;
+
+    // Optional build file pane, toggled with 'p'
+    private BuildFilePreview preview;
+    static final int PREVIEW_MAX_LINES = 60;
+
+    public MainScreen(InitializrMetadata.Metadata metadata, MetadataIndex index, ProjectConfig config,
+            DependencyUsage usage) {
         this.metadata = metadata;
+        this.index = index;
         this.config = config;
-        this.dependencyPicker = new DependencyPicker(
-                metadata.dependencies() != null ? metadata.dependencies().values() : List.of(),
-                config,
-                recentDependencies);
+        this.dependencyPicker = new DependencyPicker(index, config, usage);
         this.appFormatField = metadata.applicationFormat() != null
                 ? metadata.applicationFormat()
                 : new InitializrMetadata.SelectField("single-select", "properties",
@@ -48,6 +79,14 @@ public class MainScreen {
                                 new InitializrMetadata.SelectOption("yaml", "YAML")));
     }
 
+    public void setPreview(BuildFilePreview preview) {
+        this.preview = preview;
+    }
+
+    public BuildFilePreview getPreview() {
+        return preview;
+    }
+
     public FocusArea getFocusArea() {
         return focusArea;
     }
@@ -61,24 +100,28 @@ public class MainScreen {
     }
 
     public void enterSearchMode() {
+        stateVersion++;
         searchMode = true;
         searchBuffer.setLength(0);
         focusArea = FocusArea.DEPENDENCIES;
     }
 
     public void exitSearchMode() {
+        stateVersion++;
         searchMode = false;
         searchBuffer.setLength(0);
         dependencyPicker.setSearchQuery("");
     }
 
     public void appendSearchChar(char c) {
+        stateVersion++;
         searchBuffer.append(c);
         dependencyPicker.setSearchQuery(searchBuffer.toString());
     }
 
     public void deleteSearchChar() {
         if (!searchBuffer.isEmpty()) {
+            stateVersion++;
             searchBuffer.deleteCharAt(searchBuffer.length() - 1);
             dependencyPicker.setSearchQuery(searchBuffer.toString());
         }
@@ -88,7 +131,73 @@ public class MainScreen {
         return searchBuffer.toString();
     }
 
+    public List<Preset> getPresets() {
+        return presets;
+    }
+
+    public void setPresets(List<Preset> presets) {
+        stateVersion++;
+        this.presets = List.copyOf(presets);
+    }
+
+    /**
+     * Apply the preset in slot {@code slot} and report what it skipped; returns
+     * the preset, or null when the slot is empty.
+     */
+    public Preset applyPreset(int slot) {
+        if (slot < 0 || slot >= presets.size())
+            return null;
+        var preset = presets.get(slot);
+        var skipped = config.applyPreset(preset, metadata, index);
+        setPresetStatus(skipped.isEmpty()
+                ? "Applied preset " + preset.name()
+                : "Applied preset " + preset.name() + ", skipped " + String.join(", ", skipped));
+        return preset;
+    }
+
+    public String getPresetStatus() {
+        return presetStatus;
+    }
+
+    public void setPresetStatus(String status) {
+        stateVersion++;
+        presetStatus = status;
+    }
+
+    public boolean isPresetNameMode() {
+        return presetNameMode;
+    }
+
+    public void enterPresetNameMode() {
+        stateVersion++;
+        presetNameMode = true;
+        presetNameBuffer.setLength(0);
+    }
+
+    public void exitPresetNameMode() {
+        stateVersion++;
+        presetNameMode = false;
+        presetNameBuffer.setLength(0);
+    }
+
+    public void appendPresetNameChar(char c) {
+        stateVersion++;
+        presetNameBuffer.append(c);
+    }
+
+    public void deletePresetNameChar() {
+        if (!presetNameBuffer.isEmpty()) {
+            stateVersion++;
+            presetNameBuffer.deleteCharAt(presetNameBuffer.length() - 1);
+        }
+    }
+
+    public String getPresetName() {
+        return presetNameBuffer.toString().trim();
+    }
+
     public void focusNext() {
+        stateVersion++;
         var areas = FocusArea.values();
         int next = (focusArea.ordinal() + 1) % areas.length;
         focusArea = areas[next];
@@ -98,6 +207,7 @@ public class MainScreen {
     }
 
     public void focusPrevious() {
+        stateVersion++;
         var areas = FocusArea.values();
         int prev = (focusArea.ordinal() - 1 + areas.length) % areas.length;
         focusArea = areas[prev];
@@ -106,6 +216,27 @@ public class MainScreen {
         }
     }
 
+    /**
+     * Apply a batch of coalesced navigation keys to the dependency list. Up past
+     * its first row leaves the list for the form fields, except while searching.
+     */
+    public void navigate(InputCoalescer.Batch batch) {
+        int steps = batch.steps();
+        boolean up = batch.navigation() == InputCoalescer.Navigation.UP
+                || batch.navigation() == InputCoalescer.Navigation.PAGE_UP;
+        if (searchMode || !up) {
+            dependencyPicker.moveBy(up ? -steps : steps);
+            return;
+        }
+        for (int i = 0; i < steps; i++) {
+            if (focusArea == FocusArea.DEPENDENCIES && !dependencyPicker.isAtTop()) {
+                dependencyPicker.moveUp();
+            } else {
+                focusPrevious();
+            }
+        }
+    }
+
     public void cycleOption(int direction) {
         switch (focusArea) {
             case PROJECT_TYPE ->
@@ -201,12 +332,33 @@ public class MainScreen {
     }
 
     public Element render() {
-        return column(
-                renderHeader(),
-                renderConfigForm(),
-                renderDependencyPanel(),
-                renderActionBar(),
-                renderFooter()).id("main-screen");
+        boolean showPreview = preview != null && preview.isVisible();
+        if (showPreview) {
+            preview.update();
+        }
+        long revision = config.getRevision();
+        long pickerVersion = dependencyPicker.getVersion();
+        long previewVersion = preview != null ? preview.getVersion() : 0;
+        return rootCache.get(revision, pickerVersion, stateVersion, previewVersion, () -> {
+            Element form = configForm();
+            Element dependencies = dependencyPanelCache.get(revision, pickerVersion, stateVersion,
+                    this::renderDependencyPanel);
+            if (!showPreview) {
+                return column(
+                        headerCache.get(this::renderHeader),
+                        form,
+                        dependencies,
+                        actionBarCache.get(stateVersion, 0, 0, this::renderActionBar),
+                        footerCache.get(this::renderFooter)).id("main-screen");
+            }
+            return column(
+                    headerCache.get(this::renderHeader),
+                    row(
+                            column(form, dependencies).fill(),
+                            previewCache.get(previewVersion, 0, 0, this::renderPreviewPanel)).fill(),
+                    actionBarCache.get(stateVersion, 0, 0, this::renderActionBar),
+                    footerCache.get(this::renderFooter)).id("main-screen");
+        });
     }
 
     private Element renderHeader() {
@@ -215,7 +367,11 @@ public class MainScreen {
                         text("  MAVERICK DEVTOOLS").fg(AppColors.BRAND_PRIMARY).bold(),
                         spacer(),
                         text("v" + appVersion() + "  ").fg(AppColors.BRAND_SECONDARY)))
-                .rounded().borderColor(AppColors.BRAND_PRIMARY).length(3).id("header");
+                .rounded().borderColor(AppColors.BRAND_PRIMARY).length(HEADER_ROWS).id("header");
+    }
+
+    private Element configForm() {
+        return configFormCache.get(config.getRevision(), stateVersion, 0, this::renderConfigForm);
     }
 
     private Element renderConfigForm() {
@@ -253,6 +409,7 @@ public class MainScreen {
         return panel("Configuration",
                 column(elements.toArray(Element[]::new))).rounded()
                 .borderColor(focusArea != FocusArea.DEPENDENCIES ? AppColors.BRAND_PRIMARY : AppColors.BRAND_SECONDARY)
+                .length(elements.size() + BORDER_ROWS)
                 .id("config-form");
     }
 
@@ -298,7 +455,7 @@ public class MainScreen {
     private Element renderDependencyPanel() {
         var elements = new ArrayList<Element>();
 
-        // Search bar
+        // Search bar, or a hint, and a blank line
         if (searchMode) {
             elements.add(
                     row(
@@ -313,7 +470,7 @@ public class MainScreen {
         }
         elements.add(text(""));
 
-        // Dependency list
+        // Dependency list, in the rows left over
         elements.add(dependencyPicker.render());
 
         String depTitle = "Dependencies (" + config.getSelectedCount() + " selected)";
@@ -327,15 +484,49 @@ public class MainScreen {
                 .id("dep-picker");
     }
 
+    private Element renderPreviewPanel() {
+        String fileName = preview.getFileName();
+        var fileType = ExploreScreen.detectFileType(fileName);
+        var elements = new ArrayList<Element>();
+        String status = preview.getStatus();
+        if (!status.isEmpty()) {
+            elements.add(text("  " + status).fg(AppColors.BRAND_SECONDARY).italic());
+        }
+        var lines = preview.getContent().lines().limit(PREVIEW_MAX_LINES).toList();
+        for (String line : lines) {
+            var parts = new ArrayList<Element>();
+            parts.add(text(" "));
+            ExploreScreen.addHighlightedParts(fileType, line, parts);
+            elements.add(row(parts.toArray(Element[]::new)));
+        }
+        return panel(fileName.isEmpty() ? "Preview" : "Preview \u2014 " + fileName,
+                column(elements.toArray(Element[]::new))).rounded()
+                .borderColor(AppColors.BRAND_SECONDARY)
+                .fill()
+                .id("build-preview");
+    }
+
     private Element renderActionBar() {
-        return row(
+        var parts = new ArrayList<Element>(List.of(
                 text("  "),
                 text("[ Generate g ]").fg(AppColors.BRAND_PRIMARY).bold(),
                 text("  "),
                 text("[ Explore e ]").fg(AppColors.BRAND_SECONDARY),
                 text("  "),
                 text("[ Quit q ]").fg(AppColors.BRAND_SECONDARY),
-                spacer()).length(1);
+                text("  ")));
+        if (presetNameMode) {
+            parts.add(text("Save preset as: ").fg(AppColors.WHITE).bold());
+            parts.add(text("[ " + presetNameBuffer + "_ ]").fg(AppColors.BRAND_PRIMARY));
+        } else if (!presetStatus.isEmpty()) {
+            parts.add(text(presetStatus).fg(AppColors.BRAND_SECONDARY).italic());
+        }
+        parts.add(spacer());
+        for (int i = 0; i < presets.size(); i++) {
+            parts.add(text(Integer.toString(i + 1)).fg(AppColors.WHITE));
+            parts.add(text(":" + presets.get(i).name() + "  ").fg(AppColors.BRAND_SECONDARY));
+        }
+        return row(parts.toArray(Element[]::new)).length(BAR_ROWS);
     }
 
     private Element renderFooter() {
@@ -345,10 +536,12 @@ public class MainScreen {
                 text("Space").fg(AppColors.WHITE), text(":toggle  ").fg(AppColors.BRAND_SECONDARY),
                 text("\u2190\u2192").fg(AppColors.WHITE), text(":change  ").fg(AppColors.BRAND_SECONDARY),
                 text("c").fg(AppColors.WHITE), text(":filter  ").fg(AppColors.BRAND_SECONDARY),
+                text("p").fg(AppColors.WHITE), text(":preview  ").fg(AppColors.BRAND_SECONDARY),
                 text("x").fg(AppColors.WHITE), text(":clear  ").fg(AppColors.BRAND_SECONDARY),
+                text("s").fg(AppColors.WHITE), text(":save preset  ").fg(AppColors.BRAND_SECONDARY),
                 text("?").fg(AppColors.WHITE), text(":help  ").fg(AppColors.BRAND_SECONDARY),
                 text("q").fg(AppColors.WHITE), text(":quit").fg(AppColors.BRAND_SECONDARY),
-                spacer()).length(1);
+                spacer()).length(BAR_ROWS);
     }
 
     private static String appVersion() {
@@ -0,0 +1,41 @@
+package org.maverick.devtools.ui;
+
+import dev.tamboui.layout.Constraint;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.element.Element;
+import dev.tamboui.toolkit.element.RenderContext;
+
+import java.util.function.IntFunction;
+
+/**
+ * Fills the space the layout leaves it and builds its content for the height
+ * of that area, when it is drawn. Lists render through one so they build
+ * exactly the rows that fit, however tall the terminal is and whatever else
+ * shares the screen.
+ */
+final class Viewport implements Element {
+
+    private final IntFunction<Element> content;
+
+    Viewport(IntFunction<Element> content) {
+        this.content = content;
+    }
+
+    /**
+     * The content for an area {@code height} rows tall.
+     */
+    Element layout(int height) {
+        return content.apply(height);
+    }
+
+    @Override
+    public void render(Frame frame, Rect area, RenderContext context) {
+        layout(area.height()).render(frame, area, context);
+    }
+
+    @Override
+    public Constraint constraint() {
+        return Constraint.fill();
+    }
+}
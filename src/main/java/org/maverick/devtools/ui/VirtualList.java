@@ -0,0 +1,72 @@
+package org.maverick.devtools.ui;
+
+/**
+ * Scroll window of a list drawn into a viewport of known height. Callers only
+ * build elements for rows {@link #start()} to {@link #end(int)}, so drawing
+ * costs the viewport height, not the list length.
+ * <p>
+ * The first visible row is the anchor. A resize keeps it in place unless the
+ * cursor would leave the viewport, or the end of the list would leave rows
+ * empty; scrolling only moves the window as far as the cursor needs, keeping
+ * a small margin of context around it.
+ */
+final class VirtualList {
+
+    static final int SCROLL_MARGIN = 2;
+
+    private int offset = 0;
+    private int height;
+
+    VirtualList(int height) {
+        this.height = Math.max(1, height);
+    }
+
+    /**
+     * Fit the window to {@code count} rows in {@code height} visible rows, with
+     * row {@code cursor} in view; -1 for a list without a cursor.
+     */
+    void layout(int count, int height, int cursor) {
+        this.height = Math.max(1, height);
+        if (cursor >= 0) {
+            int margin = Math.min(SCROLL_MARGIN, (this.height - 1) / 2);
+            if (cursor - margin < offset)
+                offset = cursor - margin;
+            else if (cursor + margin >= offset + this.height)
+                offset = cursor + margin - this.height + 1;
+        }
+        offset = clamp(offset, count);
+    }
+
+    void scrollBy(int delta, int count) {
+        offset = clamp(offset + delta, count);
+    }
+
+    void scrollTo(int row, int count) {
+        offset = clamp(row, count);
+    }
+
+    /**
+     * First visible row.
+     */
+    int start() {
+        return offset;
+    }
+
+    /**
+     * One past the last visible row of a list of {@code count} rows.
+     */
+    int end(int count) {
+        return Math.min(count, offset + height);
+    }
+
+    /**
+     * Visible rows as of the last layout.
+     */
+    int height() {
+        return height;
+    }
+
+    private int clamp(int row, int count) {
+        return Math.max(0, Math.min(row, count - height));
+    }
+}
@@ -1,29 +1,74 @@
 package org.maverick.devtools.util;
 
+import org.maverick.devtools.model.Preset;
 import org.maverick.devtools.model.ProjectConfig;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Persists user preferences and recently used dependency combinations
- * to ~/.spring-initializr/config.json.
+ * Persists user preferences, dependency usage and named presets to
+ * ~/.spring-initializr/config.json.
+ * <p>
+ * The parsed file is kept in memory and only re-read when its modification
+ * time or size changes, so repeated loads cost one stat. Saves return at once:
+ * they update the in-memory copy and queue a write on a background thread,
+ * where saves that pile up are coalesced into one. Each write goes to a
+ * temporary file that is atomically moved over config.json, so concurrent
+ * TUIs sharing a home directory never see a torn file. When another process
+ * wrote the file since this store last read or wrote it, the write first
+ * merges its changes: dependency usage and presets from both sides are kept,
+ * and settings changed here win. Call {@link #flush()} before exiting.
  */
 public class ConfigStore {
 
-    private static final Path DEFAULT_CONFIG_DIR = Path.of(System.getProperty("user.home"), ".spring-initializr");
-    static final int MAX_RECENT = 5;
+    /**
+     * System property and environment variable overriding
+     * {@link #DEFAULT_CONFIG_DIR}, e.g. to keep training and benchmark runs away
+     * from the user's preferences and metadata cache.
+     */
+    public static final String CONFIG_DIR_PROPERTY = "initializr.home";
+    public static final String CONFIG_DIR_ENV = "SPRING_INITIALIZR_HOME";
+    public static final Path DEFAULT_CONFIG_DIR = defaultConfigDir();
 
     private final Path configDir;
     private final Path configFile;
     private final ObjectMapper objectMapper;
 
+    // Shared by all stores; one thread keeps writes to a file in order
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        var thread = new Thread(r, "config-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock: the newest known preferences, the preferences and file
+    // state as last read or written, saves not yet on disk and the newest of them
+    private final Object lock = new Object();
+    private UserPreferences cached;
+    private UserPreferences onDisk;
+    private FileTime cachedModified;
+    private long cachedSize = -1;
+    private int unwritten;
+    private UserPreferences pendingWrite;
+
     public ConfigStore() {
         this(DEFAULT_CONFIG_DIR);
     }
@@ -35,38 +80,165 @@ public class ConfigStore {
                 .enable(SerializationFeature.INDENT_OUTPUT);
     }
 
+    private static Path defaultConfigDir() {
+        String dir = System.getProperty(CONFIG_DIR_PROPERTY);
+        if (dir == null || dir.isBlank())
+            dir = System.getenv(CONFIG_DIR_ENV);
+        return dir == null || dir.isBlank()
+                ? Path.of(System.getProperty("user.home"), ".spring-initializr")
+                : Path.of(dir.trim());
+    }
+
+    /**
+     * The current preferences as a copy the caller may change. Unwritten saves
+     * take precedence over the file; otherwise the file is parsed only when it
+     * changed since it was last read or written.
+     */
     public UserPreferences load() {
-        if (!Files.exists(configFile)) {
-            return new UserPreferences();
+        synchronized (lock) {
+            if (unwritten == 0)
+                refreshFromFile();
+            return cached != null ? cached.copy() : new UserPreferences();
         }
+    }
+
+    private void refreshFromFile() {
+        BasicFileAttributes attributes;
         try {
-            return objectMapper.readValue(configFile.toFile(), UserPreferences.class);
+            attributes = Files.readAttributes(configFile, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            cached = null;
+            onDisk = null;
+            cachedModified = null;
+            return;
+        } catch (IOException e) {
+            return;
+        }
+        if (cached != null && attributes.lastModifiedTime().equals(cachedModified)
+                && attributes.size() == cachedSize)
+            return;
+        try {
+            cached = objectMapper.readValue(configFile.toFile(), UserPreferences.class);
         } catch (Exception e) {
-            return new UserPreferences();
+            cached = new UserPreferences();
         }
+        onDisk = cached;
+        cachedModified = attributes.lastModifiedTime();
+        cachedSize = attributes.size();
     }
 
+    /**
+     * Make {@code prefs} the current preferences and write them in the
+     * background.
+     */
     public void save(UserPreferences prefs) {
+        synchronized (lock) {
+            cached = prefs.copy();
+            unwritten++;
+            boolean queued = pendingWrite != null;
+            pendingWrite = cached;
+            if (!queued)
+                WRITER.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Wait until every earlier save is on disk.
+     */
+    public void flush() {
         try {
-            Files.createDirectories(configDir);
-            objectMapper.writeValue(configFile.toFile(), prefs);
-        } catch (Exception e) {
-            // Silently fail — preferences are not critical
+            WRITER.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Cannot happen; writes handle their own failures
         }
     }
 
-    public void addRecentDependencies(UserPreferences prefs, List<String> deps) {
-        if (deps.isEmpty())
+    private void writePending() {
+        UserPreferences prefs;
+        UserPreferences base;
+        FileTime baseModified;
+        long baseSize;
+        int saves;
+        synchronized (lock) {
+            prefs = pendingWrite;
+            pendingWrite = null;
+            saves = unwritten;
+            base = onDisk != null ? onDisk : new UserPreferences();
+            baseModified = cachedModified;
+            baseSize = cachedSize;
+        }
+        if (prefs == null)
             return;
-        prefs.recentDependencies().removeIf(r -> r.equals(deps));
-        prefs.recentDependencies().add(0, new ArrayList<>(deps));
-        while (prefs.recentDependencies().size() > MAX_RECENT) {
-            prefs.recentDependencies().remove(prefs.recentDependencies().size() - 1);
+        // Another TUI may have written since; keep its usage and presets
+        var theirs = readIfChanged(baseModified, baseSize);
+        var merged = theirs != null ? UserPreferences.merge(base, prefs, theirs) : prefs;
+        var written = write(merged);
+        synchronized (lock) {
+            unwritten -= saves;
+            if (theirs != null) {
+                // Saves made since were not based on the other process's changes
+                cached = UserPreferences.merge(base, cached, theirs);
+                if (pendingWrite != null)
+                    pendingWrite = cached;
+            }
+            if (written != null) {
+                // Our own write must not count as an outside change
+                onDisk = merged;
+                cachedModified = written.lastModifiedTime();
+                cachedSize = written.size();
+            }
+        }
+    }
+
+    /**
+     * The preferences in the file when it no longer matches the given state,
+     * otherwise, or when it is missing or unreadable, null.
+     */
+    private UserPreferences readIfChanged(FileTime modified, long size) {
+        try {
+            var attributes = Files.readAttributes(configFile, BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().equals(modified) && attributes.size() == size)
+                return null;
+            return objectMapper.readValue(configFile.toFile(), UserPreferences.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private BasicFileAttributes write(UserPreferences prefs) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(configDir);
+            tmp = Files.createTempFile(configDir, "config", ".json.tmp");
+            objectMapper.writeValue(tmp.toFile(), prefs);
+            try {
+                Files.move(tmp, configFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, configFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return Files.readAttributes(configFile, BasicFileAttributes.class);
+        } catch (Exception e) {
+            // Silently fail — preferences are not critical
+            try {
+                if (tmp != null)
+                    Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // A stray temporary file is harmless
+            }
+            return null;
         }
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class UserPreferences {
+        /**
+         * Presets are applied with the keys 1 to 9.
+         */
+        public static final int MAX_PRESETS = 9;
+
         private String lastProjectType = "gradle-project";
         private String lastLanguage = "java";
         private String lastJavaVersion = "25";
@@ -74,7 +246,22 @@ public class ConfigStore {
         private String lastPackaging = "jar";
         private String lastApplicationFormat = "properties";
         private String postGenerateCommand = "";
-        private List<List<String>> recentDependencies = new ArrayList<>();
+        private DependencyUsage dependencyUsage = new DependencyUsage();
+        private List<Preset> presets = new ArrayList<>();
+
+        private UserPreferences copy() {
+            var copy = new UserPreferences();
+            copy.lastProjectType = lastProjectType;
+            copy.lastLanguage = lastLanguage;
+            copy.lastJavaVersion = lastJavaVersion;
+            copy.lastGroupId = lastGroupId;
+            copy.lastPackaging = lastPackaging;
+            copy.lastApplicationFormat = lastApplicationFormat;
+            copy.postGenerateCommand = postGenerateCommand;
+            copy.dependencyUsage = dependencyUsage.copy();
+            copy.presets = new ArrayList<>(presets);
+            return copy;
+        }
 
         public String getPostGenerateCommand() {
             return postGenerateCommand;
@@ -132,12 +319,97 @@ public class ConfigStore {
             this.lastApplicationFormat = v;
         }
 
-        public List<List<String>> recentDependencies() {
-            return recentDependencies;
+        public DependencyUsage getDependencyUsage() {
+            return dependencyUsage;
+        }
+
+        public void setDependencyUsage(DependencyUsage v) {
+            this.dependencyUsage = v != null ? v : new DependencyUsage();
+        }
+
+        public List<Preset> getPresets() {
+            return presets;
+        }
+
+        public void setPresets(List<Preset> v) {
+            this.presets = v != null ? new ArrayList<>(v) : new ArrayList<>();
+            this.presets.removeIf(preset -> preset == null || preset.name() == null);
+        }
+
+        /**
+         * Store a preset, replacing the one with the same name in its slot or
+         * taking the next free slot. Returns the slot index, or -1 when all
+         * {@link #MAX_PRESETS} slots hold other presets.
+         */
+        public int putPreset(Preset preset) {
+            for (int i = 0; i < presets.size(); i++) {
+                if (presets.get(i).name().equals(preset.name())) {
+                    presets.set(i, preset);
+                    return i;
+                }
+            }
+            if (presets.size() >= MAX_PRESETS)
+                return -1;
+            presets.add(preset);
+            return presets.size() - 1;
+        }
+
+        /**
+         * Three-way merge of preferences saved here ({@code ours}) with those
+         * another process wrote meanwhile ({@code theirs}), both changed from
+         * {@code base}. Settings take our value where we changed it, usage adds
+         * up both sides, and presets keep both sides' additions, edits and
+         * removals, ours winning a name both changed.
+         */
+        static UserPreferences merge(UserPreferences base, UserPreferences ours, UserPreferences theirs) {
+            var merged = theirs.copy();
+            merged.lastProjectType = pick(base.lastProjectType, ours.lastProjectType, theirs.lastProjectType);
+            merged.lastLanguage = pick(base.lastLanguage, ours.lastLanguage, theirs.lastLanguage);
+            merged.lastJavaVersion = pick(base.lastJavaVersion, ours.lastJavaVersion, theirs.lastJavaVersion);
+            merged.lastGroupId = pick(base.lastGroupId, ours.lastGroupId, theirs.lastGroupId);
+            merged.lastPackaging = pick(base.lastPackaging, ours.lastPackaging, theirs.lastPackaging);
+            merged.lastApplicationFormat = pick(base.lastApplicationFormat, ours.lastApplicationFormat,
+                    theirs.lastApplicationFormat);
+            merged.postGenerateCommand = pick(base.postGenerateCommand, ours.postGenerateCommand,
+                    theirs.postGenerateCommand);
+            merged.dependencyUsage = DependencyUsage.merge(base.dependencyUsage, ours.dependencyUsage,
+                    theirs.dependencyUsage);
+            for (var preset : base.presets) {
+                if (presetNamed(ours.presets, preset.name()) == null)
+                    merged.presets.removeIf(p -> p.name().equals(preset.name()));
+            }
+            for (var preset : ours.presets) {
+                if (!preset.equals(presetNamed(base.presets, preset.name())))
+                    merged.putPreset(preset);
+            }
+            return merged;
+        }
+
+        private static String pick(String base, String ours, String theirs) {
+            return Objects.equals(ours, base) ? theirs : ours;
+        }
+
+        private static Preset presetNamed(List<Preset> presets, String name) {
+            for (var preset : presets) {
+                if (preset.name().equals(name))
+                    return preset;
+            }
+            return null;
         }
 
-        public void setRecentDependencies(List<List<String>> v) {
-            this.recentDependencies = v;
+        /**
+         * Seeds the usage history from the last-five-lists format that preceded
+         * it, oldest list first, when the file has no history of its own.
+         */
+        @JsonProperty("recentDependencies")
+        private void setLegacyRecentDependencies(List<List<String>> recent) {
+            if (recent == null || !dependencyUsage.isEmpty())
+                return;
+            var now = Instant.now();
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                if (recent.get(i) != null)
+                    dependencyUsage.record(recent.get(i), now);
+            }
         }
     }
 }
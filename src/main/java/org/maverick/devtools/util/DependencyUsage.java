@@ -0,0 +1,184 @@
+package org.maverick.devtools.util;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Usage history of dependencies across generated projects: a frecency score
+ * per dependency and how often each pair of dependencies was generated
+ * together.
+ * <p>
+ * A score gains 1 per generation and halves every {@link #HALF_LIFE}. It is
+ * stored with the time it was last updated, so decay is only computed when the
+ * score is read or bumped. Recording a generation touches just its own
+ * dependencies and pairs, however long the history. Persisted as one small
+ * JSON object per dependency ever used.
+ */
+public final class DependencyUsage {
+
+    public static final Duration HALF_LIFE = Duration.ofDays(30);
+    private static final double HALF_LIFE_SECONDS = HALF_LIFE.toSeconds();
+
+    /**
+     * Usage of one dependency: its score as of {@code at} (epoch seconds) and
+     * generation counts by the dependencies it was used with.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    static final class Entry {
+        @JsonProperty("score")
+        private double score;
+        @JsonProperty("at")
+        private long at;
+        @JsonProperty("with")
+        private Map<String, Integer> with = new HashMap<>();
+
+        private Entry() {
+        }
+
+        private Entry copy() {
+            var copy = new Entry();
+            copy.score = score;
+            copy.at = at;
+            copy.with = new HashMap<>(with);
+            return copy;
+        }
+
+        private double scoreAt(long epochSecond) {
+            long elapsed = Math.max(0, epochSecond - at);
+            return elapsed == 0 ? score : score * Math.pow(0.5, elapsed / HALF_LIFE_SECONDS);
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    public DependencyUsage() {
+        this(new LinkedHashMap<>());
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    DependencyUsage(Map<String, Entry> entries) {
+        this.entries = entries != null ? new LinkedHashMap<>(entries) : new LinkedHashMap<>();
+        this.entries.values().removeIf(entry -> entry == null);
+        for (var entry : this.entries.values()) {
+            if (entry.with == null)
+                entry.with = new HashMap<>();
+        }
+    }
+
+    @JsonValue
+    Map<String, Entry> entries() {
+        return entries;
+    }
+
+    public DependencyUsage copy() {
+        var copy = new LinkedHashMap<String, Entry>();
+        entries.forEach((id, entry) -> copy.put(id, entry.copy()));
+        return new DependencyUsage(copy);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Record one generated project with the given dependencies.
+     */
+    public void record(Collection<String> dependencyIds, Instant now) {
+        var ids = new LinkedHashSet<>(dependencyIds);
+        long epochSecond = now.getEpochSecond();
+        for (String id : ids) {
+            var entry = entries.computeIfAbsent(id, k -> new Entry());
+            entry.score = entry.scoreAt(epochSecond) + 1;
+            entry.at = epochSecond;
+            for (String other : ids) {
+                if (!other.equals(id))
+                    entry.with.merge(other, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Usage recorded here ({@code ours}) combined with usage another process
+     * recorded meanwhile ({@code theirs}), both grown from {@code base}. A
+     * dependency only one side used keeps that side's entry; one both used
+     * gets our gain since {@code base} added to theirs, pair counts included.
+     */
+    public static DependencyUsage merge(DependencyUsage base, DependencyUsage ours, DependencyUsage theirs) {
+        var merged = theirs.copy();
+        ours.entries.forEach((id, entry) -> {
+            var from = base.entries.get(id);
+            var current = merged.entries.get(id);
+            if (sameAs(entry, from))
+                return;
+            if (current == null || sameAs(current, from)) {
+                merged.entries.put(id, entry.copy());
+                return;
+            }
+            long at = Math.max(entry.at, current.at);
+            var combined = current.copy();
+            combined.score = current.scoreAt(at) + entry.scoreAt(at) - (from != null ? from.scoreAt(at) : 0);
+            combined.at = at;
+            entry.with.forEach((other, count) -> {
+                int gain = count - (from != null ? from.with.getOrDefault(other, 0) : 0);
+                if (gain > 0)
+                    combined.with.merge(other, gain, Integer::sum);
+            });
+            merged.entries.put(id, combined);
+        });
+        return merged;
+    }
+
+    private static boolean sameAs(Entry entry, Entry other) {
+        return other != null && entry.score == other.score && entry.at == other.at && entry.with.equals(other.with);
+    }
+
+    /**
+     * Decayed score of a dependency at {@code now}; 0 if it was never used.
+     */
+    public double score(String dependencyId, Instant now) {
+        var entry = entries.get(dependencyId);
+        return entry != null ? entry.scoreAt(now.getEpochSecond()) : 0;
+    }
+
+    /**
+     * Every dependency ever used, highest score at {@code now} first.
+     */
+    public List<String> byScore(Instant now) {
+        long epochSecond = now.getEpochSecond();
+        var scores = new HashMap<String, Double>(entries.size() * 2);
+        entries.forEach((id, entry) -> scores.put(id, entry.scoreAt(epochSecond)));
+        var ids = new ArrayList<>(entries.keySet());
+        ids.sort(Comparator.comparingDouble(scores::get).reversed());
+        return ids;
+    }
+
+    /**
+     * How many generated projects had both dependencies.
+     */
+    public int countTogether(String dependencyId, String otherId) {
+        var entry = entries.get(dependencyId);
+        return entry != null ? entry.with.getOrDefault(otherId, 0) : 0;
+    }
+
+    /**
+     * Generation counts by the dependencies {@code dependencyId} was used with.
+     */
+    public Map<String, Integer> usedWith(String dependencyId) {
+        var entry = entries.get(dependencyId);
+        return entry != null ? Collections.unmodifiableMap(entry.with) : Map.of();
+    }
+}
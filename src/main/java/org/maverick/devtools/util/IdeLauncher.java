@@ -1,5 +1,7 @@
 package org.maverick.devtools.util;
 
+import org.maverick.devtools.diagnostics.IdeDetectionEvent;
+
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -19,7 +21,16 @@ public class IdeLauncher {
      * Scan for installed IDEs on the current system.
      */
     public static List<DetectedIde> detectIdes() {
-        return deduplicateIdes(LOCATOR.detectIdes());
+        var event = new IdeDetectionEvent();
+        event.begin();
+        var ides = deduplicateIdes(LOCATOR.detectIdes());
+        event.end();
+        if (event.shouldCommit()) {
+            event.locator = LOCATOR.getClass().getSimpleName();
+            event.found = ides.size();
+            event.commit();
+        }
+        return ides;
     }
 
     /**
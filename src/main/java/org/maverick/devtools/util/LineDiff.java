@@ -0,0 +1,444 @@
+package org.maverick.devtools.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Line diff for build files.
+ * <p>
+ * Common prefix and suffix are trimmed first, then lines that occur exactly
+ * once on each side are matched as anchors (patience diff) and the gaps between
+ * anchors are diffed with Myers' linear-space algorithm. Lines are compared as
+ * interned ints, and memory stays linear in the input size, so large
+ * multi-module build files with few changes diff in near-linear time.
+ * <p>
+ * A large gap without unique lines is split on its longest common run of
+ * rarely repeated lines instead (histogram diff). Myers only sees what is left
+ * after that, and gives up past {@link #MAX_SNAKE_COST} edits: the rest of the
+ * box becomes one removed block followed by one added block.
+ */
+public final class LineDiff {
+
+    public enum Kind {
+        SAME, ADDED, REMOVED
+    }
+
+    /**
+     * One line of the diff. {@code oldLine}/{@code newLine} are 1-based line
+     * numbers, 0 when the line does not exist on that side.
+     */
+    public record Line(Kind kind, String text, int oldLine, int newLine) {
+    }
+
+    // Gaps up to this many lines on both sides together go straight to Myers,
+    // which is minimal and still cheap at this size
+    static final int MYERS_LINES = 2_000;
+    // Lines repeated more often than this are not used to split a gap
+    static final int MAX_OCCURRENCES = 64;
+    // Half the edit distance a middle-snake search may reach before the box is
+    // reported as replaced; bounds Myers' O(ND) time
+    static final int MAX_SNAKE_COST = 1_000;
+
+    private LineDiff() {
+    }
+
+    public static List<Line> diff(List<String> before, List<String> after) {
+        var differ = run(before, after);
+
+        var lines = new ArrayList<Line>(Math.max(before.size(), after.size()));
+        int x = 0;
+        int y = 0;
+        for (int step = 0; step < differ.ops.size(); step++) {
+            switch (differ.ops.get(step)) {
+                case SAME -> {
+                    lines.add(new Line(Kind.SAME, after.get(y), x + 1, y + 1));
+                    x++;
+                    y++;
+                }
+                case REMOVED -> {
+                    lines.add(new Line(Kind.REMOVED, before.get(x), x + 1, 0));
+                    x++;
+                }
+                case ADDED -> {
+                    lines.add(new Line(Kind.ADDED, after.get(y), 0, y + 1));
+                    y++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Steps taken to diff the two sides, counted where the algorithms scan lines;
+     * for tests that check how the cost grows with the input.
+     */
+    static long steps(List<String> before, List<String> after) {
+        return run(before, after).steps;
+    }
+
+    private static Differ run(List<String> before, List<String> after) {
+        // Intern lines so the algorithms compare ints
+        var ids = new HashMap<String, Integer>();
+        int[] a = new int[before.size()];
+        int[] b = new int[after.size()];
+        for (int i = 0; i < a.length; i++)
+            a[i] = ids.computeIfAbsent(before.get(i), k -> ids.size());
+        for (int i = 0; i < b.length; i++)
+            b[i] = ids.computeIfAbsent(after.get(i), k -> ids.size());
+
+        var differ = new Differ(a, b, ids.size());
+        differ.patience(0, a.length, 0, b.length);
+        return differ;
+    }
+
+    public static boolean hasChanges(List<Line> lines) {
+        for (var line : lines) {
+            if (line.kind() != Kind.SAME)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Emits the edit script in order as a list of operations, one per output line.
+     */
+    private static final class Differ {
+
+        private final int[] a;
+        private final int[] b;
+        private final List<Kind> ops;
+        // Unique-line counts of a gap on each side (0 = unseen, 1 = once, 2 =
+        // more than once) and the index in b of each line; reset after every use
+        private final int[] uniqueCountA;
+        private final int[] uniqueCountB;
+        private final int[] uniquePosB;
+        // Histogram of a gap in a: occurrences per line and the first index of
+        // each, chained through nextSame; reset after every use
+        private final int[] occurrences;
+        private final int[] firstIndex;
+        private final int[] nextSame;
+        // Lines scanned and diagonals followed so far
+        long steps;
+
+        Differ(int[] a, int[] b, int alphabet) {
+            this.a = a;
+            this.b = b;
+            this.ops = new ArrayList<>(a.length + b.length);
+            this.uniqueCountA = new int[alphabet];
+            this.uniqueCountB = new int[alphabet];
+            this.uniquePosB = new int[alphabet];
+            this.occurrences = new int[alphabet];
+            this.firstIndex = new int[alphabet];
+            this.nextSame = new int[a.length];
+        }
+
+        void patience(int aLo, int aHi, int bLo, int bHi) {
+            // Common prefix and suffix
+            while (aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+                ops.add(Kind.SAME);
+                aLo++;
+                bLo++;
+                steps++;
+            }
+            int suffix = 0;
+            while (aLo < aHi - suffix && bLo < bHi - suffix && a[aHi - 1 - suffix] == b[bHi - 1 - suffix])
+                suffix++;
+            aHi -= suffix;
+            bHi -= suffix;
+            steps += suffix + 1;
+
+            if (aLo == aHi || bLo == bHi) {
+                myers(aLo, aHi, bLo, bHi);
+            } else {
+                int[] anchors = uniqueAnchors(aLo, aHi, bLo, bHi);
+                if (anchors.length == 0) {
+                    if (aHi - aLo + bHi - bLo <= MYERS_LINES)
+                        myers(aLo, aHi, bLo, bHi);
+                    else
+                        histogram(aLo, aHi, bLo, bHi);
+                } else {
+                    int x = aLo;
+                    int y = bLo;
+                    for (int i = 0; i < anchors.length; i += 2) {
+                        patience(x, anchors[i], y, anchors[i + 1]);
+                        ops.add(Kind.SAME);
+                        x = anchors[i] + 1;
+                        y = anchors[i + 1] + 1;
+                    }
+                    patience(x, aHi, y, bHi);
+                }
+            }
+            for (int i = 0; i < suffix; i++)
+                ops.add(Kind.SAME);
+        }
+
+        /**
+         * Pairs (aIndex, bIndex), flattened, of lines unique on both sides, reduced
+         * to the longest sequence increasing on both sides.
+         */
+        private int[] uniqueAnchors(int aLo, int aHi, int bLo, int bHi) {
+            steps += aHi - aLo + bHi - bLo;
+            int[] countA = uniqueCountA;
+            int[] countB = uniqueCountB;
+            int[] posB = uniquePosB;
+            for (int i = aLo; i < aHi; i++)
+                countA[a[i]] = Math.min(2, countA[a[i]] + 1);
+            for (int j = bLo; j < bHi; j++) {
+                countB[b[j]] = Math.min(2, countB[b[j]] + 1);
+                posB[b[j]] = j;
+            }
+
+            // Candidates in a-order; their b positions
+            int n = 0;
+            int[] candA = new int[aHi - aLo];
+            int[] candB = new int[aHi - aLo];
+            for (int i = aLo; i < aHi; i++) {
+                if (countA[a[i]] == 1 && countB[a[i]] == 1) {
+                    candA[n] = i;
+                    candB[n] = posB[a[i]];
+                    n++;
+                }
+            }
+            // Leave the counts clear for the next gap
+            for (int i = aLo; i < aHi; i++)
+                countA[a[i]] = 0;
+            for (int j = bLo; j < bHi; j++)
+                countB[b[j]] = 0;
+            if (n == 0)
+                return new int[0];
+
+            // Longest increasing subsequence of candB (patience sorting)
+            int[] tails = new int[n];
+            int[] prev = new int[n];
+            int length = 0;
+            for (int i = 0; i < n; i++) {
+                int lo = 0;
+                int hi = length;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (candB[tails[mid]] < candB[i])
+                        lo = mid + 1;
+                    else
+                        hi = mid;
+                }
+                prev[i] = lo > 0 ? tails[lo - 1] : -1;
+                tails[lo] = i;
+                if (lo == length)
+                    length++;
+            }
+            int[] anchors = new int[length * 2];
+            for (int i = tails[length - 1], k = length - 1; i >= 0; i = prev[i], k--) {
+                anchors[k * 2] = candA[i];
+                anchors[k * 2 + 1] = candB[i];
+            }
+            return anchors;
+        }
+
+        /**
+         * Split the gap on its longest common run, preferring runs whose rarest
+         * line occurs least often in a, and diff both sides of it. Falls back to
+         * Myers when every shared line repeats more than {@link #MAX_OCCURRENCES}
+         * times.
+         */
+        private void histogram(int aLo, int aHi, int bLo, int bHi) {
+            steps += aHi - aLo + bHi - bLo;
+            for (int i = aHi - 1; i >= aLo; i--) {
+                if (occurrences[a[i]] == 0)
+                    firstIndex[a[i]] = -1;
+                nextSame[i] = firstIndex[a[i]];
+                firstIndex[a[i]] = i;
+                occurrences[a[i]]++;
+            }
+
+            int runA = -1;
+            int runB = -1;
+            int runLength = 0;
+            int runCount = MAX_OCCURRENCES + 1;
+            for (int j = bLo; j < bHi;) {
+                int next = j + 1;
+                int count = occurrences[b[j]];
+                if (count > 0 && count <= runCount) {
+                    for (int i = firstIndex[b[j]]; i >= 0; i = nextSame[i]) {
+                        steps++;
+                        int as = i;
+                        int bs = j;
+                        int ae = i + 1;
+                        int be = j + 1;
+                        int rarest = count;
+                        while (as > aLo && bs > bLo && a[as - 1] == b[bs - 1]) {
+                            steps++;
+                            as--;
+                            bs--;
+                            rarest = Math.min(rarest, occurrences[a[as]]);
+                        }
+                        while (ae < aHi && be < bHi && a[ae] == b[be]) {
+                            steps++;
+                            rarest = Math.min(rarest, occurrences[a[ae]]);
+                            ae++;
+                            be++;
+                        }
+                        // Among equal runs the one nearest the middle keeps the recursion shallow
+                        if (ae - as > runLength || rarest < runCount || ae - as == runLength
+                                && rarest == runCount && distance(bs, bLo, bHi) < distance(runB, bLo, bHi)) {
+                            runA = as;
+                            runB = bs;
+                            runLength = ae - as;
+                            runCount = rarest;
+                        }
+                        next = Math.max(next, be);
+                    }
+                }
+                j = next;
+            }
+
+            for (int i = aLo; i < aHi; i++)
+                occurrences[a[i]] = 0;
+
+            if (runLength == 0) {
+                myers(aLo, aHi, bLo, bHi);
+                return;
+            }
+            patience(aLo, runA, bLo, runB);
+            for (int i = 0; i < runLength; i++)
+                ops.add(Kind.SAME);
+            patience(runA + runLength, aHi, runB + runLength, bHi);
+        }
+
+        private static int distance(int index, int lo, int hi) {
+            return Math.abs(2 * index - lo - hi);
+        }
+
+        /**
+         * Myers' O(ND) diff in linear space: find the middle snake of the shortest
+         * edit path, then recurse on both halves.
+         */
+        private void myers(int aLo, int aHi, int bLo, int bHi) {
+            if (aLo == aHi) {
+                for (int j = bLo; j < bHi; j++)
+                    ops.add(Kind.ADDED);
+                return;
+            }
+            if (bLo == bHi) {
+                for (int i = aLo; i < aHi; i++)
+                    ops.add(Kind.REMOVED);
+                return;
+            }
+            int[] snake = middleSnake(aLo, aHi, bLo, bHi);
+            if (snake == null) {
+                // Too far apart to be worth aligning line by line
+                for (int i = aLo; i < aHi; i++)
+                    ops.add(Kind.REMOVED);
+                for (int j = bLo; j < bHi; j++)
+                    ops.add(Kind.ADDED);
+                return;
+            }
+            if (snake[4] == 1) {
+                // The halves would not be smaller than this box; a single edit is easy to place directly
+                singleEdit(aLo, aHi, bLo, bHi);
+                return;
+            }
+            int x = snake[0];
+            int y = snake[1];
+            int u = snake[2];
+            int v = snake[3];
+            myers(aLo, x, bLo, y);
+            for (int i = x; i < u; i++)
+                ops.add(Kind.SAME);
+            myers(u, aHi, v, bHi);
+        }
+
+        /**
+         * Boxes whose sides differ by exactly one line.
+         */
+        private void singleEdit(int aLo, int aHi, int bLo, int bHi) {
+            int x = aLo;
+            int y = bLo;
+            while (x < aHi && y < bHi && a[x] == b[y]) {
+                ops.add(Kind.SAME);
+                x++;
+                y++;
+            }
+            if (aHi - x > bHi - y) {
+                ops.add(Kind.REMOVED);
+                x++;
+            } else {
+                ops.add(Kind.ADDED);
+            }
+            for (; x < aHi; x++)
+                ops.add(Kind.SAME);
+        }
+
+        /**
+         * Returns {x, y, u, v, d}: the middle snake runs from (x, y) to (u, v) and
+         * the shortest edit script has length d. Null when that would take more
+         * than {@link #MAX_SNAKE_COST} steps from either end.
+         */
+        private int[] middleSnake(int aLo, int aHi, int bLo, int bHi) {
+            int n = aHi - aLo;
+            int m = bHi - bLo;
+            int delta = n - m;
+            boolean odd = (delta & 1) != 0;
+            int max = (n + m + 1) / 2;
+            int offset = max + 1;
+            int[] vf = new int[2 * max + 3];
+            int[] vb = new int[2 * max + 3];
+            Arrays.fill(vf, -1);
+            Arrays.fill(vb, -1);
+            // vf[k]: furthest x on forward diagonal k = x - y (relative to aLo/bLo)
+            // vb[k]: furthest x on reverse diagonal k, counted from (aHi, bHi) backwards
+            vf[offset + 1] = 0;
+            vb[offset + 1] = 0;
+
+            for (int d = 0; d <= max; d++) {
+                if (d > MAX_SNAKE_COST)
+                    return null;
+                for (int k = -d; k <= d; k += 2) {
+                    steps++;
+                    int x;
+                    if (k == -d || (k != d && vf[offset + k - 1] < vf[offset + k + 1]))
+                        x = vf[offset + k + 1];
+                    else
+                        x = vf[offset + k - 1] + 1;
+                    int y = x - k;
+                    int startX = x;
+                    int startY = y;
+                    while (x < n && y < m && a[aLo + x] == b[bLo + y]) {
+                        steps++;
+                        x++;
+                        y++;
+                    }
+                    vf[offset + k] = x;
+                    // Reverse diagonal that overlaps forward diagonal k
+                    int c = delta - k;
+                    if (odd && c >= -(d - 1) && c <= d - 1 && vb[offset + c] >= 0 && x + vb[offset + c] >= n) {
+                        return new int[] { aLo + startX, bLo + startY, aLo + x, bLo + y, 2 * d - 1 };
+                    }
+                }
+                for (int c = -d; c <= d; c += 2) {
+                    steps++;
+                    int x;
+                    if (c == -d || (c != d && vb[offset + c - 1] < vb[offset + c + 1]))
+                        x = vb[offset + c + 1];
+                    else
+                        x = vb[offset + c - 1] + 1;
+                    int y = x - c;
+                    int startX = x;
+                    int startY = y;
+                    while (x < n && y < m && a[aHi - 1 - x] == b[bHi - 1 - y]) {
+                        steps++;
+                        x++;
+                        y++;
+                    }
+                    vb[offset + c] = x;
+                    int k = delta - c;
+                    if (!odd && k >= -d && k <= d && vf[offset + k] >= 0 && x + vf[offset + k] >= n) {
+                        return new int[] { aHi - x, bHi - y, aHi - startX, bHi - startY, 2 * d };
+                    }
+                }
+            }
+            throw new IllegalStateException("No middle snake found");
+        }
+    }
+}
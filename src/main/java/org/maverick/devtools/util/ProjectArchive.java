@@ -0,0 +1,218 @@
+package org.maverick.devtools.util;
+
+import org.maverick.devtools.diagnostics.ZipExtractEvent;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Extracts project ZIPs returned by start.spring.io, either into memory for the
+ * explore screen or onto disk for generation.
+ */
+public final class ProjectArchive {
+
+    private static final Set<String> SKIP_EXTENSIONS = Set.of(
+            ".jar", ".class", ".png", ".jpg", ".jpeg", ".gif", ".ico", ".exe", ".bin");
+
+    private static final Set<String> SKIP_FILES = Set.of(
+            "mvnw", "mvnw.cmd", "gradlew", "gradlew.bat");
+
+    private ProjectArchive() {
+    }
+
+    /**
+     * Extract the text files of a project ZIP into an ordered map of relative path
+     * to content. The build file comes first, remaining files are sorted
+     * alphabetically.
+     */
+    public static LinkedHashMap<String, String> extractToMap(byte[] zipBytes, String projectType,
+            String applicationFormat) throws IOException {
+        // Determine the build file name to put first
+        String buildFileName = switch (projectType) {
+            case "gradle-project" -> "build.gradle";
+            case "gradle-project-kotlin" -> "build.gradle.kts";
+            default -> "pom.xml";
+        };
+
+        var allFiles = new TreeMap<String, String>();
+        String buildFileContent = null;
+        String buildFileKey = null;
+        var event = new ZipExtractEvent();
+        event.begin();
+        int entries = 0;
+        long bytes = 0;
+
+        try (var zis = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (entry.isDirectory())
+                    continue;
+
+                String name = entry.getName();
+                // Strip leading directory (e.g., "demo/pom.xml" -> "pom.xml")
+                int slash = name.indexOf('/');
+                String relativeName = slash >= 0 ? name.substring(slash + 1) : name;
+                if (relativeName.isEmpty())
+                    continue;
+
+                // Skip binary files and wrapper scripts
+                String simpleName = relativeName.contains("/")
+                        ? relativeName.substring(relativeName.lastIndexOf('/') + 1)
+                        : relativeName;
+                if (SKIP_FILES.contains(simpleName))
+                    continue;
+                boolean skip = false;
+                for (String ext : SKIP_EXTENSIONS) {
+                    if (simpleName.toLowerCase().endsWith(ext)) {
+                        skip = true;
+                        break;
+                    }
+                }
+                if (skip)
+                    continue;
+
+                byte[] data = zis.readAllBytes();
+                entries++;
+                bytes += data.length;
+                String content = new String(data, StandardCharsets.UTF_8);
+
+                if (simpleName.equals(buildFileName)) {
+                    buildFileKey = relativeName;
+                    buildFileContent = content;
+                } else {
+                    allFiles.put(relativeName, content);
+                }
+            }
+        }
+        commit(event, "memory", entries, bytes);
+
+        // Convert application.properties to application.yml if YAML format selected
+        if ("yaml".equals(applicationFormat)) {
+            var converted = new TreeMap<String, String>();
+            for (var entry2 : allFiles.entrySet()) {
+                String key = entry2.getKey();
+                if (key.endsWith("application.properties")) {
+                    String ymlKey = key.replace("application.properties", "application.yml");
+                    converted.put(ymlKey, propertiesToYaml(entry2.getValue()));
+                } else {
+                    converted.put(key, entry2.getValue());
+                }
+            }
+            allFiles = converted;
+        }
+
+        // Build file first, then remaining sorted alphabetically
+        var result = new LinkedHashMap<String, String>();
+        if (buildFileKey != null) {
+            result.put(buildFileKey, buildFileContent);
+        }
+        result.putAll(allFiles);
+        return result;
+    }
+
+    /**
+     * Extract a downloaded project ZIP into the destination directory.
+     */
+    public static void extract(Path zipPath, Path destDir, String applicationFormat) throws IOException {
+        try (var in = Files.newInputStream(zipPath)) {
+            extract(in, destDir, applicationFormat);
+        }
+    }
+
+    /**
+     * Extract a project ZIP as it is read, e.g. straight from an HTTP response,
+     * without staging the archive on disk. The stream is not closed.
+     */
+    public static void extract(InputStream zipStream, Path destDir, String applicationFormat) throws IOException {
+        Files.createDirectories(destDir);
+        boolean yaml = "yaml".equals(applicationFormat);
+        var event = new ZipExtractEvent();
+        event.begin();
+        int entries = 0;
+        long bytes = 0;
+        var zis = new ZipInputStream(new BufferedInputStream(zipStream));
+        ZipEntry entry;
+        while ((entry = zis.getNextEntry()) != null) {
+            Path entryPath = destDir.resolve(entry.getName()).normalize();
+            if (!entryPath.startsWith(destDir)) {
+                throw new IOException("Bad zip entry: " + entry.getName());
+            }
+            if (entry.isDirectory()) {
+                Files.createDirectories(entryPath);
+                continue;
+            }
+            Files.createDirectories(entryPath.getParent());
+            if (yaml && entryPath.getFileName().toString().equals("application.properties")) {
+                // Convert while extracting instead of walking the tree afterwards
+                String converted = propertiesToYaml(new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+                Files.writeString(entryPath.resolveSibling("application.yml"), converted);
+                bytes += converted.length();
+            } else {
+                bytes += Files.copy(zis, entryPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            entries++;
+        }
+        commit(event, "disk", entries, bytes);
+    }
+
+    private static void commit(ZipExtractEvent event, String target, int entries, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.target = target;
+            event.entries = entries;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    static String propertiesToYaml(String properties) {
+        var lines = properties.lines().toList();
+        var sb = new StringBuilder();
+        String[] prevParts = new String[0];
+
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                sb.append(trimmed).append('\n');
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            if (eq < 0) {
+                sb.append(trimmed).append('\n');
+                continue;
+            }
+            String key = trimmed.substring(0, eq).trim();
+            String value = trimmed.substring(eq + 1).trim();
+            String[] parts = key.split("\\.");
+
+            // Find common prefix with previous key
+            int common = 0;
+            for (int i = 0; i < Math.min(parts.length - 1, prevParts.length - 1); i++) {
+                if (parts[i].equals(prevParts[i]))
+                    common++;
+                else
+                    break;
+            }
+
+            // Write each new nesting level
+            for (int i = common; i < parts.length - 1; i++) {
+                sb.append("  ".repeat(i)).append(parts[i]).append(":\n");
+            }
+            int indent = parts.length - 1;
+            sb.append("  ".repeat(indent)).append(parts[parts.length - 1]).append(": ").append(value).append('\n');
+            prevParts = parts;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,12 @@
+@echo off
+rem Starts the Spring Initializr TUI on the JVM with the AppCDS archive built by
+rem `mvn -Pappcds package` and flags tuned for a short-lived interactive app.
+rem JAVA_HOME selects the JDK; JAVA_OPTS adds JVM flags.
+setlocal
+set "DIR=%~dp0"
+if defined JAVA_HOME (set "JAVA=%JAVA_HOME%\bin\java") else (set "JAVA=java")
+
+"%JAVA%" -XX:SharedArchiveFile="%DIR%spring-initializr-tui.jsa" -XX:+AutoCreateSharedArchive ^
+    -XX:TieredStopAtLevel=1 -XX:+UseSerialGC -XX:-UsePerfData ^
+    --enable-preview %JAVA_OPTS% ^
+    -jar "%DIR%@project.build.finalName@.jar" %*
@@ -0,0 +1,85 @@
+package org.maverick.devtools;
+
+import org.maverick.devtools.api.FakeInitializrServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Training run for {@code mvn -Pappcds package}: starts the packaged jar against
+ * a local stand-in server, lets it quit after the first frame of the main screen
+ * and dumps the classes it loaded into a dynamic AppCDS archive next to the jar.
+ * It then times cold starts as a plain {@code java -jar}, with the launcher's
+ * flags and with the launcher's flags plus the archive.
+ * <p>
+ * Arguments: the build directory and the jar's file name. Tune the number of
+ * timed starts with {@code -Dappcds.runs=N}.
+ */
+public class AppCdsTraining {
+
+    static final String ARCHIVE = "spring-initializr-tui.jsa";
+    static final String LAUNCHER = "spring-initializr-tui-jvm";
+
+    // Same flags as src/main/launcher; an archive only applies to the
+    // configuration it was dumped with
+    static final List<String> LAUNCHER_FLAGS = List.of(
+            "-XX:TieredStopAtLevel=1", "-XX:+UseSerialGC", "-XX:-UsePerfData", "--enable-preview");
+
+    private static final int RUNS = Integer.getInteger("appcds.runs", 5);
+
+    public static void main(String[] args) throws Exception {
+        Path buildDir = Path.of(args[0]).toAbsolutePath();
+        Path jar = buildDir.resolve(args[1]);
+        Path archive = buildDir.resolve(ARCHIVE);
+        Files.deleteIfExists(archive);
+
+        try (var server = FakeInitializrServer.start()) {
+            var app = new AppProcess(buildDir, server.baseUrl());
+
+            var dump = new ArrayList<>(LAUNCHER_FLAGS);
+            dump.add("-XX:ArchiveClassesAtExit=" + archive);
+            int exit = app.run(AppProcess.jvm(jar, dump), "--exit-after-first-frame").exitCode();
+            if (exit != 0 || !Files.exists(archive)) {
+                System.err.println("AppCDS training run failed with exit code " + exit);
+                System.exit(1);
+            }
+            System.out.printf("AppCDS archive: %s (%,d KB)%n", archive, Files.size(archive) / 1024);
+
+            var withArchive = new ArrayList<>(LAUNCHER_FLAGS);
+            withArchive.add("-XX:SharedArchiveFile=" + archive);
+            double plain = medianMillis(app, AppProcess.jvm(jar, List.of("--enable-preview")));
+            double flagsOnly = medianMillis(app, AppProcess.jvm(jar, LAUNCHER_FLAGS));
+            double archived = medianMillis(app, AppProcess.jvm(jar, withArchive));
+
+            System.out.printf("Cold start to first frame, median of %d runs:%n", RUNS);
+            System.out.printf("  %-34s %8.1f ms%n", "java -jar", plain);
+            System.out.printf("  %-34s %8.1f ms  %+.0f%%%n", "launcher flags", flagsOnly, change(plain, flagsOnly));
+            System.out.printf("  %-34s %8.1f ms  %+.0f%%%n", "launcher flags + AppCDS archive", archived,
+                    change(plain, archived));
+        }
+
+        // Resources are copied without file modes
+        buildDir.resolve(LAUNCHER).toFile().setExecutable(true);
+    }
+
+    private static double change(double baseline, double value) {
+        return (value - baseline) / baseline * 100;
+    }
+
+    private static double medianMillis(AppProcess app, List<String> command)
+            throws IOException, InterruptedException {
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            var result = app.run(command, "--exit-after-first-frame");
+            if (result.exitCode() != 0)
+                throw new IOException("Timed start failed with exit code " + result.exitCode() + ": " + command);
+            samples[i] = result.nanos();
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2] / 1e6;
+    }
+}
@@ -0,0 +1,76 @@
+package org.maverick.devtools;
+
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.util.ConfigStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the packaged app, on the JVM or as a native binary, as a child process
+ * pointed at a local stand-in server. Every run gets a fresh configuration
+ * directory under the build directory, so all runs take the same path:
+ * metadata from the server, no cached snapshot, default preferences.
+ */
+final class AppProcess {
+
+    static final long TIMEOUT_SECONDS = 60;
+
+    /**
+     * Exit code (-1 on timeout), wall-clock time and configuration directory of
+     * one run.
+     */
+    record Result(int exitCode, long nanos, Path home) {
+    }
+
+    private final Path buildDir;
+    private final String baseUrl;
+
+    AppProcess(Path buildDir, String baseUrl) {
+        this.buildDir = buildDir;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Command prefix that starts the packaged jar with the given JVM flags.
+     */
+    static List<String> jvm(Path jar, List<String> flags) {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(flags);
+        command.add("-jar");
+        command.add(jar.toString());
+        return command;
+    }
+
+    /**
+     * The native binary at {@code path}, or {@code path.exe} on Windows.
+     */
+    static Path nativeBinary(Path path) {
+        Path exe = path.resolveSibling(path.getFileName() + ".exe");
+        return !Files.exists(path) && Files.exists(exe) ? exe : path;
+    }
+
+    /**
+     * Run {@code command} plus {@code args} on this terminal and wait for it.
+     */
+    Result run(List<String> command, String... args) throws IOException, InterruptedException {
+        Path home = Files.createTempDirectory(buildDir, "app-home");
+        var builder = new ProcessBuilder(command).inheritIO();
+        builder.command().addAll(List.of(args));
+        builder.environment().put(InitializrClient.BASE_URL_ENV, baseUrl);
+        builder.environment().put(ConfigStore.CONFIG_DIR_ENV, home.toString());
+
+        long start = System.nanoTime();
+        var process = builder.start();
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            return new Result(-1, System.nanoTime() - start, home);
+        }
+        return new Result(process.exitValue(), System.nanoTime() - start, home);
+    }
+}
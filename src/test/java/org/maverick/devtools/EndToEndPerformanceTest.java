@@ -0,0 +1,115 @@
+package org.maverick.devtools;
+
+import org.maverick.devtools.api.FakeInitializrServer;
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.model.ProjectConfig;
+import org.maverick.devtools.ui.ExploreScreen;
+import org.maverick.devtools.ui.MainScreen;
+import org.maverick.devtools.util.ConfigStore;
+import org.maverick.devtools.util.ProjectArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end harness that drives the same client, archive and screen code as the
+ * TUI against a local stand-in server, and prints cold start, explore and
+ * generate latencies.
+ * <p>
+ * Tune with {@code -De2e.iterations=N}, {@code -De2e.latencyMs=N} and
+ * {@code -De2e.bytesPerSecond=N} to reproduce slow links.
+ */
+class EndToEndPerformanceTest {
+
+    private static final int ITERATIONS = Integer.getInteger("e2e.iterations", 5);
+    private static final long LATENCY_MS = Long.getLong("e2e.latencyMs", 0);
+    private static final long BYTES_PER_SECOND = Long.getLong("e2e.bytesPerSecond", 0);
+
+    @TempDir
+    Path tempDir;
+
+    private FakeInitializrServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = FakeInitializrServer.start()
+                .latency(Duration.ofMillis(LATENCY_MS))
+                .bandwidth(BYTES_PER_SECOND);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void measuresColdStartExploreAndGenerate() throws Exception {
+        var coldStart = new ArrayList<Long>();
+        var explore = new ArrayList<Long>();
+        var generate = new ArrayList<Long>();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            // Cold start: client creation through to a constructed main screen
+            long start = System.nanoTime();
+            var client = new InitializrClient(server.baseUrl());
+            var metadata = client.fetchMetadata();
+            var config = new ProjectConfig();
+            var index = MetadataIndex.of(metadata);
+            config.applyDefaults(metadata, index);
+            var prefs = new ConfigStore(tempDir.resolve("config")).load();
+            var mainScreen = new MainScreen(metadata, index, config, prefs.getDependencyUsage());
+            coldStart.add(System.nanoTime() - start);
+            assertThat(mainScreen.getDependencyPicker()).isNotNull();
+
+            config.setProjectType("maven-project");
+            config.setArtifactId("service-" + i);
+            config.toggleDependency("web");
+            config.toggleDependency("data-jpa");
+
+            // Explore: download into memory, extract text files, build the screen
+            start = System.nanoTime();
+            var files = ProjectArchive.extractToMap(client.fetchProjectZip(config), config.getProjectType(),
+                    config.getApplicationFormat());
+            var exploreScreen = new ExploreScreen(files);
+            explore.add(System.nanoTime() - start);
+            assertThat(files.keySet().iterator().next()).isEqualTo("pom.xml");
+            assertThat(exploreScreen.getScrollInfo(20)).isNotEmpty();
+
+            // Generate: download to disk and extract
+            start = System.nanoTime();
+            Path zip = client.generateProject(config, tempDir);
+            Path projectDir = tempDir.resolve(config.getArtifactId());
+            ProjectArchive.extract(zip, projectDir, config.getApplicationFormat());
+            Files.deleteIfExists(zip);
+            generate.add(System.nanoTime() - start);
+            assertThat(projectDir.resolve(config.getArtifactId() + "/pom.xml")).exists();
+        }
+
+        System.out.printf("%nEnd-to-end latencies (%d iterations, latency=%dms, bandwidth=%s)%n",
+                ITERATIONS, LATENCY_MS, BYTES_PER_SECOND > 0 ? BYTES_PER_SECOND + " B/s" : "unlimited");
+        System.out.printf("  %-12s %10s %10s %10s%n", "phase", "first", "median", "p95");
+        report("cold start", coldStart);
+        report("explore", explore);
+        report("generate", generate);
+    }
+
+    private static void report(String phase, List<Long> samples) {
+        var sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        long median = sorted.get(sorted.size() / 2);
+        long p95 = sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(sorted.size() * 0.95) - 1));
+        System.out.printf("  %-12s %8.1fms %8.1fms %8.1fms%n", phase,
+                samples.get(0) / 1e6, median / 1e6, p95 / 1e6);
+    }
+}
@@ -0,0 +1,36 @@
+package org.maverick.devtools;
+
+import org.maverick.devtools.api.FakeInitializrServer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs the native binary with {@code --smoke-test} against a local stand-in
+ * server after {@code mvn -Pnative package} and exits with its exit code, so a
+ * binary built from stale reachability metadata fails the build.
+ * <p>
+ * Arguments: the build directory and the binary's file name (without
+ * {@code .exe}).
+ */
+public class NativeSmokeRun {
+
+    public static void main(String[] args) throws Exception {
+        Path buildDir = Path.of(args[0]).toAbsolutePath();
+        Path binary = AppProcess.nativeBinary(buildDir.resolve(args[1]));
+        if (!Files.isExecutable(binary)) {
+            System.err.println("Native binary not found: " + binary);
+            System.exit(1);
+        }
+
+        int exit;
+        try (var server = FakeInitializrServer.start()) {
+            exit = new AppProcess(buildDir, server.baseUrl()).run(List.of(binary.toString()), "--smoke-test")
+                    .exitCode();
+        }
+        if (exit != 0)
+            System.err.println("Native smoke test failed with exit code " + exit);
+        System.exit(exit);
+    }
+}
@@ -0,0 +1,118 @@
+package org.maverick.devtools;
+
+import org.maverick.devtools.api.FakeInitializrServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compares time to first frame and peak RSS of the native binary, the AppCDS
+ * JVM launcher configuration and a plain {@code java -jar}, each started
+ * against a local stand-in server with {@code --exit-after-first-frame
+ * --startup-report}. Figures come from the startup report each run appends to
+ * its own startup.log; peak RSS is only reported on Linux.
+ * <p>
+ * Arguments: the build directory, the jar's file name and the native binary's
+ * file name. Variants whose artifacts are missing are skipped. Tune the number
+ * of runs with {@code -Dbenchmark.runs=N}.
+ */
+public class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 10);
+    private static final Pattern REPORT_LINE = Pattern.compile("^\\s+(.+?)\\s+([\\d.]+) (ms|MB)$");
+
+    /**
+     * Medians over all runs of one variant; NaN when not reported.
+     */
+    record Summary(double firstFrameMillis, double wallMillis, double peakRssMegabytes) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path buildDir = Path.of(args[0]).toAbsolutePath();
+        Path jar = buildDir.resolve(args[1]);
+        Path binary = AppProcess.nativeBinary(buildDir.resolve(args[2]));
+        Path archive = buildDir.resolve(AppCdsTraining.ARCHIVE);
+
+        var variants = new LinkedHashMap<String, List<String>>();
+        if (Files.isExecutable(binary))
+            variants.put("native", List.of(binary.toString()));
+        if (Files.exists(archive)) {
+            var flags = new ArrayList<>(AppCdsTraining.LAUNCHER_FLAGS);
+            flags.add("-XX:SharedArchiveFile=" + archive);
+            variants.put("JVM, launcher + AppCDS", AppProcess.jvm(jar, flags));
+        }
+        variants.put("JVM, java -jar", AppProcess.jvm(jar, List.of("--enable-preview")));
+
+        var summaries = new LinkedHashMap<String, Summary>();
+        try (var server = FakeInitializrServer.start()) {
+            var app = new AppProcess(buildDir, server.baseUrl());
+            for (var variant : variants.entrySet())
+                summaries.put(variant.getKey(), measure(app, variant.getValue()));
+        }
+        System.out.print(report(summaries));
+    }
+
+    private static Summary measure(AppProcess app, List<String> command) throws IOException, InterruptedException {
+        double[] firstFrame = new double[RUNS];
+        double[] wall = new double[RUNS];
+        double[] rss = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            var result = app.run(command, "--exit-after-first-frame", "--startup-report");
+            if (result.exitCode() != 0)
+                throw new IOException("Run failed with exit code " + result.exitCode() + ": " + command);
+            var figures = parseReport(result.home().resolve("startup.log"));
+            firstFrame[i] = figures.getOrDefault("JVM start -> main", Double.NaN)
+                    + figures.getOrDefault("Total: main -> first frame", Double.NaN);
+            wall[i] = result.nanos() / 1e6;
+            rss[i] = figures.getOrDefault("Peak RSS", Double.NaN);
+        }
+        return new Summary(median(firstFrame), median(wall), median(rss));
+    }
+
+    static Map<String, Double> parseReport(Path log) throws IOException {
+        var figures = new LinkedHashMap<String, Double>();
+        for (String line : Files.readAllLines(log)) {
+            var matcher = REPORT_LINE.matcher(line);
+            if (matcher.matches())
+                figures.put(matcher.group(1), Double.parseDouble(matcher.group(2)));
+        }
+        return figures;
+    }
+
+    static String report(Map<String, Summary> summaries) {
+        var sb = new StringBuilder();
+        sb.append(String.format("Startup benchmark, median of %d runs%n", RUNS));
+        sb.append(String.format("  %-24s %14s %12s %12s%n", "variant", "first frame", "wall", "peak RSS"));
+        for (var entry : summaries.entrySet()) {
+            var summary = entry.getValue();
+            sb.append(String.format("  %-24s %11.1f ms %9.1f ms %12s%n", entry.getKey(), summary.firstFrameMillis(),
+                    summary.wallMillis(), Double.isNaN(summary.peakRssMegabytes())
+                            ? "n/a"
+                            : String.format("%.1f MB", summary.peakRssMegabytes())));
+        }
+        var nativeImage = summaries.get("native");
+        var jvm = summaries.get("JVM, java -jar");
+        if (nativeImage != null && jvm != null) {
+            sb.append(String.format("Native vs java -jar: %.1fx faster to first frame",
+                    jvm.firstFrameMillis() / nativeImage.firstFrameMillis()));
+            if (!Double.isNaN(nativeImage.peakRssMegabytes()) && !Double.isNaN(jvm.peakRssMegabytes()))
+                sb.append(String.format(", %.0f%% less peak RSS",
+                        (1 - nativeImage.peakRssMegabytes() / jvm.peakRssMegabytes()) * 100));
+            sb.append(String.format("%n"));
+        }
+        return sb.toString();
+    }
+
+    private static double median(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
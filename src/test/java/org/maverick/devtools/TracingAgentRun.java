@@ -0,0 +1,33 @@
+package org.maverick.devtools;
+
+import org.maverick.devtools.api.FakeInitializrServer;
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.diagnostics.SmokeTest;
+import org.maverick.devtools.util.ConfigStore;
+
+import java.nio.file.Files;
+
+/**
+ * Workload for the native-image tracing agent
+ * ({@code mvn -Pnative -Dagent=true ... exec:exec@java-agent}): runs the
+ * headless smoke test in this JVM against a local stand-in server and, when
+ * attached to a terminal, the TUI up to its first frame, so the agent sees the
+ * reflection and resource access of both.
+ */
+public class TracingAgentRun {
+
+    public static void main(String[] args) throws Exception {
+        int exit;
+        try (var server = FakeInitializrServer.start()) {
+            // Both are read when the classes using them are first initialized
+            System.setProperty(InitializrClient.BASE_URL_PROPERTY, server.baseUrl());
+            System.setProperty(ConfigStore.CONFIG_DIR_PROPERTY,
+                    Files.createTempDirectory("agent-home").toString());
+
+            exit = SmokeTest.run(System.out);
+            if (exit == 0 && System.console() != null)
+                SpringInitializrTui.main(new String[] { "--exit-after-first-frame" });
+        }
+        System.exit(exit);
+    }
+}
@@ -0,0 +1,97 @@
+package org.maverick.devtools.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentEncodingTest {
+
+    private static final String DOCUMENT = "{\"dependencies\":{\"values\":[]}}".repeat(50);
+
+    @Test
+    void decode_gzip() throws IOException {
+        var body = compress(out -> new GZIPOutputStream(out));
+
+        assertThat(read(ContentEncoding.decode(body, "gzip"))).isEqualTo(DOCUMENT);
+    }
+
+    @Test
+    void decode_zlibDeflate() throws IOException {
+        var body = compress(out -> new DeflaterOutputStream(out));
+
+        assertThat(read(ContentEncoding.decode(body, "deflate"))).isEqualTo(DOCUMENT);
+    }
+
+    @Test
+    void decode_rawDeflate() throws IOException {
+        var body = compress(out -> new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, true)));
+
+        assertThat(read(ContentEncoding.decode(body, "deflate"))).isEqualTo(DOCUMENT);
+    }
+
+    @Test
+    void decode_identityPassesThrough() throws IOException {
+        var body = new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(read(ContentEncoding.decode(body, "identity"))).isEqualTo(DOCUMENT);
+    }
+
+    @Test
+    void close_readsBodyToTheEnd() throws IOException {
+        var body = new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        var in = ContentEncoding.decode(body, "identity");
+
+        in.read(new byte[10]);
+        in.close();
+        in.close();
+
+        assertThat(body.available()).isZero();
+    }
+
+    @Test
+    void decode_rejectsUnknownEncoding() {
+        assertThatThrownBy(() -> ContentEncoding.decode(new ByteArrayInputStream(new byte[0]), "br"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("br");
+    }
+
+    @Test
+    void countingStream_countsBytesRead() throws IOException {
+        var counting = new ContentEncoding.CountingInputStream(
+                new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8)));
+
+        counting.read();
+        counting.readAllBytes();
+
+        assertThat(counting.count()).isEqualTo(DOCUMENT.length());
+    }
+
+    private interface Compressor {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    private static InputStream compress(Compressor compressor) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = compressor.wrap(bytes)) {
+            out.write(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package org.maverick.devtools.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Local stand-in for start.spring.io built on the JDK's HTTP server.
+ * Serves recorded metadata plus synthesized build files and project ZIPs, with
+ * injectable latency, bandwidth throttling and failures so client behaviour can
+ * be tested and measured without network access. Like the real service, text
+ * responses are gzip or deflate compressed when the client accepts it.
+ */
+public class FakeInitializrServer implements AutoCloseable {
+
+    private static final String METADATA_RESOURCE = "/initializr/metadata.json";
+
+    private final HttpServer server;
+    private final byte[] metadataJson;
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> bytesSent = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    // Client address and port of every connection seen, to check connection reuse
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile long bytesPerSecond = 0;
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private volatile int failureStatus = 503;
+    private volatile boolean compression = true;
+
+    private FakeInitializrServer(HttpServer server) {
+        this.server = server;
+        this.metadataJson = readResource(METADATA_RESOURCE);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            var thread = new Thread(r, "fake-initializr");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Start a server on an ephemeral loopback port.
+     */
+    public static FakeInitializrServer start() {
+        try {
+            var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            var fake = new FakeInitializrServer(server);
+            server.start();
+            return fake;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Delay applied before the response headers of every request.
+     */
+    public FakeInitializrServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Throttle response bodies to the given rate; zero disables throttling.
+     */
+    public FakeInitializrServer bandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    /**
+     * Answer the next {@code count} requests with the given HTTP status.
+     */
+    public FakeInitializrServer failNext(int count, int status) {
+        this.failureStatus = status;
+        this.failuresRemaining.set(count);
+        return this;
+    }
+
+    /**
+     * Honour {@code Accept-Encoding} for text responses; on by default.
+     */
+    public FakeInitializrServer compression(boolean enabled) {
+        this.compression = enabled;
+        return this;
+    }
+
+    /**
+     * Response body bytes sent for a path, after compression.
+     */
+    public long bytesSent(String path) {
+        var sent = bytesSent.get(path);
+        return sent != null ? sent.get() : 0;
+    }
+
+    public int requestCount(String path) {
+        var count = requestCounts.get(path);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Highest number of requests that were being handled at the same time.
+     */
+    public int maxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    /**
+     * Number of distinct client connections that sent requests.
+     */
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    public byte[] metadataJson() {
+        return metadataJson.clone();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            connections.add(exchange.getRemoteAddress());
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                // Connection warm-up; not counted as a request for the path. The
+                // request body must be drained or the server drops the connection.
+                sleep(latency);
+                exchange.getRequestBody().readAllBytes();
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            requestCounts.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                sleep(latency);
+                route(exchange, path);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange, String path) throws IOException {
+        if (failuresRemaining.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+            respond(exchange, failureStatus, "text/plain", ("Injected failure " + failureStatus).getBytes());
+            return;
+        }
+
+        var params = parseQuery(exchange.getRequestURI().getRawQuery());
+        switch (path) {
+            case "/" -> respond(exchange, 200, "application/vnd.initializr.v2.2+json", metadataJson);
+            case "/pom.xml" -> respond(exchange, 200, "application/xml", pom(params).getBytes(StandardCharsets.UTF_8));
+            case "/build.gradle" -> respond(exchange, 200, "text/plain",
+                    gradle(params, false).getBytes(StandardCharsets.UTF_8));
+            case "/build.gradle.kts" -> respond(exchange, 200, "text/plain",
+                    gradle(params, true).getBytes(StandardCharsets.UTF_8));
+            case "/starter.zip" -> respond(exchange, 200, "application/zip", starterZip(params));
+            default -> respond(exchange, 404, "text/plain", "Not found".getBytes());
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        String encoding = compression && !contentType.equals("application/zip")
+                ? negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"))
+                : null;
+        if (encoding != null) {
+            body = compress(body, encoding);
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+        }
+        bytesSent.computeIfAbsent(exchange.getRequestURI().getPath(), p -> new AtomicLong()).addAndGet(body.length);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            long rate = bytesPerSecond;
+            if (rate <= 0) {
+                out.write(body);
+                return;
+            }
+            // Write in 50ms slices so the throttled rate is smooth
+            int chunk = (int) Math.max(1, rate / 20);
+            for (int offset = 0; offset < body.length; offset += chunk) {
+                int len = Math.min(chunk, body.length - offset);
+                out.write(body, offset, len);
+                out.flush();
+                sleep(Duration.ofNanos(len * 1_000_000_000L / rate));
+            }
+        }
+    }
+
+    private static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return null;
+        var accepted = List.of(acceptEncoding.replace(" ", "").split(","));
+        if (accepted.contains("gzip"))
+            return "gzip";
+        if (accepted.contains("deflate"))
+            return "deflate";
+        return null;
+    }
+
+    private static byte[] compress(byte[] body, String encoding) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    // --- synthesized responses ---
+
+    private static String pom(Map<String, String> p) {
+        var deps = new StringBuilder();
+        for (String dep : dependencies(p)) {
+            deps.append("""
+                            <dependency>
+                                <groupId>org.springframework.boot</groupId>
+                                <artifactId>spring-boot-starter-%s</artifactId>
+                            </dependency>
+                    """.formatted(dep));
+        }
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>org.springframework.boot</groupId>
+                        <artifactId>spring-boot-starter-parent</artifactId>
+                        <version>%s</version>
+                    </parent>
+                    <groupId>%s</groupId>
+                    <artifactId>%s</artifactId>
+                    <packaging>%s</packaging>
+                    <description>%s</description>
+                    <properties>
+                        <java.version>%s</java.version>
+                    </properties>
+                    <dependencies>
+                %s        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-test</artifactId>
+                            <scope>test</scope>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """.formatted(p.getOrDefault("bootVersion", "3.5.7"), p.getOrDefault("groupId", "com.example"),
+                p.getOrDefault("artifactId", "demo"), p.getOrDefault("packaging", "jar"),
+                p.getOrDefault("description", ""), p.getOrDefault("javaVersion", "17"), deps);
+    }
+
+    private static String gradle(Map<String, String> p, boolean kotlinDsl) {
+        var deps = new StringBuilder();
+        for (String dep : dependencies(p)) {
+            deps.append(kotlinDsl
+                    ? "\timplementation(\"org.springframework.boot:spring-boot-starter-" + dep + "\")\n"
+                    : "\timplementation 'org.springframework.boot:spring-boot-starter-" + dep + "'\n");
+        }
+        String quote = kotlinDsl ? "\"" : "'";
+        return """
+                plugins {
+                \t%6$s
+                \tid(%1$sorg.springframework.boot%1$s) version %1$s%2$s%1$s
+                }
+
+                group = %1$s%3$s%1$s
+                version = %1$s0.0.1-SNAPSHOT%1$s
+
+                java {
+                \ttoolchain {
+                \t\tlanguageVersion = JavaLanguageVersion.of(%4$s)
+                \t}
+                }
+
+                repositories {
+                \tmavenCentral()
+                }
+
+                dependencies {
+                %5$s\ttestImplementation(%1$sorg.springframework.boot:spring-boot-starter-test%1$s)
+                }
+                """.formatted(quote, p.getOrDefault("bootVersion", "3.5.7"), p.getOrDefault("groupId", "com.example"),
+                p.getOrDefault("javaVersion", "17"), deps, kotlinDsl ? "java" : "id 'java'");
+    }
+
+    private static byte[] starterZip(Map<String, String> p) {
+        String artifactId = p.getOrDefault("artifactId", "demo");
+        String packageName = p.getOrDefault("packageName", "com.example.demo");
+        String packagePath = packageName.replace('.', '/');
+        String type = p.getOrDefault("type", "maven-project");
+
+        var files = new LinkedHashMap<String, byte[]>();
+        switch (type) {
+            case "gradle-project" -> files.put("build.gradle", gradle(p, false).getBytes(StandardCharsets.UTF_8));
+            case "gradle-project-kotlin" ->
+                files.put("build.gradle.kts", gradle(p, true).getBytes(StandardCharsets.UTF_8));
+            default -> {
+                files.put("pom.xml", pom(p).getBytes(StandardCharsets.UTF_8));
+                files.put("mvnw", "#!/bin/sh\necho wrapper\n".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        files.put("HELP.md", "# Getting Started\n".getBytes(StandardCharsets.UTF_8));
+        files.put("src/main/java/" + packagePath + "/DemoApplication.java", """
+                package %s;
+
+                import org.springframework.boot.SpringApplication;
+                import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+                @SpringBootApplication
+                public class DemoApplication {
+
+                    public static void main(String[] args) {
+                        SpringApplication.run(DemoApplication.class, args);
+                    }
+                }
+                """.formatted(packageName).getBytes(StandardCharsets.UTF_8));
+        files.put("src/main/resources/application.properties",
+                ("spring.application.name=" + artifactId + "\n").getBytes(StandardCharsets.UTF_8));
+        files.put("src/test/java/" + packagePath + "/DemoApplicationTests.java", """
+                package %s;
+
+                import org.junit.jupiter.api.Test;
+                import org.springframework.boot.test.context.SpringBootTest;
+
+                @SpringBootTest
+                class DemoApplicationTests {
+
+                    @Test
+                    void contextLoads() {
+                    }
+                }
+                """.formatted(packageName).getBytes(StandardCharsets.UTF_8));
+        files.put(".mvn/wrapper/maven-wrapper.jar", new byte[4096]);
+
+        var bytes = new ByteArrayOutputStream();
+        try (var zos = new ZipOutputStream(bytes)) {
+            zos.putNextEntry(new ZipEntry(artifactId + "/"));
+            zos.closeEntry();
+            for (var file : files.entrySet()) {
+                zos.putNextEntry(new ZipEntry(artifactId + "/" + file.getKey()));
+                zos.write(file.getValue());
+                zos.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<String> dependencies(Map<String, String> params) {
+        String deps = params.get("dependencies");
+        return deps == null || deps.isEmpty() ? List.of() : List.of(deps.split(","));
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        var params = new LinkedHashMap<String, String>();
+        if (rawQuery == null || rawQuery.isEmpty())
+            return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static byte[] readResource(String name) {
+        try (InputStream in = FakeInitializrServer.class.getResourceAsStream(name)) {
+            if (in == null)
+                throw new IllegalStateException("Missing test resource " + name);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative())
+            return;
+        try {
+            Thread.sleep(duration.toMillis(), (int) (duration.toNanos() % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
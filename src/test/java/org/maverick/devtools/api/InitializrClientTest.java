@@ -0,0 +1,303 @@
+package org.maverick.devtools.api;
+
+import org.maverick.devtools.diagnostics.FlightRecording;
+import org.maverick.devtools.model.ProjectConfig;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InitializrClientTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeInitializrServer server;
+    private InitializrClient client;
+    private ProjectConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = FakeInitializrServer.start();
+        client = new InitializrClient(server.baseUrl());
+        config = new ProjectConfig();
+        var metadata = client.fetchMetadata();
+        config.applyDefaults(metadata, MetadataIndex.of(metadata));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    // --- base URL ---
+
+    @Test
+    void baseUrl_stripsTrailingSlash() {
+        assertThat(new InitializrClient("http://localhost:8080/").getBaseUrl()).isEqualTo("http://localhost:8080");
+    }
+
+    // --- requests against the stand-in server ---
+
+    @Test
+    void fetchMetadata_parsesRecordedMetadata() throws Exception {
+        var metadata = client.fetchMetadata();
+
+        assertThat(metadata.bootVersion().values()).isNotEmpty();
+        assertThat(metadata.dependencies().values()).extracting(InitializrMetadata.DependencyCategory::name)
+                .contains("Web", "SQL");
+    }
+
+    @Test
+    void previewBuildFile_includesSelectedDependencies() throws Exception {
+        config.toggleDependency("web");
+
+        String pom = client.previewBuildFile(config, "maven-project");
+        String gradle = client.previewBuildFile(config, "gradle-project");
+
+        assertThat(pom).contains("<artifactId>spring-boot-starter-web</artifactId>");
+        assertThat(gradle).contains("spring-boot-starter-web");
+    }
+
+    @Test
+    void generateProject_writesZipToOutputDir() throws Exception {
+        Path zip = client.generateProject(config, tempDir);
+
+        assertThat(zip).exists();
+        assertThat(Files.size(zip)).isPositive();
+        assertThat(server.requestCount("/starter.zip")).isEqualTo(1);
+    }
+
+    @Test
+    void prefetchProjectZip_servesLaterFetchesFromMemory() throws Exception {
+        config.toggleDependency("web");
+        byte[] prefetched = client.prefetchProjectZip(config).get(5, TimeUnit.SECONDS);
+        client.prefetchProjectZip(config).get(5, TimeUnit.SECONDS);
+
+        byte[] fetched = client.fetchProjectZip(config);
+        byte[] opened;
+        try (var in = client.openProjectZip(config)) {
+            opened = in.readAllBytes();
+        }
+
+        assertThat(fetched).isEqualTo(prefetched);
+        assertThat(opened).isEqualTo(prefetched);
+        assertThat(server.requestCount("/starter.zip")).isEqualTo(1);
+    }
+
+    @Test
+    void prefetchProjectZip_failureFallsBackToDownload() throws Exception {
+        server.failNext(1, 503);
+        var prefetch = client.prefetchProjectZip(config);
+        assertThatThrownBy(() -> prefetch.get(5, TimeUnit.SECONDS)).hasMessageContaining("HTTP 503");
+
+        assertThat(client.fetchProjectZip(config)).isNotEmpty();
+        assertThat(server.requestCount("/starter.zip")).isEqualTo(2);
+    }
+
+    @Test
+    void previewBuildFile_cachesByQueryString() throws Exception {
+        config.toggleDependency("web");
+        String first = client.previewBuildFile(config, "maven-project");
+        config.toggleDependency("web");
+        client.previewBuildFile(config, "maven-project");
+        config.toggleDependency("web");
+        String again = client.previewBuildFile(config, "maven-project");
+
+        assertThat(again).isEqualTo(first);
+        assertThat(server.requestCount("/pom.xml")).isEqualTo(2);
+    }
+
+    @Test
+    void previewBuildFile_ignoresDependencyOrder() throws Exception {
+        config.toggleDependency("web");
+        config.toggleDependency("data-jpa");
+        String first = client.previewBuildFile(config, "maven-project");
+        config.clearDependencies();
+        config.toggleDependency("data-jpa");
+        config.toggleDependency("web");
+        String reordered = client.previewBuildFile(config, "maven-project");
+
+        assertThat(reordered).isEqualTo(first);
+        assertThat(server.requestCount("/pom.xml")).isEqualTo(1);
+    }
+
+    @Test
+    void previewBuildFileAsync_populatesCache() throws Exception {
+        var uri = client.buildFileUri(config, "gradle-project");
+        assertThat(client.cachedPreview(uri)).isNull();
+
+        String gradle = client.previewBuildFileAsync(uri).get(5, TimeUnit.SECONDS);
+
+        assertThat(client.cachedPreview(uri)).isEqualTo(gradle);
+        assertThat(client.previewBuildFileAsync(uri)).isCompletedWithValue(gradle);
+        assertThat(server.requestCount("/build.gradle")).isEqualTo(1);
+    }
+
+    // --- compression ---
+
+    @Test
+    void fetchMetadata_inflatesCompressedResponse() throws Exception {
+        var metadata = client.fetchMetadata();
+
+        assertThat(metadata.dependencies().values()).isNotEmpty();
+        assertThat(server.bytesSent("/")).isLessThan(server.metadataJson().length / 2L);
+    }
+
+    @Test
+    void requests_workWithUncompressedResponses() throws Exception {
+        server.compression(false);
+        long sentBefore = server.bytesSent("/");
+
+        var metadata = client.fetchMetadata();
+        String pom = client.previewBuildFile(config, "maven-project");
+
+        assertThat(metadata.dependencies().values()).isNotEmpty();
+        assertThat(server.bytesSent("/") - sentBefore).isEqualTo(server.metadataJson().length);
+        assertThat(pom).contains("<artifactId>spring-boot-starter-parent</artifactId>");
+    }
+
+    @Test
+    void previewBuildFile_inflatesCompressedResponse() throws Exception {
+        config.toggleDependency("web");
+
+        String pom = client.previewBuildFile(config, "maven-project");
+        String gradle = client.previewBuildFileAsync(client.buildFileUri(config, "gradle-project"))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(pom).startsWith("<?xml").contains("spring-boot-starter-web");
+        assertThat(gradle).startsWith("plugins {").contains("spring-boot-starter-web");
+        assertThat(server.bytesSent("/pom.xml")).isLessThan(pom.length());
+    }
+
+    // --- connections ---
+
+    @Test
+    void warmUp_connectionIsReusedByLaterRequests() throws Exception {
+        var fresh = new InitializrClient(server.baseUrl());
+        int connectionsBefore = server.connectionCount();
+
+        fresh.warmUp();
+        fresh.fetchMetadata();
+        fresh.previewBuildFile(config, "maven-project");
+        fresh.fetchProjectZip(config);
+
+        assertThat(server.connectionCount()).isEqualTo(connectionsBefore + 1);
+        assertThat(server.requestCount("/")).isEqualTo(2);
+        assertThat(fresh.recentTimings())
+                .extracting(InitializrClient.RequestTiming::endpoint)
+                .containsExactly("warm-up", "/", "/pom.xml", "/starter.zip");
+    }
+
+    @Test
+    void requestTimings_measureHeadersBeforeBody() throws Exception {
+        server.bandwidth(64 * 1024);
+
+        client.fetchProjectZip(config);
+
+        var timing = client.recentTimings().get(client.recentTimings().size() - 1);
+        assertThat(timing.endpoint()).isEqualTo("/starter.zip");
+        assertThat(timing.headersNanos()).isPositive().isLessThanOrEqualTo(timing.totalNanos());
+    }
+
+    // --- flight recording ---
+
+    @Test
+    void httpRequestEvents_recordBodyBytesAsReceived() throws Exception {
+        var file = tempDir.resolve("http.jfr");
+        byte[] zip;
+        var recording = FlightRecording.start(file);
+        try {
+            zip = client.fetchProjectZip(config);
+            server.compression(false);
+            client.previewBuildFile(config, "gradle-project");
+            server.compression(true);
+            client.previewBuildFile(config, "maven-project");
+        } finally {
+            recording.close();
+        }
+
+        var bytes = new HashMap<String, Long>();
+        for (var event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().equals("org.maverick.devtools.HttpRequest"))
+                bytes.put(event.getString("endpoint"), event.getLong("bytes"));
+        }
+        assertThat(bytes).containsEntry("/starter.zip", (long) zip.length);
+        // Streamed: the Content-Length when uncompressed, unknown otherwise
+        assertThat(bytes).containsEntry("/build.gradle", server.bytesSent("/build.gradle"));
+        assertThat(bytes).containsEntry("/pom.xml", -1L);
+    }
+
+    @Test
+    void metadataParseEvent_isCommittedWhenParsingFails() throws Exception {
+        var file = tempDir.resolve("parse.jfr");
+        // A 200 with a plain-text body the JSON reader rejects
+        server.failNext(1, 200);
+        var recording = FlightRecording.start(file);
+        try {
+            assertThatThrownBy(() -> client.fetchMetadata()).isInstanceOf(IOException.class);
+        } finally {
+            recording.close();
+        }
+
+        var parse = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("org.maverick.devtools.MetadataParse"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(parse.getString("failure")).isNotNull();
+        assertThat(parse.getInt("dependencies")).isZero();
+    }
+
+    // --- injected faults ---
+
+    @Test
+    void injectedFailure_surfacesHttpStatus() {
+        server.failNext(1, 503);
+
+        assertThatThrownBy(() -> client.fetchMetadata())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("HTTP 503");
+    }
+
+    @Test
+    void failedGeneration_leavesNoPartialZip() {
+        server.failNext(1, 500);
+
+        assertThatThrownBy(() -> client.generateProject(config, tempDir)).isInstanceOf(IOException.class);
+        assertThat(tempDir.resolve(config.getArtifactId() + ".zip")).doesNotExist();
+    }
+
+    @Test
+    void throttledBandwidth_slowsDownload() throws Exception {
+        int size = server.metadataJson().length;
+        server.compression(false).bandwidth(size * 4L); // ~250ms for the whole document
+
+        long start = System.nanoTime();
+        client.fetchMetadata();
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(Duration.ofNanos(elapsed)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void injectedLatency_delaysResponse() throws Exception {
+        server.latency(Duration.ofMillis(150));
+
+        long start = System.nanoTime();
+        client.previewBuildFile(config);
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(Duration.ofNanos(elapsed)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+    }
+}
@@ -1,7 +1,7 @@
-package dev.danvega.initializr.api;
+package org.maverick.devtools.api;
 
 import org.junit.jupiter.api.Test;
-import tools.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import java.util.List;
 
@@ -0,0 +1,100 @@
+package org.maverick.devtools.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void saveThenLoad_roundTripsMetadata() throws Exception {
+        var metadata = new ObjectMapper().readValue(
+                MetadataCacheTest.class.getResourceAsStream("/initializr/metadata.json"),
+                InitializrMetadata.Metadata.class);
+        var cache = new MetadataCache(tempDir.resolve("nested/metadata.json"));
+
+        cache.save(metadata);
+
+        assertThat(cache.load()).isEqualTo(metadata);
+    }
+
+    @Test
+    void load_returnsNullWhenMissingOrCorrupt() throws Exception {
+        var cache = new MetadataCache(tempDir.resolve("metadata.json"));
+        assertThat(cache.load()).isNull();
+
+        Files.writeString(cache.getFile(), "{not json");
+        assertThat(cache.load()).isNull();
+    }
+
+    @Test
+    void load_fallsBackToJsonWhenSnapshotIsCorrupt() throws Exception {
+        var metadata = recordedMetadata();
+        var cache = new MetadataCache(tempDir.resolve("metadata.json"));
+        cache.save(metadata);
+        assertThat(cache.getSnapshotFile()).exists();
+
+        Files.write(cache.getSnapshotFile(), new byte[] { 'M', 'D', 'T', 'S', 1, 0, 0 });
+
+        assertThat(cache.load()).isEqualTo(metadata);
+    }
+
+    @Test
+    void loadFresh_returnsNullOnceStale() throws Exception {
+        var metadata = recordedMetadata();
+        var cache = new MetadataCache(tempDir.resolve("metadata.json"));
+        cache.save(metadata);
+
+        assertThat(cache.loadFresh(Duration.ofHours(1))).isEqualTo(metadata);
+
+        Files.setLastModifiedTime(cache.getSnapshotFile(),
+                FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        assertThat(cache.loadFresh(Duration.ofHours(1))).isNull();
+        assertThat(cache.load()).isEqualTo(metadata);
+    }
+
+    @Test
+    void save_concurrentWritersLeaveOneCompleteCache() throws Exception {
+        var metadata = recordedMetadata();
+        // Two instances, as in the daemon and a TUI
+        var daemon = new MetadataCache(tempDir.resolve("metadata.json"));
+        var tui = new MetadataCache(tempDir.resolve("metadata.json"));
+
+        var threads = new ArrayList<Thread>();
+        for (var cache : List.of(daemon, tui)) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20; i++)
+                    cache.save(metadata);
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (var thread : threads)
+            thread.join();
+
+        assertThat(MetadataJson.read(daemon.getFile().toFile())).isEqualTo(metadata);
+        assertThat(MetadataSnapshot.read(daemon.getSnapshotFile())).isEqualTo(metadata);
+        try (var files = Files.list(tempDir)) {
+            assertThat(files.map(file -> file.getFileName().toString()).toList())
+                    .containsExactlyInAnyOrder("metadata.json", "metadata.bin");
+        }
+    }
+
+    private static InitializrMetadata.Metadata recordedMetadata() throws Exception {
+        return new ObjectMapper().readValue(
+                MetadataCacheTest.class.getResourceAsStream("/initializr/metadata.json"),
+                InitializrMetadata.Metadata.class);
+    }
+}
@@ -0,0 +1,60 @@
+package org.maverick.devtools.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataIndexTest {
+
+    private static final List<InitializrMetadata.DependencyCategory> CATEGORIES = List.of(
+            new InitializrMetadata.DependencyCategory("Web", List.of(
+                    new InitializrMetadata.Dependency("web", "Spring Web", "", null, null),
+                    new InitializrMetadata.Dependency("webflux", "Spring Reactive Web", "", null, null))),
+            new InitializrMetadata.DependencyCategory("Empty", List.of()),
+            new InitializrMetadata.DependencyCategory("SQL", List.of(
+                    new InitializrMetadata.Dependency("jpa", "Spring Data JPA", "", null, null),
+                    new InitializrMetadata.Dependency("web", "Duplicate", "", null, null))));
+
+    @Test
+    void of_numbersDependenciesInListingOrder() {
+        var index = MetadataIndex.of(CATEGORIES);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.ordinal("web")).isZero();
+        assertThat(index.ordinal("jpa")).isEqualTo(2);
+        assertThat(index.ordinal("unknown")).isEqualTo(-1);
+        assertThat(index.id(1)).isEqualTo("webflux");
+        assertThat(index.dependency(2).name()).isEqualTo("Spring Data JPA");
+        assertThat(index.categoryIndex(2)).isEqualTo(2);
+    }
+
+    @Test
+    void of_keepsFirstListingOfRepeatedId() {
+        var index = MetadataIndex.of(CATEGORIES);
+
+        assertThat(index.dependency("web").name()).isEqualTo("Spring Web");
+        assertThat(index.categoryIndex(index.ordinal("web"))).isZero();
+    }
+
+    @Test
+    void of_indexesTheMetadataDependencies() {
+        var metadata = new InitializrMetadata.Metadata(null, null, null, null, null, null, null, null, null, null,
+                null, null, new InitializrMetadata.DependencyGroup("hierarchical-multi-select", CATEGORIES));
+
+        var index = MetadataIndex.of(metadata);
+
+        assertThat(index.ordinal("jpa")).isEqualTo(MetadataIndex.of(CATEGORIES).ordinal("jpa"));
+        assertThat(index).isNotSameAs(MetadataIndex.of(CATEGORIES));
+        assertThat(MetadataIndex.of(List.of())).isSameAs(MetadataIndex.EMPTY);
+    }
+
+    @Test
+    void displayName_fallsBackToId() {
+        var index = MetadataIndex.of(CATEGORIES);
+
+        assertThat(index.displayName("jpa")).isEqualTo("Spring Data JPA");
+        assertThat(index.displayName("unknown")).isEqualTo("unknown");
+    }
+}
@@ -0,0 +1,30 @@
+package org.maverick.devtools.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataJsonTest {
+
+    @Test
+    void read_matchesAPlainObjectMapper() throws Exception {
+        var expected = new ObjectMapper().readValue(
+                MetadataJsonTest.class.getResourceAsStream("/initializr/metadata.json"),
+                InitializrMetadata.Metadata.class);
+
+        try (var in = MetadataJsonTest.class.getResourceAsStream("/initializr/metadata.json")) {
+            assertThat(MetadataJson.read(in)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void prewarm_isRepeatable() throws Exception {
+        MetadataJson.prewarm();
+        MetadataJson.prewarm();
+
+        try (var in = MetadataJsonTest.class.getResourceAsStream("/initializr/metadata.json")) {
+            assertThat(MetadataJson.read(in).dependencies().values()).isNotEmpty();
+        }
+    }
+}
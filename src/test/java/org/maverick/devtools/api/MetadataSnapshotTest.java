@@ -0,0 +1,79 @@
+package org.maverick.devtools.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetadataSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InitializrMetadata.Metadata metadata;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metadata = new ObjectMapper().readValue(
+                MetadataSnapshotTest.class.getResourceAsStream("/initializr/metadata.json"),
+                InitializrMetadata.Metadata.class);
+    }
+
+    @Test
+    void writeThenRead_roundTripsMetadata() throws Exception {
+        Path file = tempDir.resolve("metadata.bin");
+
+        MetadataSnapshot.write(file, metadata);
+
+        assertThat(MetadataSnapshot.read(file)).isEqualTo(metadata);
+    }
+
+    @Test
+    void encode_isSmallerThanTheJson() throws Exception {
+        byte[] json = new ObjectMapper().writeValueAsBytes(metadata);
+
+        assertThat(MetadataSnapshot.encode(metadata).length).isLessThan(json.length);
+    }
+
+    @Test
+    void decode_rejectsChecksumMismatch() {
+        byte[] bytes = MetadataSnapshot.encode(metadata);
+        bytes[bytes.length - 1] ^= 0x01;
+
+        assertThatThrownBy(() -> MetadataSnapshot.decode(ByteBuffer.wrap(bytes)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void decode_rejectsWrongMagicAndVersion() {
+        byte[] magic = MetadataSnapshot.encode(metadata);
+        magic[0] = '{';
+        byte[] version = MetadataSnapshot.encode(metadata);
+        version[4] = (byte) (MetadataSnapshot.VERSION + 1);
+
+        assertThatThrownBy(() -> MetadataSnapshot.decode(ByteBuffer.wrap(magic)))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> MetadataSnapshot.decode(ByteBuffer.wrap(version)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void decode_rejectsTruncatedData() {
+        byte[] bytes = MetadataSnapshot.encode(metadata);
+
+        assertThatThrownBy(() -> MetadataSnapshot.decode(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length / 2))))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> MetadataSnapshot.decode(ByteBuffer.wrap(Arrays.copyOf(bytes, 6))))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,120 @@
+package org.maverick.devtools.batch;
+
+import org.maverick.devtools.api.FakeInitializrServer;
+import org.maverick.devtools.api.InitializrClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeInitializrServer server;
+    private InitializrClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = FakeInitializrServer.start();
+        client = new InitializrClient(server.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    // --- manifest ---
+
+    @Test
+    void load_readsJsonAndYaml() throws Exception {
+        Path json = tempDir.resolve("services.json");
+        Files.writeString(json, """
+                {"defaults": {"groupId": "com.acme"},
+                 "projects": [{"artifactId": "orders", "dependencies": ["web"]}]}
+                """);
+        Path yaml = tempDir.resolve("services.yaml");
+        Files.writeString(yaml, """
+                defaults:
+                  groupId: com.acme
+                projects:
+                  - artifactId: orders
+                    dependencies: [web]
+                """);
+
+        assertThat(BatchManifest.load(yaml)).isEqualTo(BatchManifest.load(json));
+        assertThat(BatchManifest.load(json).projects()).hasSize(1);
+    }
+
+    // --- generation ---
+
+    @Test
+    void run_generatesEveryProjectWithOneMetadataFetch() throws Exception {
+        var manifest = manifest(6);
+
+        var results = new BatchGenerator(client, tempDir.resolve("out"), 3).run(manifest);
+
+        assertThat(results).extracting(BatchGenerator.Result::artifactId)
+                .containsExactly("service-0", "service-1", "service-2", "service-3", "service-4", "service-5");
+        assertThat(results).allMatch(BatchGenerator.Result::succeeded);
+        assertThat(Files.readString(tempDir.resolve("out/service-4/pom.xml"))).contains("spring-boot-starter-web");
+        assertThat(server.requestCount("/")).isEqualTo(1);
+        assertThat(server.requestCount("/starter.zip")).isEqualTo(6);
+    }
+
+    @Test
+    void run_boundsConcurrentDownloads() throws Exception {
+        server.latency(Duration.ofMillis(100));
+
+        new BatchGenerator(client, tempDir, 2).run(manifest(6));
+
+        assertThat(server.maxConcurrentRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void run_reportsUnknownDependencyWithoutFailingTheBatch() throws Exception {
+        var manifest = new BatchManifest(null, List.of(
+                project("good", List.of("web")),
+                project("bad", List.of("no-such-starter"))));
+
+        var results = new BatchGenerator(client, tempDir, 2).run(manifest);
+
+        assertThat(results.get(0).succeeded()).isTrue();
+        assertThat(results.get(1).error()).hasMessageContaining("no-such-starter");
+        assertThat(server.requestCount("/starter.zip")).isEqualTo(1);
+        assertThat(BatchGenerator.summary(results, 1_000_000L, 2)).contains("Generated 1/2 projects", "FAILED");
+    }
+
+    @Test
+    void run_rejectsDuplicateArtifactIds() {
+        var manifest = new BatchManifest(null, List.of(project("same", null), project("same", null)));
+
+        assertThatThrownBy(() -> new BatchGenerator(client, tempDir, 2).run(manifest))
+                .hasMessageContaining("Duplicate artifactId");
+    }
+
+    private static BatchManifest manifest(int count) {
+        var projects = new ArrayList<BatchManifest.Project>();
+        for (int i = 0; i < count; i++)
+            projects.add(project("service-" + i, List.of("web")));
+        var defaults = new BatchManifest.Project("maven-project", null, null, "com.acme", null, null, null, null,
+                null, null, null, null);
+        return new BatchManifest(defaults, projects);
+    }
+
+    private static BatchManifest.Project project(String artifactId, List<String> dependencies) {
+        return new BatchManifest.Project(null, null, null, null, artifactId, null, null, null, null, null, null,
+                dependencies);
+    }
+}
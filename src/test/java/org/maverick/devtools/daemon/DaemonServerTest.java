@@ -0,0 +1,126 @@
+package org.maverick.devtools.daemon;
+
+import org.maverick.devtools.api.FakeInitializrServer;
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.api.MetadataCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DaemonServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeInitializrServer server;
+    private InitializrClient client;
+    private Path socket;
+    private DaemonServer daemon;
+    private Thread serving;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = FakeInitializrServer.start();
+        client = new InitializrClient(server.baseUrl());
+        socket = tempDir.resolve("daemon.sock");
+        daemon = DaemonServer.start(socket, client, new MetadataCache(tempDir.resolve("metadata.json")));
+        serving = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        serving.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        daemon.close();
+        serving.join(5000);
+        server.close();
+    }
+
+    @Test
+    void find_returnsClientOnlyWhileRunning() throws Exception {
+        assertThat(DaemonClient.find(socket)).isNotNull();
+        assertThat(DaemonClient.find(tempDir.resolve("other.sock"))).isNull();
+    }
+
+    @Test
+    void metadata_matchesService() throws Exception {
+        var metadata = DaemonClient.find(socket).metadata();
+
+        assertThat(metadata).isEqualTo(client.fetchMetadata());
+    }
+
+    @Test
+    void search_ranksMatchingDependencies() throws Exception {
+        var daemonClient = DaemonClient.find(socket);
+
+        assertThat(daemonClient.search("web")).contains("web");
+        assertThat(daemonClient.search("zzzz")).isEmpty();
+    }
+
+    @Test
+    void batch_generatesProjectsInTheDaemon() throws Exception {
+        Path manifest = tempDir.resolve("services.json");
+        Files.writeString(manifest, """
+                {"defaults": {"groupId": "com.acme"},
+                 "projects": [{"artifactId": "orders", "dependencies": ["web"]}]}
+                """);
+        var out = new ByteArrayOutputStream();
+
+        int exit = DaemonClient.find(socket).batch(manifest, tempDir.resolve("out"), 2,
+                new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        assertThat(exit).isZero();
+        assertThat(tempDir.resolve("out/orders")).exists();
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("orders");
+    }
+
+    @Test
+    void batch_reportsFailureThroughExitCode() throws Exception {
+        var out = new ByteArrayOutputStream();
+
+        int exit = DaemonClient.find(socket).batch(tempDir.resolve("missing.json"), tempDir.resolve("out"), 2,
+                new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        assertThat(exit).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("Batch failed");
+    }
+
+    @Test
+    void stop_shutsDownAndRemovesSocket() throws Exception {
+        DaemonClient.find(socket).stop();
+        serving.join(5000);
+
+        assertThat(serving.isAlive()).isFalse();
+        assertThat(socket).doesNotExist();
+        assertThat(DaemonClient.find(socket)).isNull();
+    }
+
+    @Test
+    void start_refusesSecondDaemonButReplacesStaleSocket() throws Exception {
+        assertThatThrownBy(() -> DaemonServer.start(socket, client, new MetadataCache(tempDir.resolve("m.json"))))
+                .hasMessageContaining("already running");
+
+        daemon.close();
+        serving.join(5000);
+        Files.writeString(socket, "stale");
+
+        try (var replacement = DaemonServer.start(socket, client, new MetadataCache(tempDir.resolve("m.json")))) {
+            assertThat(replacement.getSocket()).exists();
+        }
+    }
+}
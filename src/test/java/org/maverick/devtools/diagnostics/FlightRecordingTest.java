@@ -0,0 +1,91 @@
+package org.maverick.devtools.diagnostics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecordingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void defaultDestination_isATimestampedFileInTheDirectory() {
+        var file = FlightRecording.defaultDestination(tempDir);
+
+        assertThat(file.getParent()).isEqualTo(tempDir);
+        assertThat(file.getFileName().toString()).startsWith("session-").endsWith(".jfr");
+    }
+
+    @Test
+    void close_writesTheApplicationEventsToTheDestination() throws Exception {
+        var destination = tempDir.resolve("recordings/session.jfr");
+
+        try (var recording = FlightRecording.start(destination)) {
+            assertThat(recording.destination()).isEqualTo(destination);
+
+            var http = new HttpRequestEvent();
+            http.begin();
+            http.endpoint = "/metadata/client";
+            http.status = 200;
+            http.bytes = 4096;
+            http.version = "HTTP_2";
+            http.commit();
+
+            var parse = new MetadataParseEvent();
+            parse.begin();
+            parse.bytes = 150_000;
+            parse.transferredBytes = 20_000;
+            parse.encoding = "gzip";
+            parse.dependencies = 180;
+            parse.commit();
+
+            var extract = new ZipExtractEvent();
+            extract.begin();
+            extract.target = "memory";
+            extract.entries = 12;
+            extract.commit();
+
+            var ides = new IdeDetectionEvent();
+            ides.begin();
+            ides.locator = "linux";
+            ides.found = 2;
+            ides.commit();
+
+            var frame = new RenderFrameEvent();
+            frame.begin();
+            frame.screen = "MAIN";
+            frame.commit();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(destination);
+        assertThat(events).extracting(event -> event.getEventType().getName()).contains(
+                "org.maverick.devtools.HttpRequest",
+                "org.maverick.devtools.MetadataParse",
+                "org.maverick.devtools.ZipExtract",
+                "org.maverick.devtools.IdeDetection",
+                "org.maverick.devtools.RenderFrame");
+
+        var http = event(events, "org.maverick.devtools.HttpRequest");
+        assertThat(http.getString("endpoint")).isEqualTo("/metadata/client");
+        assertThat(http.getInt("status")).isEqualTo(200);
+        assertThat(http.getLong("bytes")).isEqualTo(4096);
+        var parse = event(events, "org.maverick.devtools.MetadataParse");
+        assertThat(parse.getString("encoding")).isEqualTo("gzip");
+        assertThat(parse.getInt("dependencies")).isEqualTo(180);
+        assertThat(event(events, "org.maverick.devtools.RenderFrame").getString("screen")).isEqualTo("MAIN");
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
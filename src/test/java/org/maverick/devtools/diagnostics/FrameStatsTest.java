@@ -0,0 +1,51 @@
+package org.maverick.devtools.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrameStatsTest {
+
+    @Test
+    void p95BuildNanos_isZeroBeforeTheFirstFrame() {
+        assertThat(new FrameStats().p95BuildNanos()).isZero();
+    }
+
+    @Test
+    void p95BuildNanos_isTheNearestRankOfTheSamples() {
+        var stats = new FrameStats();
+        for (int i = 100; i >= 1; i--)
+            stats.recordBuild(i);
+
+        assertThat(stats.p95BuildNanos()).isEqualTo(95);
+        assertThat(stats.lastBuildNanos()).isEqualTo(1);
+    }
+
+    @Test
+    void p95BuildNanos_onlyCountsTheLastWindowOfFrames() {
+        var stats = new FrameStats();
+        for (int i = 0; i < FrameStats.WINDOW; i++)
+            stats.recordBuild(1_000_000);
+        // A full window of fast frames pushes every slow one out
+        for (int i = 0; i < FrameStats.WINDOW; i++)
+            stats.recordBuild(10);
+
+        assertThat(stats.p95BuildNanos()).isEqualTo(10);
+
+        stats.recordBuild(1_000_000);
+        assertThat(stats.p95BuildNanos()).isEqualTo(10);
+    }
+
+    @Test
+    void frameFinished_measuresTheFrameAndClosesTheKeyLatency() {
+        var stats = new FrameStats();
+        assertThat(stats.lastKeyToFrameNanos()).isEqualTo(-1);
+
+        stats.keyReceived();
+        stats.frameStarted();
+        stats.frameFinished();
+
+        assertThat(stats.lastBuildNanos()).isNotNegative();
+        assertThat(stats.lastKeyToFrameNanos()).isNotNegative();
+    }
+}
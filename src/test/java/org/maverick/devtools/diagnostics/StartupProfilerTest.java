@@ -0,0 +1,71 @@
+package org.maverick.devtools.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupProfilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void record_keepsPhasesInOrderUntilTheFirstFrame() {
+        var profiler = new StartupProfiler();
+        long start = System.nanoTime();
+
+        profiler.record("Fetch metadata", start);
+        profiler.record("Apply defaults", start);
+        profiler.firstFrame(start);
+        profiler.record("After the first frame", start);
+
+        assertThat(profiler.isComplete()).isTrue();
+        assertThat(profiler.phases()).extracting(StartupProfiler.Phase::name)
+                .containsExactly("Fetch metadata", "Apply defaults", "First frame (MainScreen.render)");
+    }
+
+    @Test
+    void report_listsEachPhaseAlignedInMilliseconds() {
+        var profiler = new StartupProfiler();
+        profiler.markMain();
+        profiler.record("Fetch metadata", System.nanoTime() - 12_340_000);
+        profiler.firstFrame(System.nanoTime());
+
+        var lines = profiler.report().lines().toList();
+
+        assertThat(lines.get(0)).startsWith("Startup report ");
+        var phases = profiler.phases();
+        assertThat(lines).contains(
+                String.format("  %-36s %9.1f ms", "Fetch metadata", phases.get(0).nanos() / 1e6),
+                String.format("  %-36s %9.1f ms", "First frame (MainScreen.render)", phases.get(1).nanos() / 1e6));
+        assertThat(lines).anyMatch(line -> line.startsWith("  JVM start -> main "));
+        assertThat(lines).anyMatch(line -> line.startsWith("  Total: main -> first frame "));
+        assertThat(lines.indexOf(String.format("  %-36s %9.1f ms", "Fetch metadata", phases.get(0).nanos() / 1e6)))
+                .isLessThan(lines.indexOf(String.format("  %-36s %9.1f ms", "First frame (MainScreen.render)",
+                        phases.get(1).nanos() / 1e6)));
+    }
+
+    @Test
+    void report_saysWhenTheMainScreenWasNeverShown() {
+        var profiler = new StartupProfiler();
+        profiler.record("Fetch metadata", System.nanoTime());
+
+        assertThat(profiler.report()).contains("  (main screen was never shown)");
+    }
+
+    @Test
+    void appendToLog_rollsOverOnceTheLogIsFull() throws Exception {
+        var log = tempDir.resolve("logs/startup.log");
+        Files.createDirectories(log.getParent());
+        Files.writeString(log, "x".repeat((int) StartupProfiler.MAX_LOG_BYTES + 1));
+
+        new StartupProfiler().appendToLog(log);
+
+        assertThat(Files.size(log.resolveSibling("startup.log.1"))).isGreaterThan(StartupProfiler.MAX_LOG_BYTES);
+        assertThat(Files.readString(log)).startsWith("Startup report ");
+    }
+}
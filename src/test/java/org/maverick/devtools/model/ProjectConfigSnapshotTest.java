@@ -0,0 +1,61 @@
+package org.maverick.devtools.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectConfigSnapshotTest {
+
+    @Test
+    void snapshot_isReusedUntilTheConfigChanges() {
+        var config = new ProjectConfig();
+
+        var first = config.snapshot();
+
+        assertThat(config.snapshot()).isSameAs(first);
+        config.setJavaVersion("21");
+        assertThat(config.snapshot()).isNotSameAs(first);
+        assertThat(config.snapshot().revision()).isGreaterThan(first.revision());
+        assertThat(first.javaVersion()).isEqualTo("25");
+    }
+
+    @Test
+    void queryString_isSortedAndIgnoresDependencyOrder() {
+        var a = new ProjectConfig();
+        a.toggleDependency("web");
+        a.toggleDependency("actuator");
+        var b = new ProjectConfig();
+        b.toggleDependency("actuator");
+        b.toggleDependency("web");
+
+        assertThat(a.snapshot()).isEqualTo(b.snapshot()).hasSameHashCodeAs(b.snapshot());
+        assertThat(a.snapshot().dependencies()).containsExactly("actuator", "web");
+        assertThat(a.snapshot().queryString())
+                .startsWith("applicationFormat=properties&artifactId=demo&bootVersion=&dependencies=actuator%2Cweb&")
+                .endsWith("&type=gradle-project");
+    }
+
+    @Test
+    void queryString_encodesValuesAndCleansBootVersion() {
+        var config = new ProjectConfig();
+        config.setBootVersion("3.5.7.RELEASE");
+        config.setDescription("Demo & more");
+
+        String query = config.snapshot().queryString();
+
+        assertThat(query).contains("bootVersion=3.5.7&", "description=Demo+%26+more&");
+        assertThat(config.snapshot().bootVersion()).isEqualTo("3.5.7.RELEASE");
+    }
+
+    @Test
+    void snapshot_isUnaffectedByLaterChanges() {
+        var config = new ProjectConfig();
+        config.toggleDependency("web");
+        var snapshot = config.snapshot();
+
+        config.toggleDependency("security");
+
+        assertThat(snapshot.dependencies()).containsExactly("web");
+        assertThat(snapshot).isNotEqualTo(config.snapshot());
+    }
+}
@@ -0,0 +1,266 @@
+package org.maverick.devtools.model;
+
+import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectConfigTest {
+
+    private ProjectConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ProjectConfig();
+    }
+
+    // --- cleanBootVersion ---
+
+    @Test
+    void cleanBootVersion_nullReturnsNull() {
+        assertThat(ProjectConfig.cleanBootVersion(null)).isNull();
+    }
+
+    @Test
+    void cleanBootVersion_plainVersionUnchanged() {
+        assertThat(ProjectConfig.cleanBootVersion("3.4.2")).isEqualTo("3.4.2");
+    }
+
+    @Test
+    void cleanBootVersion_stripsReleaseSuffix() {
+        assertThat(ProjectConfig.cleanBootVersion("2.7.18.RELEASE")).isEqualTo("2.7.18");
+    }
+
+    @Test
+    void cleanBootVersion_convertsBuildSnapshot() {
+        assertThat(ProjectConfig.cleanBootVersion("3.5.0.BUILD-SNAPSHOT"))
+                .isEqualTo("3.5.0-SNAPSHOT");
+    }
+
+    // --- toggleDependency / isDependencySelected / getSelectedCount / getSelectedDependencies ---
+
+    @Test
+    void toggleDependency_addsDependency() {
+        config.toggleDependency("web");
+        assertThat(config.isDependencySelected("web")).isTrue();
+        assertThat(config.getSelectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void toggleDependency_removesDependency() {
+        config.toggleDependency("web");
+        config.toggleDependency("web");
+        assertThat(config.isDependencySelected("web")).isFalse();
+        assertThat(config.getSelectedCount()).isZero();
+    }
+
+    @Test
+    void toggleDependency_reAddsDependency() {
+        config.toggleDependency("web");
+        config.toggleDependency("web");
+        config.toggleDependency("web");
+        assertThat(config.isDependencySelected("web")).isTrue();
+    }
+
+    @Test
+    void getSelectedDependencies_returnsListCopy() {
+        config.toggleDependency("web");
+        config.toggleDependency("jpa");
+        List<String> deps = config.getSelectedDependencies();
+        assertThat(deps).containsExactly("web", "jpa");
+        deps.clear(); // modifying the copy shouldn't affect the original
+        assertThat(config.getSelectedCount()).isEqualTo(2);
+    }
+
+    // --- updatePackageName ---
+
+    @Test
+    void updatePackageName_combinesGroupAndArtifact() {
+        config.setGroupId("org.example");
+        config.setArtifactId("myapp");
+        assertThat(config.getPackageName()).isEqualTo("org.example.myapp");
+    }
+
+    // --- setArtifactId side effects ---
+
+    @Test
+    void setArtifactId_alsoSetsNameAndUpdatesPackage() {
+        config.setGroupId("com.test");
+        config.setArtifactId("coolapp");
+        assertThat(config.getName()).isEqualTo("coolapp");
+        assertThat(config.getPackageName()).isEqualTo("com.test.coolapp");
+    }
+
+    // --- setGroupId side effects ---
+
+    @Test
+    void setGroupId_updatesPackageName() {
+        config.setArtifactId("demo");
+        config.setGroupId("io.acme");
+        assertThat(config.getPackageName()).isEqualTo("io.acme.demo");
+    }
+
+    // --- applyDefaults ---
+
+    @Test
+    void applyDefaults_appliesMetadataValues() {
+        var type = new InitializrMetadata.SelectField("single-select", "maven-project",
+                List.of(new InitializrMetadata.SelectOption("gradle-project", "Gradle"),
+                        new InitializrMetadata.SelectOption("maven-project", "Maven")));
+        var language = new InitializrMetadata.SelectField("single-select", "kotlin",
+                List.of(new InitializrMetadata.SelectOption("java", "Java"),
+                        new InitializrMetadata.SelectOption("kotlin", "Kotlin")));
+        var bootVersion = new InitializrMetadata.SelectField("single-select", "3.4.0",
+                List.of(new InitializrMetadata.SelectOption("3.4.0", "3.4.0")));
+        var packaging = new InitializrMetadata.SelectField("single-select", "war",
+                List.of(new InitializrMetadata.SelectOption("jar", "Jar"),
+                        new InitializrMetadata.SelectOption("war", "War")));
+        var javaVersion = new InitializrMetadata.SelectField("single-select", "21",
+                List.of(new InitializrMetadata.SelectOption("25", "25"),
+                        new InitializrMetadata.SelectOption("21", "21")));
+        var groupId = new InitializrMetadata.TextField("text", "org.acme");
+        var artifactId = new InitializrMetadata.TextField("text", "myservice");
+        var name = new InitializrMetadata.TextField("text", "myservice");
+        var description = new InitializrMetadata.TextField("text", "My Service");
+        var packageName = new InitializrMetadata.TextField("text", "org.acme.myservice");
+
+        var metadata = new InitializrMetadata.Metadata(
+                type, packaging, javaVersion, language, bootVersion,
+                groupId, artifactId, null, name, description, packageName, null, null
+        );
+
+        config.applyDefaults(metadata, MetadataIndex.of(metadata));
+
+        assertThat(config.getProjectType()).isEqualTo("maven-project");
+        assertThat(config.getLanguage()).isEqualTo("kotlin");
+        assertThat(config.getBootVersion()).isEqualTo("3.4.0");
+        assertThat(config.getGroupId()).isEqualTo("org.acme");
+        assertThat(config.getArtifactId()).isEqualTo("myservice");
+        assertThat(config.getName()).isEqualTo("myservice");
+        assertThat(config.getDescription()).isEqualTo("My Service");
+        assertThat(config.getPackageName()).isEqualTo("org.acme.myservice");
+        assertThat(config.getPackaging()).isEqualTo("war");
+        assertThat(config.getJavaVersion()).isEqualTo("21");
+    }
+
+    // --- applyPreset ---
+
+    private static InitializrMetadata.Metadata presetMetadata() {
+        var type = new InitializrMetadata.SelectField("single-select", "gradle-project",
+                List.of(new InitializrMetadata.SelectOption("gradle-project", "Gradle"),
+                        new InitializrMetadata.SelectOption("maven-project", "Maven")));
+        var bootVersion = new InitializrMetadata.SelectField("single-select", "3.5.7",
+                List.of(new InitializrMetadata.SelectOption("3.5.7", "3.5.7"),
+                        new InitializrMetadata.SelectOption("4.0.0-RC1", "4.0.0 (RC1)")));
+        var javaVersion = new InitializrMetadata.SelectField("single-select", "25",
+                List.of(new InitializrMetadata.SelectOption("25", "25"),
+                        new InitializrMetadata.SelectOption("21", "21")));
+        var dependencies = new InitializrMetadata.DependencyGroup("hierarchical-multi-select", List.of(
+                new InitializrMetadata.DependencyCategory("Web", List.of(
+                        new InitializrMetadata.Dependency("web", "Spring Web", "", null, null),
+                        new InitializrMetadata.Dependency("legacy", "Legacy", "", "[3.3.0,4.0.0-M1)", null)))));
+        return new InitializrMetadata.Metadata(type, null, javaVersion, null, bootVersion,
+                null, null, null, null, null, null, null, dependencies);
+    }
+
+    @Test
+    void applyPreset_appliesEverythingInOneRevision() {
+        config.setArtifactId("orders");
+        config.toggleDependency("legacy");
+        long revision = config.getRevision();
+        var preset = new Preset("service", "maven-project", null, "3.5.7", "com.acme", null, "21", null,
+                List.of("web", "legacy"));
+
+        var skipped = config.applyPreset(preset, presetMetadata(), MetadataIndex.of(presetMetadata()));
+
+        assertThat(skipped).isEmpty();
+        assertThat(config.getRevision()).isEqualTo(revision + 1);
+        assertThat(config.getProjectType()).isEqualTo("maven-project");
+        assertThat(config.getJavaVersion()).isEqualTo("21");
+        assertThat(config.getPackageName()).isEqualTo("com.acme.orders");
+        assertThat(config.getArtifactId()).isEqualTo("orders");
+        assertThat(config.getSelectedDependencies()).containsExactly("web", "legacy");
+    }
+
+    @Test
+    void applyPreset_skipsWhatTheMetadataNoLongerOffers() {
+        config.setBootVersion("4.0.0-RC1");
+        var preset = new Preset("old", "ant-project", null, "2.7.18", null, null, null, null,
+                List.of("web", "legacy", "removed"));
+
+        var skipped = config.applyPreset(preset, presetMetadata(), MetadataIndex.of(presetMetadata()));
+
+        assertThat(skipped).containsExactly("Project ant-project", "Boot 2.7.18",
+                "legacy (not for Boot 4.0.0-RC1)", "removed (unknown)");
+        assertThat(config.getProjectType()).isEqualTo("gradle-project");
+        assertThat(config.getBootVersion()).isEqualTo("4.0.0-RC1");
+        assertThat(config.getSelectedDependencies()).containsExactly("web");
+    }
+
+    @Test
+    void presetOf_roundTripsThroughApply() {
+        config.setGroupId("com.acme");
+        config.setJavaVersion("21");
+        config.toggleDependency("web");
+        var preset = Preset.of("service", config);
+
+        var other = new ProjectConfig();
+        other.applyPreset(preset, presetMetadata(), MetadataIndex.of(presetMetadata()));
+
+        assertThat(other.getGroupId()).isEqualTo("com.acme");
+        assertThat(other.getJavaVersion()).isEqualTo("21");
+        assertThat(other.getSelectedDependencies()).containsExactly("web");
+    }
+
+    // --- selection backed by the metadata index ---
+
+    @Test
+    void selection_keepsOrderAcrossIndexedAndUnknownIds() {
+        config.applyDefaults(presetMetadata(), MetadataIndex.of(presetMetadata()));
+        config.toggleDependency("legacy");
+        config.toggleDependency("custom");
+        config.toggleDependency("web");
+        config.toggleDependency("custom");
+        config.toggleDependency("custom");
+
+        assertThat(config.getSelectedDependencies()).containsExactly("legacy", "web", "custom");
+        assertThat(config.isDependencySelected(config.getIndex().ordinal("web"))).isTrue();
+        assertThat(config.isDependencySelected("custom")).isTrue();
+        assertThat(config.snapshot().dependencies()).containsExactly("custom", "legacy", "web");
+    }
+
+    @Test
+    void useIndex_keepsSelectionAndCopiesStayIndependent() {
+        config.toggleDependency("web");
+        config.toggleDependency("custom");
+        var copy = config.copy();
+
+        config.useIndex(MetadataIndex.of(presetMetadata()));
+        copy.toggleDependency("web");
+
+        assertThat(config.getSelectedDependencies()).containsExactly("web", "custom");
+        assertThat(config.isDependencySelected(config.getIndex().ordinal("web"))).isTrue();
+        assertThat(copy.getSelectedDependencies()).containsExactly("custom");
+    }
+
+    @Test
+    void copy_keepsSnapshotUntilEitherSideChanges() {
+        config.toggleDependency("web");
+        var snapshot = config.snapshot();
+        var copy = config.copy();
+
+        assertThat(copy.snapshot()).isSameAs(snapshot);
+
+        config.setArtifactId("changed");
+        assertThat(copy.snapshot()).isSameAs(snapshot);
+        assertThat(config.snapshot().artifactId()).isEqualTo("changed");
+
+        copy.toggleDependency("jpa");
+        assertThat(copy.snapshot().dependencies()).containsExactly("jpa", "web");
+        assertThat(config.snapshot().dependencies()).containsExactly("web");
+    }
+}
@@ -0,0 +1,47 @@
+package org.maverick.devtools.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionRangeTest {
+
+    @Test
+    void compare_ordersQualifiersLikeReleases() {
+        assertThat(VersionRange.compare("4.0.0-M1", "4.0.0-M2")).isNegative();
+        assertThat(VersionRange.compare("4.0.0-M2", "4.0.0-RC1")).isNegative();
+        assertThat(VersionRange.compare("4.0.0-RC1", "4.0.0-SNAPSHOT")).isNegative();
+        assertThat(VersionRange.compare("4.0.0-SNAPSHOT", "4.0.0")).isNegative();
+        assertThat(VersionRange.compare("3.5.7", "3.10.0")).isNegative();
+    }
+
+    @Test
+    void compare_treatsLegacySuffixesLikeCurrentOnes() {
+        assertThat(VersionRange.compare("3.3.0.RELEASE", "3.3.0")).isZero();
+        assertThat(VersionRange.compare("3.3.0.BUILD-SNAPSHOT", "3.3.0-SNAPSHOT")).isZero();
+    }
+
+    @Test
+    void contains_honoursInclusiveAndExclusiveBounds() {
+        assertThat(VersionRange.contains("[3.3.0,4.0.0-M1)", "3.3.0")).isTrue();
+        assertThat(VersionRange.contains("[3.3.0,4.0.0-M1)", "3.5.7")).isTrue();
+        assertThat(VersionRange.contains("[3.3.0,4.0.0-M1)", "4.0.0-M1")).isFalse();
+        assertThat(VersionRange.contains("[3.3.0,4.0.0-M1)", "4.0.0-SNAPSHOT")).isFalse();
+        assertThat(VersionRange.contains("(3.3.0,3.5.0]", "3.3.0")).isFalse();
+        assertThat(VersionRange.contains("(3.3.0,3.5.0]", "3.5.0")).isTrue();
+    }
+
+    @Test
+    void contains_plainVersionIsLowerBound() {
+        assertThat(VersionRange.contains("3.4.0", "3.4.0")).isTrue();
+        assertThat(VersionRange.contains("3.4.0", "4.0.0-RC1")).isTrue();
+        assertThat(VersionRange.contains("3.4.0", "3.3.9")).isFalse();
+    }
+
+    @Test
+    void contains_allowsEverythingItCannotParse() {
+        assertThat(VersionRange.contains(null, "3.5.7")).isTrue();
+        assertThat(VersionRange.contains("", "3.5.7")).isTrue();
+        assertThat(VersionRange.contains("[latest,next)", "3.5.7")).isTrue();
+    }
+}
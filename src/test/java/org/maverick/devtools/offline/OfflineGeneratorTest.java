@@ -0,0 +1,181 @@
+package org.maverick.devtools.offline;
+
+import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.model.ProjectConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OfflineGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final OfflineGenerator generator = new OfflineGenerator();
+    private ProjectConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ProjectConfig();
+        config.setBootVersion("3.5.7.RELEASE");
+        config.setArtifactId("my-service");
+        config.useIndex(MetadataIndex.of(List.of(
+                new InitializrMetadata.DependencyCategory("Web", List.of(
+                        dependency("web", null),
+                        dependency("lombok", null))),
+                new InitializrMetadata.DependencyCategory("SQL", List.of(
+                        dependency("postgresql", null),
+                        dependency("vector-store", null))),
+                new InitializrMetadata.DependencyCategory("Spring Cloud", List.of(
+                        dependency("cloud-eureka", "[3.2.0,4.1.0-M1)"),
+                        dependency("cloud-legacy", "[2.7.0,3.0.0-M1)"))))));
+    }
+
+    private static InitializrMetadata.Dependency dependency(String id, String versionRange) {
+        return new InitializrMetadata.Dependency(id, "Dependency " + id, "", versionRange, null);
+    }
+
+    // --- build files ---
+
+    @Test
+    void render_mavenProjectPutsPomFirst() {
+        config.setProjectType("maven-project");
+        config.toggleDependency("web");
+        config.toggleDependency("postgresql");
+
+        var files = generator.render(config);
+
+        assertThat(files.keySet().iterator().next()).isEqualTo("pom.xml");
+        assertThat(files.get("pom.xml"))
+                .contains("<version>3.5.7</version>")
+                .contains("<artifactId>spring-boot-starter-web</artifactId>")
+                .contains("<artifactId>postgresql</artifactId>\n\t\t\t<scope>runtime</scope>")
+                .doesNotContain("{{");
+    }
+
+    @Test
+    void render_gradleProjectsUseMatchingDsl() {
+        config.toggleDependency("lombok");
+
+        config.setProjectType("gradle-project");
+        String groovy = generator.render(config).get("build.gradle");
+        config.setProjectType("gradle-project-kotlin");
+        var kotlinFiles = generator.render(config);
+
+        assertThat(groovy).contains("compileOnly 'org.projectlombok:lombok'", "extendsFrom annotationProcessor");
+        assertThat(kotlinFiles.get("build.gradle.kts")).contains("compileOnly(\"org.projectlombok:lombok\")");
+        assertThat(kotlinFiles.get("settings.gradle.kts")).isEqualTo("rootProject.name = \"my-service\"\n");
+    }
+
+    @Test
+    void render_addsPlainStarterWhenNoStarterSelected() {
+        config.setProjectType("gradle-project");
+
+        assertThat(generator.render(config).get("build.gradle"))
+                .contains("implementation 'org.springframework.boot:spring-boot-starter'\n");
+    }
+
+    @Test
+    void render_springCloudImportsBom() {
+        config.setProjectType("maven-project");
+        config.toggleDependency("cloud-eureka");
+
+        assertThat(generator.render(config).get("pom.xml")).contains("<artifactId>spring-cloud-dependencies</artifactId>");
+    }
+
+    @Test
+    void render_springCloudTrainFollowsTheBootMinor() {
+        config.setProjectType("gradle-project");
+        config.toggleDependency("cloud-eureka");
+
+        assertThat(generator.render(config).get("build.gradle"))
+                .contains("mavenBom 'org.springframework.cloud:spring-cloud-dependencies:2025.0.0'");
+        config.setBootVersion("3.4.11");
+        assertThat(generator.render(config).get("build.gradle"))
+                .contains("mavenBom 'org.springframework.cloud:spring-cloud-dependencies:2024.0.1'");
+        config.setBootVersion("4.0.0");
+        assertThat(generator.render(config).get("build.gradle"))
+                .contains("mavenBom 'org.springframework.cloud:spring-cloud-dependencies:2025.1.0'");
+    }
+
+    @Test
+    void render_refusesSpringCloudForAnUnknownBootMinor() {
+        config.setBootVersion("3.6.0");
+        config.toggleDependency("cloud-eureka");
+
+        assertThatThrownBy(() -> generator.render(config))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No Spring Cloud release is known for Spring Boot 3.6.0");
+    }
+
+    @Test
+    void render_requiresBootVersion() {
+        config.setBootVersion("");
+
+        assertThatThrownBy(() -> generator.render(config)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void render_refusesDependenciesItCannotResolve() {
+        config.toggleDependency("web");
+        config.toggleDependency("not-in-metadata");
+        config.toggleDependency("cloud-legacy");
+        config.toggleDependency("vector-store");
+
+        assertThatThrownBy(() -> generator.render(config))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not-in-metadata is not in the cached metadata")
+                .hasMessageContaining("Dependency cloud-legacy is not available for Spring Boot 3.5.7")
+                .hasMessageContaining("Dependency vector-store (vector-store) has no bundled coordinates");
+    }
+
+    // --- sources ---
+
+    @Test
+    void render_kotlinSourcesUseSanitizedPackage() {
+        config.setLanguage("kotlin");
+
+        var files = generator.render(config);
+
+        assertThat(files).containsKey("src/main/kotlin/com/example/myservice/MyServiceApplication.kt");
+        assertThat(files.get("src/test/kotlin/com/example/myservice/MyServiceApplicationTests.kt"))
+                .startsWith("package com.example.myservice\n");
+    }
+
+    @Test
+    void render_yamlApplicationFormat() {
+        config.setApplicationFormat("yaml");
+
+        assertThat(generator.render(config).get("src/main/resources/application.yml"))
+                .isEqualTo("spring:\n  application:\n    name: my-service\n");
+    }
+
+    @Test
+    void className_followsInitializrNaming() {
+        assertThat(OfflineGenerator.className("demo")).isEqualTo("DemoApplication");
+        assertThat(OfflineGenerator.className("my-service")).isEqualTo("MyServiceApplication");
+        assertThat(OfflineGenerator.className("42")).isEqualTo("Application");
+    }
+
+    // --- disk ---
+
+    @Test
+    void generate_writesProjectUnderArtifactId() throws Exception {
+        config.setProjectType("maven-project");
+
+        Path projectDir = generator.generate(config, tempDir);
+
+        assertThat(projectDir).isEqualTo(tempDir.resolve("my-service"));
+        assertThat(projectDir.resolve("pom.xml")).exists();
+        assertThat(Files.readString(projectDir.resolve("src/main/java/com/example/myservice/MyServiceApplication.java")))
+                .contains("public class MyServiceApplication");
+    }
+}
@@ -0,0 +1,88 @@
+package org.maverick.devtools.ui;
+
+import org.maverick.devtools.api.FakeInitializrServer;
+import org.maverick.devtools.api.InitializrClient;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.model.ProjectConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildFilePreviewTest {
+
+    private FakeInitializrServer server;
+    private ProjectConfig config;
+    private BuildFilePreview preview;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = FakeInitializrServer.start();
+        var client = new InitializrClient(server.baseUrl());
+        config = new ProjectConfig();
+        var metadata = client.fetchMetadata();
+        config.applyDefaults(metadata, MetadataIndex.of(metadata));
+        config.setProjectType("maven-project");
+        preview = new BuildFilePreview(client, config);
+        preview.toggle();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void rapidEdits_sendOneRequestForTheLastConfiguration() throws Exception {
+        for (String dep : new String[] { "web", "data-jpa", "security" }) {
+            config.toggleDependency(dep);
+            preview.update();
+        }
+
+        awaitContent();
+
+        assertThat(server.requestCount("/pom.xml")).isEqualTo(1);
+        assertThat(preview.getFileName()).isEqualTo("pom.xml");
+        assertThat(preview.getContent()).contains("spring-boot-starter-security");
+        assertThat(preview.getStatus()).isEmpty();
+    }
+
+    @Test
+    void returningToCachedConfiguration_isImmediate() throws Exception {
+        config.toggleDependency("web");
+        preview.update();
+        awaitContent();
+        config.toggleDependency("web");
+        preview.update();
+        awaitContent();
+
+        config.toggleDependency("web");
+        preview.update();
+
+        assertThat(preview.getStatus()).isEmpty();
+        assertThat(preview.getContent()).contains("spring-boot-starter-web");
+        assertThat(server.requestCount("/pom.xml")).isEqualTo(2);
+    }
+
+    @Test
+    void hiddenPane_doesNotFetch() throws Exception {
+        preview.toggle();
+        config.toggleDependency("web");
+        preview.update();
+
+        Thread.sleep(BuildFilePreview.DEBOUNCE_MILLIS * 2);
+
+        assertThat(server.requestCount("/pom.xml")).isZero();
+    }
+
+    private void awaitContent() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!preview.getStatus().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(preview.getStatus()).isEmpty();
+    }
+}
@@ -0,0 +1,234 @@
+package org.maverick.devtools.ui;
+
+import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.model.ProjectConfig;
+import org.maverick.devtools.util.DependencyUsage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyPickerTest {
+
+    private ProjectConfig config;
+    private DependencyPicker picker;
+
+    // Flat list layout:
+    // 0: "Web" (category header)
+    // 1: web
+    // 2: webflux
+    // 3: "Data" (category header)
+    // 4: jpa
+    // 5: jdbc
+
+    @BeforeEach
+    void setUp() {
+        config = new ProjectConfig();
+        picker = new DependencyPicker(MetadataIndex.of(categories()), config, new DependencyUsage());
+    }
+
+    private static List<InitializrMetadata.DependencyCategory> categories() {
+        return List.of(
+                new InitializrMetadata.DependencyCategory("Web", List.of(
+                        dep("web", "Spring Web", "Build web applications"),
+                        dep("webflux", "Spring Reactive Web", "Reactive web apps"))),
+                new InitializrMetadata.DependencyCategory("Data", List.of(
+                        dep("jpa", "Spring Data JPA", "Java Persistence API"),
+                        dep("jdbc", "Spring Data JDBC", "JDBC support"))));
+    }
+
+    private static InitializrMetadata.Dependency dep(String id, String name, String description) {
+        return new InitializrMetadata.Dependency(id, name, description, null, null);
+    }
+
+    // --- search filtering ---
+
+    @Test
+    void setSearchQuery_filtersResults() {
+        picker.setSearchQuery("reactive");
+        assertThat(picker.getSearchQuery()).isEqualTo("reactive");
+    }
+
+    @Test
+    void setSearchQuery_emptyShowsAll() {
+        picker.setSearchQuery("reactive");
+        picker.setSearchQuery("");
+        assertThat(picker.getSearchQuery()).isEmpty();
+    }
+
+    @Test
+    void setSearchQuery_boostsFrequentlyUsedDependencies() {
+        picker.setSearchQuery("spring data");
+        assertThat(picker.getListedDependencies().get(0).id()).isEqualTo("jpa");
+
+        var usage = new DependencyUsage();
+        for (int i = 0; i < 3; i++)
+            usage.record(List.of("jdbc"), Instant.now());
+        var boosted = new DependencyPicker(MetadataIndex.of(categories()), config, usage);
+        boosted.setSearchQuery("spring data");
+
+        assertThat(boosted.getListedDependencies().get(0).id()).isEqualTo("jdbc");
+    }
+
+    @Test
+    void setSearchQuery_boostDoesNotOutrankBetterMatches() {
+        var usage = new DependencyUsage();
+        for (int i = 0; i < 50; i++)
+            usage.record(List.of("h2"), Instant.now());
+        var categories = List.of(new InitializrMetadata.DependencyCategory("SQL", List.of(
+                dep("h2", "H2 Database", "Java DataBase Connectivity, in memory"),
+                dep("jdbc", "Spring Data JDBC", "JDBC support"))));
+        var boosted = new DependencyPicker(MetadataIndex.of(categories), config, usage);
+        boosted.setSearchQuery("jdbc");
+
+        // A heavily used fuzzy match still ranks below a substring match
+        assertThat(boosted.getListedDependencies()).extracting(InitializrMetadata.Dependency::id)
+                .containsExactly("jdbc", "h2");
+    }
+
+    // --- match highlighting ---
+
+    @Test
+    void fuzzyScore_substringMatchIsOneRun() {
+        assertThat(picker.fuzzyScore("web", "Spring Web").runs()).containsExactly(7, 10);
+    }
+
+    @Test
+    void fuzzyScore_mergesConsecutiveMatchesIntoRuns() {
+        var result = picker.fuzzyScore("spw", "Spring Web");
+
+        assertThat(result.score()).isPositive();
+        assertThat(result.runs()).containsExactly(0, 2, 7, 8);
+    }
+
+    @Test
+    void fuzzyScore_noMatchHasNoRuns() {
+        var result = picker.fuzzyScore("xyz", "Spring Web");
+
+        assertThat(result.score()).isZero();
+        assertThat(result.runs()).isEmpty();
+    }
+
+    @Test
+    void render_reusesHighlightedRowsForSameQuery() {
+        picker.setSearchQuery("spring");
+        picker.render(21);
+        int built = picker.getHighlightedRowBuilds();
+
+        picker.render(11); // a new height rebuilds the list
+        picker.render(11);
+
+        assertThat(built).isPositive();
+        assertThat(picker.getHighlightedRowBuilds()).isEqualTo(built);
+    }
+
+    // --- frequently used ---
+
+    @Test
+    void frequentlyUsed_listsMostUsedFirstBeforeCategories() {
+        var usage = new DependencyUsage();
+        usage.record(List.of("jdbc", "web"), Instant.now());
+        usage.record(List.of("web"), Instant.now());
+        usage.record(List.of("unknown"), Instant.now());
+        var withUsage = new DependencyPicker(MetadataIndex.of(categories()), config, usage);
+
+        assertThat(withUsage.getListedDependencies()).extracting(InitializrMetadata.Dependency::id)
+                .containsExactly("web", "jdbc", "web", "webflux", "jpa", "jdbc");
+    }
+
+    @Test
+    void frequentlyUsed_hiddenWithoutHistory() {
+        assertThat(picker.getListedDependencies()).extracting(InitializrMetadata.Dependency::id)
+                .containsExactly("web", "webflux", "jpa", "jdbc");
+    }
+
+    // --- suggestions ---
+
+    @Test
+    void suggestions_appearForSelectionAndFollowToggles() {
+        var usage = new DependencyUsage();
+        usage.record(List.of("web", "jpa", "jdbc"), Instant.now());
+        var withUsage = new DependencyPicker(MetadataIndex.of(categories()), config, usage);
+        // Frequently Used (web, jpa, jdbc) above the four categorized entries
+        assertThat(withUsage.getListedDependencies()).hasSize(7);
+
+        config.toggleDependency("web");
+        withUsage.render(21);
+
+        assertThat(withUsage.getListedDependencies()).extracting(InitializrMetadata.Dependency::id)
+                .startsWith("jdbc", "jpa", "web");
+        assertThat(withUsage.getListedDependencies()).hasSize(9);
+    }
+
+    @Test
+    void suggestions_keepCursorInPlaceWhileTogglingThem() {
+        var usage = new DependencyUsage();
+        usage.record(List.of("web", "jpa", "jdbc"), Instant.now());
+        config.toggleDependency("web");
+        var withUsage = new DependencyPicker(MetadataIndex.of(categories()), config, usage);
+
+        // 0: Suggested header, 1: jdbc, 2: jpa
+        withUsage.moveDown();
+        withUsage.toggleSelected();
+        withUsage.toggleSelected();
+
+        assertThat(config.getSelectedDependencies()).containsExactly("web", "jdbc", "jpa");
+    }
+
+    // --- cursor navigation ---
+
+    @Test
+    void moveDown_skipsCategoryHeaders() {
+        // From 0 (Web header) -> 1 (web) -> 2 (webflux) -> 4 (jpa, skips Data header at 3)
+        picker.moveDown(); // web
+        picker.moveDown(); // webflux
+        picker.moveDown(); // jpa (skips Data header)
+        picker.toggleSelected();
+        assertThat(config.isDependencySelected("jpa")).isTrue();
+    }
+
+    @Test
+    void moveUp_skipsCategoryHeaders() {
+        // Navigate to jpa (index 4), then moveUp should skip Data header back to webflux
+        picker.moveDown(); // web (1)
+        picker.moveDown(); // webflux (2)
+        picker.moveDown(); // jpa (4, skips Data header at 3)
+        picker.moveUp();   // webflux (2, skips Data header at 3)
+        picker.toggleSelected();
+        assertThat(config.isDependencySelected("webflux")).isTrue();
+    }
+
+    @Test
+    void moveUp_stopsAtTop() {
+        // Move down to web (1), then back up twice — should not go below 0
+        picker.moveDown(); // web (1)
+        picker.moveUp();   // 0 (Web header)
+        picker.moveUp();   // stays at 0
+        picker.moveDown(); // web (1) again
+        picker.toggleSelected();
+        assertThat(config.isDependencySelected("web")).isTrue();
+    }
+
+    @Test
+    void moveDown_stopsAtBottom() {
+        for (int i = 0; i < 20; i++) picker.moveDown();
+        picker.toggleSelected();
+        assertThat(config.isDependencySelected("jdbc")).isTrue();
+    }
+
+    // --- toggleSelected ---
+
+    @Test
+    void toggleSelected_togglesDependencyInConfig() {
+        picker.moveDown(); // move to web (index 1)
+        picker.toggleSelected();
+        assertThat(config.isDependencySelected("web")).isTrue();
+
+        picker.toggleSelected();
+        assertThat(config.isDependencySelected("web")).isFalse();
+    }
+}
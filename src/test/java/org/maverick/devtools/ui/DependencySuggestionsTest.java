@@ -0,0 +1,58 @@
+package org.maverick.devtools.ui;
+
+import org.maverick.devtools.util.DependencyUsage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencySuggestionsTest {
+
+    private DependencySuggestions suggestions;
+
+    @BeforeEach
+    void setUp() {
+        var usage = new DependencyUsage();
+        var now = Instant.now();
+        for (int i = 0; i < 3; i++)
+            usage.record(List.of("web", "data-jpa", "postgresql", "validation"), now);
+        usage.record(List.of("web", "actuator"), now);
+        usage.record(List.of("data-jpa", "h2"), now);
+        suggestions = new DependencySuggestions(usage);
+    }
+
+    @Test
+    void top_ranksBySharedProjectsAcrossTheSelection() {
+        suggestions.sync(List.of("web", "data-jpa"));
+
+        assertThat(suggestions.top(3, id -> true)).containsExactly("postgresql", "validation", "actuator");
+    }
+
+    @Test
+    void top_isEmptyWithoutSelection() {
+        suggestions.sync(List.of());
+
+        assertThat(suggestions.top(5, id -> true)).isEmpty();
+    }
+
+    @Test
+    void sync_appliesOnlyTheDifference() {
+        suggestions.sync(List.of("web", "data-jpa"));
+        suggestions.sync(List.of("data-jpa"));
+
+        assertThat(suggestions.top(5, id -> true)).containsExactly("postgresql", "validation", "web", "h2");
+
+        suggestions.sync(List.of());
+        assertThat(suggestions.top(5, id -> true)).isEmpty();
+    }
+
+    @Test
+    void top_skipsSelectedAndIneligible() {
+        suggestions.sync(List.of("web", "postgresql"));
+
+        assertThat(suggestions.top(5, id -> !id.equals("validation"))).containsExactly("data-jpa", "actuator");
+    }
+}
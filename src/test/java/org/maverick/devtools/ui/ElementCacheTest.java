@@ -0,0 +1,46 @@
+package org.maverick.devtools.ui;
+
+import dev.tamboui.toolkit.element.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static dev.tamboui.toolkit.Toolkit.text;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ElementCacheTest {
+
+    private final ElementCache cache = new ElementCache();
+    private final AtomicInteger builds = new AtomicInteger();
+    private final Supplier<Element> builder = () -> text("build " + builds.incrementAndGet());
+
+    @Test
+    void get_returnsTheSameElementWhileTheKeysAreUnchanged() {
+        var first = cache.get(1, 2, 3, 4, builder);
+
+        assertThat(cache.get(1, 2, 3, 4, builder)).isSameAs(first);
+        assertThat(builds.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_rebuildsWhenAnyKeyChanges() {
+        var element = cache.get(1, 2, 3, 4, builder);
+
+        for (long[] keys : new long[][] { { 2, 2, 3, 4 }, { 2, 3, 3, 4 }, { 2, 3, 4, 4 }, { 2, 3, 4, 5 } }) {
+            var rebuilt = cache.get(keys[0], keys[1], keys[2], keys[3], builder);
+            assertThat(rebuilt).isNotSameAs(element);
+            element = rebuilt;
+        }
+        assertThat(builds.get()).isEqualTo(5);
+        assertThat(cache.get(2, 3, 4, 5, builder)).isSameAs(element);
+    }
+
+    @Test
+    void get_withoutKeysBuildsOnce() {
+        var first = cache.get(builder);
+
+        assertThat(cache.get(builder)).isSameAs(first);
+        assertThat(builds.get()).isEqualTo(1);
+    }
+}
@@ -1,4 +1,4 @@
-package dev.danvega.initializr.ui;
+package org.maverick.devtools.ui;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -52,7 +52,7 @@ class ExploreScreenTest {
         for (int i = 0; i < LINE_COUNT + 10; i++) {
             screen.scrollDown();
         }
-        // Should be clamped to lines.length - 1
+        // Should be clamped so the last page is full
         screen.scrollDown(); // should not go further
     }
 
@@ -87,6 +87,41 @@ class ExploreScreenTest {
     @Test
     void pageDown_stopsAtLastLine() {
         for (int i = 0; i < 10; i++) screen.pageDown();
-        // Should be clamped to lines.length - 1 = 49
+        // Should be clamped so the last page is full: 50 - 20 = 30
+    }
+
+    // --- navigate ---
+
+    @Test
+    void navigate_appliesAllStepsOfABatch() {
+        screen.render(20);
+
+        screen.navigate(new InputCoalescer.Batch(InputCoalescer.Navigation.DOWN, 3));
+
+        assertThat(screen.getScrollInfo(20)).isEqualTo("Lines 4-23 of 50");
+    }
+
+    @Test
+    void navigate_pagesByTheVisibleHeightAndClamps() {
+        screen.render(20);
+
+        screen.navigate(new InputCoalescer.Batch(InputCoalescer.Navigation.PAGE_DOWN, 1));
+        assertThat(screen.getScrollInfo(20)).isEqualTo("Lines 21-40 of 50");
+
+        screen.navigate(new InputCoalescer.Batch(InputCoalescer.Navigation.PAGE_DOWN, 2));
+        assertThat(screen.getScrollInfo(20)).isEqualTo("Lines 31-50 of 50");
+
+        screen.navigate(new InputCoalescer.Batch(InputCoalescer.Navigation.PAGE_UP, 5));
+        assertThat(screen.getScrollInfo(20)).isEqualTo("Lines 1-20 of 50");
+    }
+
+    @Test
+    void render_pagesByTheHeightOfTheLayoutArea() {
+        // The file panel border and the scroll gauge take three of the rows
+        ((Viewport) screen.render()).layout(23);
+
+        screen.navigate(new InputCoalescer.Batch(InputCoalescer.Navigation.PAGE_DOWN, 1));
+
+        assertThat(screen.getScrollInfo(20)).isEqualTo("Lines 21-40 of 50");
     }
 }
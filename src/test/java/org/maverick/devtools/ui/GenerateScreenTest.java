@@ -1,6 +1,6 @@
-package dev.danvega.initializr.ui;
+package org.maverick.devtools.ui;
 
-import dev.danvega.initializr.util.IdeLauncher;
+import org.maverick.devtools.util.IdeLauncher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -0,0 +1,56 @@
+package org.maverick.devtools.ui;
+
+import org.maverick.devtools.ui.InputCoalescer.Batch;
+import org.maverick.devtools.ui.InputCoalescer.Navigation;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InputCoalescerTest {
+
+    private final InputCoalescer coalescer = new InputCoalescer();
+
+    @Test
+    void add_batchesRepeatsOfOneDirection() {
+        assertThat(coalescer.add(Navigation.DOWN)).isNull();
+        assertThat(coalescer.add(Navigation.DOWN)).isNull();
+        assertThat(coalescer.add(Navigation.DOWN)).isNull();
+
+        assertThat(coalescer.hasPending()).isTrue();
+        assertThat(coalescer.drain()).isEqualTo(new Batch(Navigation.DOWN, 3));
+    }
+
+    @Test
+    void add_flushesPendingBatchOnDirectionChange() {
+        coalescer.add(Navigation.UP);
+        coalescer.add(Navigation.UP);
+
+        assertThat(coalescer.add(Navigation.DOWN)).isEqualTo(new Batch(Navigation.UP, 2));
+        assertThat(coalescer.drain()).isEqualTo(new Batch(Navigation.DOWN, 1));
+    }
+
+    @Test
+    void add_countsPageStepsSeparatelyFromLineSteps() {
+        coalescer.add(Navigation.PAGE_DOWN);
+        coalescer.add(Navigation.PAGE_DOWN);
+
+        assertThat(coalescer.add(Navigation.DOWN)).isEqualTo(new Batch(Navigation.PAGE_DOWN, 2));
+        assertThat(coalescer.add(Navigation.PAGE_UP)).isEqualTo(new Batch(Navigation.DOWN, 1));
+        assertThat(coalescer.drain()).isEqualTo(new Batch(Navigation.PAGE_UP, 1));
+    }
+
+    @Test
+    void drain_emptiesTheCoalescer() {
+        coalescer.add(Navigation.UP);
+        coalescer.drain();
+
+        assertThat(coalescer.hasPending()).isFalse();
+        assertThat(coalescer.drain()).isNull();
+    }
+
+    @Test
+    void drain_returnsNullWhenNothingIsPending() {
+        assertThat(coalescer.hasPending()).isFalse();
+        assertThat(coalescer.drain()).isNull();
+    }
+}
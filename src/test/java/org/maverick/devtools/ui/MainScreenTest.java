@@ -0,0 +1,75 @@
+package org.maverick.devtools.ui;
+
+import org.maverick.devtools.api.InitializrMetadata;
+import org.maverick.devtools.api.MetadataIndex;
+import org.maverick.devtools.model.ProjectConfig;
+import org.maverick.devtools.ui.InputCoalescer.Batch;
+import org.maverick.devtools.ui.InputCoalescer.Navigation;
+import org.maverick.devtools.util.DependencyUsage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MainScreenTest {
+
+    private MainScreen screen;
+
+    // Dependency list: 0 "Web" header, 1 web, 2 webflux
+    @BeforeEach
+    void setUp() {
+        var metadata = metadata();
+        screen = new MainScreen(metadata, MetadataIndex.of(metadata), new ProjectConfig(), new DependencyUsage());
+    }
+
+    static InitializrMetadata.Metadata metadata() {
+        var type = new InitializrMetadata.SelectField("single-select", "maven-project",
+                List.of(new InitializrMetadata.SelectOption("maven-project", "Maven")));
+        var dependencies = new InitializrMetadata.DependencyGroup("hierarchical-multi-select", List.of(
+                new InitializrMetadata.DependencyCategory("Web", List.of(
+                        new InitializrMetadata.Dependency("web", "Spring Web", "", null, null),
+                        new InitializrMetadata.Dependency("webflux", "Spring Reactive Web", "", null, null)))));
+        return new InitializrMetadata.Metadata(type, null, null, null, null,
+                null, null, null, null, null, null, null, dependencies);
+    }
+
+    // --- navigate ---
+
+    @Test
+    void navigate_movesThroughTheListThenUpIntoTheForm() {
+        screen.focusPrevious(); // wraps round to the dependency list
+
+        screen.navigate(new Batch(Navigation.DOWN, 2));
+        assertThat(screen.getDependencyPicker().isAtTop()).isFalse();
+
+        // Two rows up to the top, then two fields up the form
+        screen.navigate(new Batch(Navigation.UP, 4));
+        assertThat(screen.getDependencyPicker().isAtTop()).isTrue();
+        assertThat(screen.getFocusArea()).isEqualTo(MainScreen.FocusArea.JAVA_VERSION);
+    }
+
+    @Test
+    void navigate_staysInTheListWhileSearching() {
+        screen.enterSearchMode();
+
+        screen.navigate(new Batch(Navigation.UP, 5));
+
+        assertThat(screen.getFocusArea()).isEqualTo(MainScreen.FocusArea.DEPENDENCIES);
+        assertThat(screen.isSearchMode()).isTrue();
+    }
+
+    // --- layout ---
+
+    @Test
+    void dependencyList_takesItsHeightFromTheLayoutArea() {
+        var list = (Viewport) screen.getDependencyPicker().render();
+
+        list.layout(16);
+        assertThat(screen.getDependencyPicker().getViewportHeight()).isEqualTo(16 - DependencyPicker.SUMMARY_ROWS);
+
+        list.layout(1);
+        assertThat(screen.getDependencyPicker().getViewportHeight()).isEqualTo(1);
+    }
+}
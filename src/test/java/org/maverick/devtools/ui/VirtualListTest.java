@@ -0,0 +1,96 @@
+package org.maverick.devtools.ui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualListTest {
+
+    @Test
+    void layout_showsWholeListWhenItFits() {
+        var view = new VirtualList(20);
+
+        view.layout(5, 20, 4);
+
+        assertThat(view.start()).isEqualTo(0);
+        assertThat(view.end(5)).isEqualTo(5);
+    }
+
+    @Test
+    void layout_scrollsOnlyAsFarAsTheCursorNeeds() {
+        var view = new VirtualList(10);
+
+        view.layout(100, 10, 7);
+        assertThat(view.start()).isEqualTo(0);
+
+        view.layout(100, 10, 8);
+        assertThat(view.start()).isEqualTo(1);
+        assertThat(view.end(100)).isEqualTo(11);
+    }
+
+    @Test
+    void layout_keepsMarginAboveCursorWhenMovingUp() {
+        var view = new VirtualList(10);
+        view.scrollTo(50, 100);
+
+        view.layout(100, 10, 51);
+
+        assertThat(view.start()).isEqualTo(51 - VirtualList.SCROLL_MARGIN);
+    }
+
+    @Test
+    void layout_keepsAnchorOnResize() {
+        var view = new VirtualList(10);
+        view.scrollTo(40, 100);
+
+        view.layout(100, 30, 45);
+        assertThat(view.start()).isEqualTo(40);
+
+        view.layout(100, 8, 45);
+        assertThat(view.start()).isEqualTo(40);
+    }
+
+    @Test
+    void layout_movesAnchorWhenShrinkingWouldHideCursor() {
+        var view = new VirtualList(30);
+        view.scrollTo(40, 100);
+
+        view.layout(100, 10, 60);
+
+        assertThat(view.start()).isEqualTo(60 + VirtualList.SCROLL_MARGIN - 9);
+        assertThat(view.end(100)).isGreaterThan(60);
+    }
+
+    @Test
+    void layout_fillsViewportWhenGrowingPastEndOfList() {
+        var view = new VirtualList(10);
+        view.scrollTo(90, 100);
+
+        view.layout(100, 20, -1);
+
+        assertThat(view.start()).isEqualTo(80);
+        assertThat(view.end(100)).isEqualTo(100);
+    }
+
+    @Test
+    void scrollBy_clampsToBothEnds() {
+        var view = new VirtualList(10);
+
+        view.scrollBy(-5, 50);
+        assertThat(view.start()).isEqualTo(0);
+
+        view.scrollBy(1000, 50);
+        assertThat(view.start()).isEqualTo(40);
+    }
+
+    @Test
+    void layout_handlesEmptyListAndTinyViewport() {
+        var view = new VirtualList(0);
+
+        view.layout(0, 0, -1);
+
+        assertThat(view.height()).isEqualTo(1);
+        assertThat(view.start()).isEqualTo(0);
+        assertThat(view.end(0)).isEqualTo(0);
+    }
+}
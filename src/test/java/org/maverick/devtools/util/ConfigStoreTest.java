@@ -0,0 +1,244 @@
+package org.maverick.devtools.util;
+
+import org.maverick.devtools.model.Preset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ConfigStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConfigStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ConfigStore(tempDir);
+    }
+
+    // --- load / save round-trip ---
+
+    @Test
+    void loadSave_roundTrip() {
+        var prefs = new ConfigStore.UserPreferences();
+        prefs.setLastProjectType("maven-project");
+        prefs.setLastLanguage("kotlin");
+        prefs.setLastJavaVersion("21");
+        prefs.setLastGroupId("org.acme");
+        prefs.setLastPackaging("war");
+
+        store.save(prefs);
+
+        var loaded = store.load();
+        assertThat(loaded.getLastProjectType()).isEqualTo("maven-project");
+        assertThat(loaded.getLastLanguage()).isEqualTo("kotlin");
+        assertThat(loaded.getLastJavaVersion()).isEqualTo("21");
+        assertThat(loaded.getLastGroupId()).isEqualTo("org.acme");
+        assertThat(loaded.getLastPackaging()).isEqualTo("war");
+    }
+
+    @Test
+    void loadSave_keepsDependencyUsage() {
+        var now = Instant.now();
+        var prefs = new ConfigStore.UserPreferences();
+        prefs.getDependencyUsage().record(List.of("web", "jpa"), now);
+        prefs.getDependencyUsage().record(List.of("security", "web"), now);
+
+        store.save(prefs);
+        store.flush();
+
+        var usage = new ConfigStore(tempDir).load().getDependencyUsage();
+        assertThat(usage.byScore(now)).containsExactly("web", "jpa", "security");
+        assertThat(usage.score("web", now)).isCloseTo(2.0, within(1e-9));
+        assertThat(usage.countTogether("web", "jpa")).isEqualTo(1);
+        assertThat(usage.countTogether("security", "web")).isEqualTo(1);
+    }
+
+    @Test
+    void loadSave_keepsPresetsInSlotOrder() {
+        var prefs = new ConfigStore.UserPreferences();
+        prefs.putPreset(new Preset("service", "maven-project", "java", "3.5.7", "com.acme", "jar", "21",
+                "yaml", List.of("web", "actuator")));
+        prefs.putPreset(new Preset("batch", null, null, null, null, null, null, null, List.of("batch")));
+
+        store.save(prefs);
+        store.flush();
+
+        var presets = new ConfigStore(tempDir).load().getPresets();
+        assertThat(presets).extracting(Preset::name).containsExactly("service", "batch");
+        assertThat(presets.get(0).dependencies()).containsExactly("web", "actuator");
+        assertThat(presets.get(1).groupId()).isNull();
+    }
+
+    @Test
+    void putPreset_replacesSameNameAndRefusesWhenFull() {
+        var prefs = new ConfigStore.UserPreferences();
+        for (int i = 0; i < ConfigStore.UserPreferences.MAX_PRESETS; i++)
+            assertThat(prefs.putPreset(new Preset("p" + i, null, null, null, null, null, null, null, null)))
+                    .isEqualTo(i);
+
+        assertThat(prefs.putPreset(new Preset("p3", null, null, null, null, null, null, null, List.of("web"))))
+                .isEqualTo(3);
+        assertThat(prefs.getPresets().get(3).dependencies()).containsExactly("web");
+        assertThat(prefs.putPreset(new Preset("extra", null, null, null, null, null, null, null, null)))
+                .isEqualTo(-1);
+    }
+
+    @Test
+    void load_seedsUsageFromLegacyRecentDependencies() throws IOException {
+        Files.writeString(tempDir.resolve("config.json"), """
+                {"lastGroupId": "org.acme",
+                 "recentDependencies": [["security"], ["web", "jpa"], ["web"]]}
+                """);
+
+        var prefs = store.load();
+
+        assertThat(prefs.getLastGroupId()).isEqualTo("org.acme");
+        assertThat(prefs.getDependencyUsage().byScore(Instant.now()).get(0)).isEqualTo("web");
+        assertThat(prefs.getDependencyUsage().countTogether("web", "jpa")).isEqualTo(1);
+    }
+
+    // --- write-behind and cached snapshot ---
+
+    @Test
+    void save_reachesDiskAfterFlushWithoutTemporaryFiles() throws IOException {
+        var prefs = new ConfigStore.UserPreferences();
+        for (int i = 0; i < 20; i++) {
+            prefs.setLastGroupId("org.acme" + i);
+            store.save(prefs);
+        }
+
+        store.flush();
+
+        assertThat(new ConfigStore(tempDir).load().getLastGroupId()).isEqualTo("org.acme19");
+        try (var files = Files.list(tempDir)) {
+            assertThat(files.map(f -> f.getFileName().toString()).toList()).containsExactly("config.json");
+        }
+    }
+
+    @Test
+    void load_returnsCopies() {
+        var loaded = store.load();
+        loaded.setLastGroupId("changed");
+        loaded.getDependencyUsage().record(List.of("web"), Instant.now());
+
+        assertThat(store.load().getLastGroupId()).isEqualTo("com.example");
+        assertThat(store.load().getDependencyUsage().isEmpty()).isTrue();
+    }
+
+    @Test
+    void load_doesNotReparseUnchangedFile() throws IOException {
+        var prefs = new ConfigStore.UserPreferences();
+        prefs.setLastGroupId("org.acme");
+        store.save(prefs);
+        store.flush();
+        Path file = tempDir.resolve("config.json");
+        var modified = Files.getLastModifiedTime(file);
+
+        // Same size and time: only a re-parse would notice the garbage
+        Files.writeString(file, "x".repeat((int) Files.size(file)));
+        Files.setLastModifiedTime(file, modified);
+
+        assertThat(store.load().getLastGroupId()).isEqualTo("org.acme");
+    }
+
+    @Test
+    void load_picksUpChangesFromOtherStores() throws IOException {
+        assertThat(store.load().getLastGroupId()).isEqualTo("com.example");
+
+        var other = new ConfigStore(tempDir);
+        var prefs = other.load();
+        prefs.setLastGroupId("org.other");
+        other.save(prefs);
+        other.flush();
+        Path file = tempDir.resolve("config.json");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+
+        assertThat(store.load().getLastGroupId()).isEqualTo("org.other");
+    }
+
+    @Test
+    void save_mergesWhatAnotherStoreWroteMeanwhile() {
+        var now = Instant.now();
+        var other = new ConfigStore(tempDir);
+        var ours = store.load();
+        var theirs = other.load();
+
+        theirs.setLastGroupId("org.other");
+        theirs.getDependencyUsage().record(List.of("web", "security"), now);
+        theirs.putPreset(new Preset("theirs", null, null, null, null, null, null, null, List.of("security")));
+        other.save(theirs);
+        other.flush();
+
+        ours.setLastJavaVersion("21");
+        ours.getDependencyUsage().record(List.of("web", "jpa"), now);
+        ours.putPreset(new Preset("ours", null, null, null, null, null, null, null, List.of("jpa")));
+        store.save(ours);
+        store.flush();
+
+        for (var loaded : List.of(store.load(), new ConfigStore(tempDir).load())) {
+            assertThat(loaded.getLastGroupId()).isEqualTo("org.other");
+            assertThat(loaded.getLastJavaVersion()).isEqualTo("21");
+            assertThat(loaded.getDependencyUsage().score("web", now)).isCloseTo(2.0, within(1e-9));
+            assertThat(loaded.getDependencyUsage().countTogether("web", "security")).isEqualTo(1);
+            assertThat(loaded.getDependencyUsage().countTogether("web", "jpa")).isEqualTo(1);
+            assertThat(loaded.getPresets()).extracting(Preset::name).containsExactly("theirs", "ours");
+        }
+    }
+
+    @Test
+    void save_keepsPresetsTheOtherStoreRemoved() {
+        var prefs = store.load();
+        prefs.putPreset(new Preset("a", null, null, null, null, null, null, null, List.of("web")));
+        prefs.putPreset(new Preset("b", null, null, null, null, null, null, null, List.of("jpa")));
+        store.save(prefs);
+        store.flush();
+
+        var ours = store.load();
+        var other = new ConfigStore(tempDir);
+        var theirs = other.load();
+        theirs.getPresets().removeIf(preset -> preset.name().equals("a"));
+        other.save(theirs);
+        other.flush();
+
+        ours.setLastGroupId("org.acme");
+        store.save(ours);
+        store.flush();
+
+        assertThat(new ConfigStore(tempDir).load().getPresets()).extracting(Preset::name).containsExactly("b");
+    }
+
+    // --- load returns defaults when file doesn't exist ---
+
+    @Test
+    void load_returnsDefaultsWhenFileMissing() {
+        var prefs = store.load();
+        assertThat(prefs.getLastProjectType()).isEqualTo("gradle-project");
+        assertThat(prefs.getLastLanguage()).isEqualTo("java");
+        assertThat(prefs.getLastJavaVersion()).isEqualTo("25");
+        assertThat(prefs.getDependencyUsage().isEmpty()).isTrue();
+    }
+
+    // --- load returns defaults on corrupted JSON ---
+
+    @Test
+    void load_returnsDefaultsOnCorruptedJson() throws IOException {
+        Files.createDirectories(tempDir);
+        Files.writeString(tempDir.resolve("config.json"), "{ not valid json !!!");
+
+        var prefs = store.load();
+        assertThat(prefs.getLastProjectType()).isEqualTo("gradle-project");
+        assertThat(prefs.getDependencyUsage().isEmpty()).isTrue();
+    }
+}
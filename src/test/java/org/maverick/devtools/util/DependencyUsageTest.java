@@ -0,0 +1,108 @@
+package org.maverick.devtools.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DependencyUsageTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void score_halvesEveryHalfLife() {
+        var usage = new DependencyUsage();
+        usage.record(List.of("web"), NOW);
+        usage.record(List.of("web"), NOW);
+
+        assertThat(usage.score("web", NOW)).isCloseTo(2.0, within(1e-9));
+        assertThat(usage.score("web", NOW.plus(DependencyUsage.HALF_LIFE))).isCloseTo(1.0, within(1e-9));
+        assertThat(usage.score("unused", NOW)).isZero();
+    }
+
+    @Test
+    void record_decaysOldScoreBeforeAddingOne() {
+        var usage = new DependencyUsage();
+        usage.record(List.of("web"), NOW);
+        usage.record(List.of("web"), NOW.plus(DependencyUsage.HALF_LIFE));
+
+        assertThat(usage.score("web", NOW.plus(DependencyUsage.HALF_LIFE))).isCloseTo(1.5, within(1e-9));
+    }
+
+    @Test
+    void byScore_prefersRecentOverOnceFrequent() {
+        var usage = new DependencyUsage();
+        for (int i = 0; i < 3; i++)
+            usage.record(List.of("jpa"), NOW);
+        var later = NOW.plus(DependencyUsage.HALF_LIFE.multipliedBy(3));
+        usage.record(List.of("web"), later);
+        usage.record(List.of("web"), later);
+
+        // jpa decayed to 3/8, web is at 2
+        assertThat(usage.byScore(later)).containsExactly("web", "jpa");
+    }
+
+    @Test
+    void record_countsEachPairOnceInBothDirections() {
+        var usage = new DependencyUsage();
+        usage.record(List.of("web", "jpa", "web"), NOW);
+        usage.record(List.of("web", "security"), NOW);
+
+        assertThat(usage.countTogether("web", "jpa")).isEqualTo(1);
+        assertThat(usage.countTogether("jpa", "web")).isEqualTo(1);
+        assertThat(usage.countTogether("web", "web")).isZero();
+        assertThat(usage.usedWith("web")).containsEntry("security", 1).hasSize(2);
+        assertThat(usage.score("web", NOW)).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void json_roundTripsAndCopiesAreIndependent() throws Exception {
+        var usage = new DependencyUsage();
+        usage.record(List.of("web", "jpa"), NOW);
+        var mapper = new ObjectMapper();
+
+        String json = mapper.writeValueAsString(usage);
+        var read = mapper.readValue(json, DependencyUsage.class);
+        var copy = read.copy();
+        copy.record(List.of("web"), NOW);
+
+        assertThat(json).startsWith("{\"web\":{\"score\":1.0,");
+        assertThat(read.score("web", NOW)).isCloseTo(1.0, within(1e-9));
+        assertThat(read.countTogether("jpa", "web")).isEqualTo(1);
+        assertThat(copy.score("web", NOW)).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void merge_addsBothSidesGainsSinceTheBase() {
+        var base = new DependencyUsage();
+        base.record(List.of("web"), NOW);
+        var ours = base.copy();
+        ours.record(List.of("web", "jpa"), NOW);
+        var theirs = base.copy();
+        theirs.record(List.of("web", "security"), NOW);
+
+        var merged = DependencyUsage.merge(base, ours, theirs);
+
+        assertThat(merged.score("web", NOW)).isCloseTo(3.0, within(1e-9));
+        assertThat(merged.score("jpa", NOW)).isCloseTo(1.0, within(1e-9));
+        assertThat(merged.score("security", NOW)).isCloseTo(1.0, within(1e-9));
+        assertThat(merged.countTogether("web", "jpa")).isEqualTo(1);
+        assertThat(merged.countTogether("web", "security")).isEqualTo(1);
+    }
+
+    @Test
+    void merge_keepsTheirsWhenWeRecordedNothing() {
+        var base = new DependencyUsage();
+        base.record(List.of("web"), NOW);
+        var theirs = base.copy();
+        theirs.record(List.of("web"), NOW.plus(DependencyUsage.HALF_LIFE));
+
+        var merged = DependencyUsage.merge(base, base.copy(), theirs);
+
+        assertThat(merged.score("web", NOW.plus(DependencyUsage.HALF_LIFE))).isCloseTo(1.5, within(1e-9));
+    }
+}
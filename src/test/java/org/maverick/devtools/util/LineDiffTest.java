@@ -0,0 +1,219 @@
+package org.maverick.devtools.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineDiffTest {
+
+    @Test
+    void diff_identicalInputsAreAllSame() {
+        var lines = List.of("a", "b", "c");
+
+        var diff = LineDiff.diff(lines, lines);
+
+        assertThat(diff).extracting(LineDiff.Line::kind).containsOnly(LineDiff.Kind.SAME);
+        assertThat(LineDiff.hasChanges(diff)).isFalse();
+    }
+
+    @Test
+    void diff_reportsAddedAndRemovedLinesWithLineNumbers() {
+        var before = List.of("<dependencies>", "  <web/>", "  <jpa/>", "</dependencies>");
+        var after = List.of("<dependencies>", "  <web/>", "  <security/>", "</dependencies>");
+
+        var diff = LineDiff.diff(before, after);
+
+        assertThat(diff).containsExactly(
+                new LineDiff.Line(LineDiff.Kind.SAME, "<dependencies>", 1, 1),
+                new LineDiff.Line(LineDiff.Kind.SAME, "  <web/>", 2, 2),
+                new LineDiff.Line(LineDiff.Kind.REMOVED, "  <jpa/>", 3, 0),
+                new LineDiff.Line(LineDiff.Kind.ADDED, "  <security/>", 0, 3),
+                new LineDiff.Line(LineDiff.Kind.SAME, "</dependencies>", 4, 4));
+    }
+
+    @Test
+    void diff_handlesEmptySides() {
+        assertThat(LineDiff.diff(List.of(), List.of("a", "b")))
+                .extracting(LineDiff.Line::kind).containsExactly(LineDiff.Kind.ADDED, LineDiff.Kind.ADDED);
+        assertThat(LineDiff.diff(List.of("a"), List.of()))
+                .extracting(LineDiff.Line::kind).containsExactly(LineDiff.Kind.REMOVED);
+    }
+
+    @Test
+    void diff_repeatedLinesProduceMinimalScript() {
+        // No line is unique, so this exercises the Myers fallback on its own
+        var before = List.of("b", "a", "a", "b", "b", "a", "a", "b");
+        var after = List.of("a", "b", "a", "b", "a", "b");
+
+        var diff = LineDiff.diff(before, after);
+
+        assertReconstructs(diff, before, after);
+        assertThat(diff).filteredOn(line -> line.kind() == LineDiff.Kind.SAME).hasSize(lcs(before, after));
+    }
+
+    @Test
+    void diff_randomInputsReconstructBothSides() {
+        var random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            var before = randomLines(random);
+            var after = randomLines(random);
+
+            assertReconstructs(LineDiff.diff(before, after), before, after);
+        }
+    }
+
+    @Test
+    void diff_largeFileWithFewChangesStaysLinear() {
+        var before = modules(100_000);
+        var after = fewChanges(before);
+
+        var diff = LineDiff.diff(before, after);
+
+        assertThat(diff).filteredOn(line -> line.kind() != LineDiff.Kind.SAME).hasSize(4);
+        assertGrowsLinearly(size -> {
+            var lines = modules(size);
+            return LineDiff.steps(lines, fewChanges(lines));
+        });
+    }
+
+    @Test
+    void diff_manyScatteredChangesStayLinear() {
+        // Every other line changed: thousands of tiny gaps between unique anchors
+        var before = modules(20_000);
+        var after = everyOtherChanged(before);
+
+        var diff = LineDiff.diff(before, after);
+
+        assertReconstructs(diff, before, after);
+        assertThat(diff).filteredOn(line -> line.kind() != LineDiff.Kind.SAME).hasSize(20_000);
+        assertGrowsLinearly(size -> {
+            var lines = modules(size);
+            return LineDiff.steps(lines, everyOtherChanged(lines));
+        });
+    }
+
+    @Test
+    void diff_largeFileWithoutUniqueLinesSplitsOnRareRuns() {
+        // Every line twice, so there is no unique anchor anywhere
+        var before = doubled(10_000);
+        // Edits spread over the whole file, too many for Myers to finish
+        var after = changedEvery16(before);
+
+        var diff = LineDiff.diff(before, after);
+
+        assertReconstructs(diff, before, after);
+        assertThat(diff).filteredOn(line -> line.kind() != LineDiff.Kind.SAME).hasSize(5_000);
+        assertGrowsLinearly(size -> {
+            var lines = doubled(size);
+            return LineDiff.steps(lines, changedEvery16(lines));
+        });
+    }
+
+    @Test
+    void diff_unrelatedRepetitiveFilesFallBackToOneReplaceBlock() {
+        // Lines repeat far too often to split on, and the sides share no runs
+        var before = letters(new Random(7), 20_000);
+        var after = letters(new Random(8), 20_000);
+
+        var diff = LineDiff.diff(before, after);
+
+        assertReconstructs(diff, before, after);
+        assertGrowsLinearly(size -> LineDiff.steps(letters(new Random(7), size), letters(new Random(8), size)));
+    }
+
+    /**
+     * Doubling the input must not much more than double the work; a quadratic
+     * step would quadruple it.
+     */
+    private static void assertGrowsLinearly(IntToLongFunction steps) {
+        long small = steps.applyAsLong(40_000);
+        long large = steps.applyAsLong(80_000);
+
+        assertThat(large).isLessThan(3 * small);
+    }
+
+    private static List<String> modules(int size) {
+        var lines = new ArrayList<String>();
+        for (int i = 0; i < size; i++)
+            lines.add("<module>module-" + i + "</module>");
+        return lines;
+    }
+
+    private static List<String> fewChanges(List<String> before) {
+        var after = new ArrayList<>(before);
+        after.set(10, "<module>renamed</module>");
+        after.add(after.size() / 2, "<module>added</module>");
+        after.remove(after.size() * 9 / 10);
+        return after;
+    }
+
+    private static List<String> everyOtherChanged(List<String> before) {
+        var after = new ArrayList<>(before);
+        for (int i = 0; i < after.size(); i += 2)
+            after.set(i, "<module>changed-" + i + "</module>");
+        return after;
+    }
+
+    private static List<String> doubled(int size) {
+        var lines = new ArrayList<String>();
+        for (int i = 0; i < size; i++) {
+            lines.add("<dependency>" + i + "</dependency>");
+            lines.add("<dependency>" + i + "</dependency>");
+        }
+        return lines;
+    }
+
+    private static List<String> changedEvery16(List<String> before) {
+        var after = new ArrayList<>(before);
+        for (int i = 0; i < after.size(); i += 16) {
+            after.set(i, "<dependency>changed-" + i + "</dependency>");
+            after.set(i + 1, "<dependency>changed-" + i + "</dependency>");
+        }
+        return after;
+    }
+
+    private static List<String> letters(Random random, int size) {
+        var lines = new ArrayList<String>();
+        for (int i = 0; i < size; i++)
+            lines.add(String.valueOf((char) ('a' + random.nextInt(3))));
+        return lines;
+    }
+
+    private static List<String> randomLines(Random random) {
+        var lines = new ArrayList<String>();
+        int size = random.nextInt(20);
+        for (int i = 0; i < size; i++)
+            lines.add(String.valueOf((char) ('a' + random.nextInt(4))));
+        return lines;
+    }
+
+    private static void assertReconstructs(List<LineDiff.Line> diff, List<String> before, List<String> after) {
+        var oldSide = new ArrayList<String>();
+        var newSide = new ArrayList<String>();
+        for (var line : diff) {
+            if (line.kind() != LineDiff.Kind.ADDED)
+                oldSide.add(line.text());
+            if (line.kind() != LineDiff.Kind.REMOVED)
+                newSide.add(line.text());
+        }
+        assertThat(oldSide).isEqualTo(before);
+        assertThat(newSide).isEqualTo(after);
+    }
+
+    private static int lcs(List<String> a, List<String> b) {
+        int[][] table = new int[a.size() + 1][b.size() + 1];
+        for (int i = a.size() - 1; i >= 0; i--) {
+            for (int j = b.size() - 1; j >= 0; j--) {
+                table[i][j] = a.get(i).equals(b.get(j))
+                        ? table[i + 1][j + 1] + 1
+                        : Math.max(table[i + 1][j], table[i][j + 1]);
+            }
+        }
+        return table[0][0];
+    }
+}
@@ -0,0 +1,63 @@
+package org.maverick.devtools.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LruCacheTest {
+
+    @Test
+    void put_evictsTheLeastRecentlyUsedEntryPastCapacity() {
+        var cache = new LruCache<String, Integer>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo(2);
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void get_makesAnEntryTheMostRecentlyUsed() {
+        var cache = new LruCache<String, Integer>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void put_replacingAValueRefreshesItsEntry() {
+        var cache = new LruCache<String, Integer>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 10);
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).isEqualTo(10);
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    void clear_removesEverything() {
+        var cache = new LruCache<String, Integer>(2);
+        cache.put("a", 1);
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void constructor_rejectsCapacityBelowOne() {
+        assertThatThrownBy(() -> new LruCache<String, Integer>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}